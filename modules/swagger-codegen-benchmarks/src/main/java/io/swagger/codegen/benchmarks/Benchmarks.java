@@ -0,0 +1,24 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.utils.ImplementationVersion;
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the benchmarks with the JMH command line. Unless a result file or format is given,
+ * results are written as JSON to {@code jmh-result-<version>.json}, so that runs of different
+ * releases can be compared, e.g. with a JMH result visualizer.
+ */
+public class Benchmarks {
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<String>(Arrays.asList(args));
+        if (!arguments.contains("-rf") && !arguments.contains("-rff")) {
+            arguments.addAll(Arrays.asList("-rf", "json", "-rff", "jmh-result-" + ImplementationVersion.read() + ".json"));
+        }
+        Main.main(arguments.toArray(new String[arguments.size()]));
+    }
+}
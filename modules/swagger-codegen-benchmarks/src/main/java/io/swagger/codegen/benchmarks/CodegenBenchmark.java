@@ -0,0 +1,76 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigLoader;
+import io.swagger.codegen.InlineModelResolver;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of all models and all operations of a spec by a generator, which is what
+ * DefaultGenerator does before rendering any template.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodegenBenchmark {
+
+    @Param({"java", "spring", "typescript-angular", "python"})
+    public String generator;
+
+    @Param({"10", "100"})
+    public int size;
+
+    private CodegenConfig config;
+    private Swagger swagger;
+    private Map<String, Model> definitions;
+
+    @Setup
+    public void setUp() {
+        swagger = SyntheticSpec.create(size);
+        new InlineModelResolver().flatten(swagger);
+        definitions = swagger.getDefinitions();
+
+        config = CodegenConfigLoader.forName(generator);
+        config.processOpts();
+        config.preprocessSwagger(swagger);
+    }
+
+    @Benchmark
+    public void fromModel(Blackhole blackhole) {
+        for (Map.Entry<String, Model> definition : definitions.entrySet()) {
+            blackhole.consume(config.fromModel(definition.getKey(), definition.getValue(), definitions));
+        }
+    }
+
+    @Benchmark
+    public void fromOperation(Blackhole blackhole) {
+        for (Map.Entry<String, Path> path : swagger.getPaths().entrySet()) {
+            for (Map.Entry<HttpMethod, Operation> operation : path.getValue().getOperationMap().entrySet()) {
+                blackhole.consume(config.fromOperation(path.getKey(), operation.getKey().name().toLowerCase(),
+                        operation.getValue(), definitions, swagger));
+            }
+        }
+    }
+}
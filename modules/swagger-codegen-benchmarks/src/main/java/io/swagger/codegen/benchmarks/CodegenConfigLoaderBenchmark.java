@@ -0,0 +1,67 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigLoader;
+import io.swagger.codegen.CodegenConfigRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup of a generator by name, and listing of all generators, as done by the CLI and the online
+ * generator. The {@code serviceLoader} benchmarks are the baseline: they instantiate the registered
+ * generators in order until the name matches, or all of them to list them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodegenConfigLoaderBenchmark {
+
+    // registered first, in the middle and near the end
+    @Param({"ada", "java", "typescript-angular"})
+    public String generator;
+
+    @Benchmark
+    public CodegenConfig forName() {
+        return CodegenConfigLoader.forName(generator);
+    }
+
+    @Benchmark
+    public CodegenConfig serviceLoaderForName() {
+        for (CodegenConfig config : ServiceLoader.load(CodegenConfig.class)) {
+            if (config.getName().equals(generator)) {
+                return config;
+            }
+        }
+        throw new IllegalStateException("Generator not found: " + generator);
+    }
+
+    @Benchmark
+    public void registryStartup(Blackhole blackhole) {
+        CodegenConfigRegistry registry = new CodegenConfigRegistry(Thread.currentThread().getContextClassLoader());
+        for (CodegenConfigRegistry.Entry entry : registry.getEntries()) {
+            blackhole.consume(entry.getType());
+        }
+    }
+
+    @Benchmark
+    public void serviceLoaderStartup(Blackhole blackhole) {
+        for (CodegenConfig config : ServiceLoader.load(CodegenConfig.class)) {
+            blackhole.consume(config.getTag());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.examples.ExampleCache;
+import io.swagger.codegen.examples.ExampleGenerator;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.DateTimeProperty;
+import io.swagger.models.properties.DoubleProperty;
+import io.swagger.models.properties.IntegerProperty;
+import io.swagger.models.properties.LongProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.properties.StringProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON and XML examples of 400 operations returning the same page of orders, as
+ * {@code DefaultCodegen.fromOperation} renders them for a run. {@link #uncached()} renders them for
+ * every operation, as it did before examples were kept per run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExampleGeneratorBenchmark {
+    private static final int OPERATIONS = 400;
+    private static final List<String> MEDIA_TYPES = Arrays.asList("application/json", "application/xml");
+
+    private Map<String, Model> definitions;
+    private Property page;
+
+    @Setup
+    public void setUp() {
+        definitions = new HashMap<String, Model>();
+        definitions.put("Customer", new ModelImpl().name("Customer")
+                .property("id", new LongProperty())
+                .property("name", new StringProperty())
+                .property("email", new StringProperty())
+                .property("since", new DateTimeProperty()));
+        definitions.put("Order", new ModelImpl().name("Order")
+                .property("id", new LongProperty())
+                .property("customer", new RefProperty("Customer"))
+                .property("quantity", new IntegerProperty())
+                .property("price", new DoubleProperty())
+                .property("shipDate", new DateTimeProperty())
+                .property("status", new StringProperty()._enum(Arrays.asList("placed", "approved", "delivered")))
+                .property("tags", new ArrayProperty(new StringProperty())));
+        definitions.put("Page", new ModelImpl().name("Page")
+                .property("total", new LongProperty())
+                .property("offset", new IntegerProperty())
+                .property("items", new ArrayProperty(new RefProperty("Order"))));
+        page = new RefProperty("Page");
+    }
+
+    @Benchmark
+    public void cached(Blackhole blackhole) {
+        ExampleCache cache = new ExampleCache(ExampleCache.DEFAULT_MAXIMUM_SIZE);
+        for (int i = 0; i < OPERATIONS; i++) {
+            blackhole.consume(new ExampleGenerator(definitions, cache).generate(null, MEDIA_TYPES, page));
+        }
+    }
+
+    @Benchmark
+    public void uncached(Blackhole blackhole) {
+        for (int i = 0; i < OPERATIONS; i++) {
+            blackhole.consume(new ExampleGenerator(definitions).generate(null, MEDIA_TYPES, page));
+        }
+    }
+}
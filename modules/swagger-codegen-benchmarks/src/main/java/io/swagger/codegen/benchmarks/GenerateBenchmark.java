@@ -0,0 +1,58 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.ClientOpts;
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigLoader;
+import io.swagger.codegen.CodegenConstants;
+import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.output.InMemoryOutput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end generation, from a spec to the rendered files. Files are kept in memory so that
+ * the file system does not add noise to the measurements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerateBenchmark {
+
+    @Param({"java", "spring", "typescript-angular", "python"})
+    public String generator;
+
+    @Param({"10", "100"})
+    public int size;
+
+    @Benchmark
+    public InMemoryOutput generate() {
+        CodegenConfig config = CodegenConfigLoader.forName(generator);
+        // never written to, all files go to the in-memory output
+        config.setOutputDir(System.getProperty("java.io.tmpdir") + File.separator + "swagger-codegen-benchmark");
+        config.additionalProperties().put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+
+        InMemoryOutput output = new InMemoryOutput();
+        ClientOptInput input = new ClientOptInput()
+                .opts(new ClientOpts())
+                .swagger(SyntheticSpec.create(size))
+                .config(config)
+                .output(output);
+        new DefaultGenerator().opts(input).generate();
+        return output;
+    }
+}
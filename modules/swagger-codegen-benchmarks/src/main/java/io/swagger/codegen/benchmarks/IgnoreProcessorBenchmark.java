@@ -0,0 +1,143 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.ignore.CodegenIgnoreProcessor;
+import io.swagger.codegen.ignore.rules.DirectoryRule;
+import io.swagger.codegen.ignore.rules.Rule;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluation of a {@code .swagger-codegen-ignore} file with {@code rules} rules against the 20k files
+ * of a large output: literal files, directories, globs and negations. {@link #ruleByRule()} evaluates
+ * each rule in turn for each file, as {@link CodegenIgnoreProcessor#allowsFile} did before the rules
+ * were compiled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IgnoreProcessorBenchmark {
+    private static final int FILES = 20000;
+
+    @Param({"10", "100", "1000"})
+    public int rules;
+
+    private File outputDir;
+    private File ignoreFile;
+    private List<File> files;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        outputDir = Files.createTempDirectory("ignore-benchmark").toFile();
+        ignoreFile = new File(outputDir, ".swagger-codegen-ignore");
+
+        StringBuilder definitions = new StringBuilder("# generated\n*.sh\n**/*.md\n!docs/section0/\n");
+        for (int i = 0; i < rules; i++) {
+            switch (i % 4) {
+                case 0:
+                    definitions.append("src/main/java/io/swagger/model/Model").append(i).append(".java\n");
+                    break;
+                case 1:
+                    definitions.append("docs/section").append(i).append("/\n");
+                    break;
+                case 2:
+                    definitions.append("**/*Model").append(i).append("Test.java\n");
+                    break;
+                default:
+                    definitions.append("!src/main/java/io/swagger/model/Model").append(i - 3).append(".java\n");
+                    break;
+            }
+        }
+        FileUtils.writeStringToFile(ignoreFile, definitions.toString(), StandardCharsets.UTF_8);
+
+        files = new ArrayList<File>(FILES);
+        for (int i = 0; i < FILES / 2; i++) {
+            files.add(new File(outputDir, "src/main/java/io/swagger/model/Model" + i + ".java"));
+        }
+        for (int i = 0; i < FILES / 4; i++) {
+            files.add(new File(outputDir, "docs/section" + (i % 100) + "/Model" + i + ".md"));
+            files.add(new File(outputDir, "src/test/java/io/swagger/model/Model" + i + "Test.java"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(outputDir);
+    }
+
+    @Benchmark
+    public int allowsFile() {
+        CodegenIgnoreProcessor processor = new CodegenIgnoreProcessor(ignoreFile);
+        int allowed = 0;
+        for (File file : files) {
+            if (processor.allowsFile(file)) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+    @Benchmark
+    public int ruleByRule() {
+        CodegenIgnoreProcessor processor = new CodegenIgnoreProcessor(ignoreFile);
+        List<Rule> exclusionRules = processor.getExclusionRules();
+        List<Rule> inclusionRules = processor.getInclusionRules();
+        int allowed = 0;
+        for (File file : files) {
+            URI base = ignoreFile.getParentFile().toURI();
+            String path = new File(base.relativize(file.toURI()).getPath()).getPath();
+            if (!excludes(exclusionRules, inclusionRules, path)) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+    private static boolean excludes(List<Rule> exclusionRules, List<Rule> inclusionRules, String path) {
+        boolean directoryExcluded = false;
+        boolean exclude = false;
+        for (int i = 0; i < exclusionRules.size(); i++) {
+            Rule current = exclusionRules.get(i);
+            Rule.Operation op = current.evaluate(path);
+            if (op == Rule.Operation.EXCLUDE) {
+                exclude = true;
+                if (current instanceof DirectoryRule) {
+                    directoryExcluded = true;
+                }
+            } else if (op == Rule.Operation.EXCLUDE_AND_TERMINATE) {
+                i = exclusionRules.size();
+            }
+        }
+        for (int i = 0; exclude && i < inclusionRules.size(); i++) {
+            Rule current = inclusionRules.get(i);
+            if (current.evaluate(path) == Rule.Operation.INCLUDE
+                    && (!directoryExcluded || current instanceof DirectoryRule)) {
+                exclude = false;
+            }
+        }
+        return exclude;
+    }
+}
@@ -0,0 +1,49 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.InlineModelResolver;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flattening of inline models. Flattening changes the spec, so every invocation builds a new
+ * spec; {@link #createSpec()} measures that part alone, to be subtracted from {@link #flatten()}.
+ * Inline objects with many properties show the cost of matching them with already generated
+ * models.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InlineModelResolverBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int size;
+
+    @Param({"2", "100"})
+    public int inlineProperties;
+
+    @Benchmark
+    public Swagger createSpec() {
+        return SyntheticSpec.create(size, inlineProperties);
+    }
+
+    @Benchmark
+    public Swagger flatten() {
+        Swagger swagger = SyntheticSpec.create(size, inlineProperties);
+        new InlineModelResolver().flatten(swagger);
+        return swagger;
+    }
+}
@@ -0,0 +1,64 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.DefaultCodegen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Name conversions applied to every model, property, operation and parameter name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NamingBenchmark {
+
+    // shapes of names found in real specs
+    private static final String[] NAMES = {
+            "id", "name", "user_name", "UserName", "userName", "http_request_id", "X-Rate-Limit-Remaining",
+            "some.package.ModelName", "some/path/segment", "$special_variable", "123starts_with_digit",
+            "already_snake_case_name", "ALL_CAPS_CONSTANT", "mixed-Separators_in.one name", "Pet", "order_item_list"
+    };
+
+    private final DefaultCodegen codegen = new DefaultCodegen();
+
+    @Benchmark
+    public void camelize(Blackhole blackhole) {
+        for (String name : NAMES) {
+            blackhole.consume(DefaultCodegen.camelize(name));
+        }
+    }
+
+    @Benchmark
+    public void camelizeLowercaseFirstLetter(Blackhole blackhole) {
+        for (String name : NAMES) {
+            blackhole.consume(DefaultCodegen.camelize(name, true));
+        }
+    }
+
+    @Benchmark
+    public void underscore(Blackhole blackhole) {
+        for (String name : NAMES) {
+            blackhole.consume(DefaultCodegen.underscore(name));
+        }
+    }
+
+    @Benchmark
+    public void sanitizeName(Blackhole blackhole) {
+        for (String name : NAMES) {
+            blackhole.consume(codegen.sanitizeName(name));
+        }
+    }
+}
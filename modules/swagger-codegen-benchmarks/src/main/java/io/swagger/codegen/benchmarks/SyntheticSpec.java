@@ -0,0 +1,137 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.models.Info;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.RefModel;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.models.Tag;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.PathParameter;
+import io.swagger.models.parameters.QueryParameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.DateTimeProperty;
+import io.swagger.models.properties.DoubleProperty;
+import io.swagger.models.properties.IntegerProperty;
+import io.swagger.models.properties.LongProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.properties.StringProperty;
+
+import java.util.Arrays;
+
+/**
+ * Builds specs of a given size, so the cost of generation can be measured as a function of the
+ * number of models and operations rather than of whatever a sample spec happens to contain.
+ *
+ * A spec of size {@code n} has {@code n} models, each referring to the next one and holding an
+ * inline object, and {@code n} paths with four operations each, spread over {@code n / 10} tags.
+ * The inline objects are identical, so flattening turns them into a single model. The same size
+ * always produces the same spec.
+ */
+public final class SyntheticSpec {
+
+    private SyntheticSpec() {
+    }
+
+    public static Swagger create(int size) {
+        return create(size, 2);
+    }
+
+    /**
+     * @param size number of models and paths
+     * @param inlineProperties number of properties of the inline object of each model
+     * @return the spec
+     */
+    public static Swagger create(int size, int inlineProperties) {
+        Swagger swagger = new Swagger()
+                .info(new Info().title("Synthetic API").version("1.0.0").description("Synthetic spec of size " + size))
+                .host("api.example.com")
+                .basePath("/v1")
+                .consumes("application/json")
+                .produces("application/json");
+
+        final int tags = Math.max(1, size / 10);
+        for (int i = 0; i < tags; i++) {
+            swagger.tag(new Tag().name(tagName(i)).description("Operations of group " + i));
+        }
+        for (int i = 0; i < size; i++) {
+            swagger.model(modelName(i), model(i, size, inlineProperties));
+            swagger.path("/resources" + i + "/{id}", path(i, tagName(i % tags)));
+        }
+        return swagger;
+    }
+
+    private static ModelImpl model(int index, int size, int inlineProperties) {
+        ObjectProperty inline = new ObjectProperty();
+        inline.property("street", new StringProperty());
+        inline.property("number", new IntegerProperty());
+        for (int i = 2; i < inlineProperties; i++) {
+            inline.property("line" + i, new StringProperty().description("Address line " + i));
+        }
+
+        return new ModelImpl()
+                .type("object")
+                .description("Model number " + index)
+                .property("id", new LongProperty())
+                .property("name", new StringProperty().required(true))
+                .property("createdAt", new DateTimeProperty())
+                .property("status", new StringProperty()._enum(Arrays.asList("available", "pending", "sold")))
+                .property("price", new DoubleProperty())
+                .property("labels", new ArrayProperty(new StringProperty()))
+                .property("attributes", new MapProperty(new IntegerProperty()))
+                .property("next", new RefProperty(modelName((index + 1) % size)))
+                .property("children", new ArrayProperty(new RefProperty(modelName((index + 2) % size))))
+                .property("address", inline)
+                .required("name");
+    }
+
+    private static Path path(int index, String tag) {
+        final String model = modelName(index);
+        Path path = new Path();
+        path.get(operation("get" + model, tag)
+                .parameter(new QueryParameter().name("filter").type("string"))
+                .parameter(new QueryParameter().name("limit").type("integer").format("int32"))
+                .response(200, new Response().description("found").schema(new RefProperty(model)))
+                .response(404, new Response().description("not found")));
+        path.put(operation("update" + model, tag)
+                .parameter(body(model))
+                .response(200, new Response().description("updated").schema(new RefProperty(model))));
+        path.post(operation("create" + model, tag)
+                .parameter(body(model))
+                .response(201, new Response().description("created").schema(new ArrayProperty(new RefProperty(model)))));
+        path.delete(operation("delete" + model, tag)
+                .response(204, new Response().description("deleted")));
+        return path;
+    }
+
+    private static Operation operation(String operationId, String tag) {
+        PathParameter id = new PathParameter();
+        id.setName("id");
+        id.setType("string");
+        return new Operation()
+                .operationId(operationId)
+                .summary("Operation " + operationId)
+                .tag(tag)
+                .parameter(id);
+    }
+
+    private static BodyParameter body(String model) {
+        BodyParameter body = new BodyParameter();
+        body.setName("body");
+        body.setRequired(true);
+        body.setSchema(new RefModel(model));
+        return body;
+    }
+
+    private static String modelName(int index) {
+        return "Model" + index;
+    }
+
+    private static String tagName(int index) {
+        return "group" + index;
+    }
+}
@@ -2,13 +2,18 @@ package io.swagger.codegen;
 
 import io.airlift.airline.Cli;
 import io.airlift.airline.Help;
+import io.swagger.codegen.cmd.Batch;
 import io.swagger.codegen.cmd.ConfigHelp;
+import io.swagger.codegen.cmd.Daemon;
+import io.swagger.codegen.cmd.DaemonClient;
 import io.swagger.codegen.cmd.Generate;
 import io.swagger.codegen.cmd.Langs;
 import io.swagger.codegen.cmd.Meta;
 import io.swagger.codegen.cmd.Validate;
 import io.swagger.codegen.cmd.Version;
 
+import java.io.File;
+
 /**
  * User: lanwen Date: 24.03.15 Time: 17:56
  * <p>
@@ -20,6 +25,26 @@ public class SwaggerCodegen {
 
 
     public static void main(String[] args) {
+        File daemonFile = DaemonClient.daemonFile();
+        if (daemonFile != null) {
+            Integer exitCode = DaemonClient.run(daemonFile, new File(System.getProperty("user.dir")), args,
+                    System.out, System.err);
+            if (exitCode != null) {
+                if (exitCode != 0) {
+                    System.exit(exitCode);
+                }
+                return;
+            }
+        }
+        if (args.length > 0 && "daemon".equals(args[0])) {
+            // before anything is logged
+            Daemon.routeStandardStreams();
+        }
+
+        cli().parse(args).run();
+    }
+
+    public static Cli<Runnable> cli() {
         String version = Version.readVersionFromResources();
         @SuppressWarnings("unchecked")
         Cli.CliBuilder<Runnable> builder =
@@ -30,8 +55,9 @@ public class SwaggerCodegen {
                                         version))
                         .withDefaultCommand(Langs.class)
                         .withCommands(Generate.class, Meta.class, Langs.class, Help.class,
-                                ConfigHelp.class, Validate.class, Version.class);
+                                ConfigHelp.class, Validate.class, Version.class, Daemon.class,
+                                Batch.class);
 
-        builder.build().parse(args).run();
+        return builder.build();
     }
 }
@@ -0,0 +1,187 @@
+package io.swagger.codegen.cmd;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.util.Yaml;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs several generations in one JVM, so that they share the parsed specs, templates and generators
+ * rather than each starting a JVM.
+ *
+ * The batch file is a YAML or JSON list of jobs, each in the format of the config file of
+ * {@code generate -c}. Jobs writing to different output folders run in parallel; jobs writing to the
+ * same output folder run in the order of the file. Jobs reading the same spec wait for the first one
+ * to parse it, and reuse it.
+ */
+@Command(name = "batch", description = "Generate code for a list of jobs")
+public class Batch implements Runnable, WorkingDirectoryAware {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Batch.class);
+
+    @Option(name = {"-f", "--file"}, title = "batch file", required = true,
+            description = "YAML or JSON list of jobs, in the format of the config file of generate (required)")
+    private String file;
+
+    @Option(name = {"--threads"}, title = "threads",
+            description = "maximum number of jobs run at the same time, the number of processors by default")
+    private Integer threads = Runtime.getRuntime().availableProcessors();
+
+    private File workingDirectory = new File(System.getProperty("user.dir"));
+
+    @Override
+    public void setWorkingDirectory(File workingDirectory) {
+        this.workingDirectory = workingDirectory;
+    }
+
+    @Override
+    public void run() {
+        List<Job> jobs = new ArrayList<Job>();
+        Map<String, List<Job>> jobsByOutput = new LinkedHashMap<String, List<Job>>();
+        for (CodegenConfigurator configurator : readJobs(new File(Generate.resolve(workingDirectory, file)))) {
+            Job job = new Job(jobs.size() + 1, configurator);
+            jobs.add(job);
+            String output = new File(configurator.getOutputDir()).toPath().normalize().toString();
+            if (!jobsByOutput.containsKey(output)) {
+                jobsByOutput.put(output, new ArrayList<Job>());
+            }
+            jobsByOutput.get(output).add(job);
+        }
+
+        ExecutorService executor =
+                Executors.newFixedThreadPool(Math.max(1, Math.min(threads, jobsByOutput.size())));
+        ConcurrentMap<String, Object> specLocks = new ConcurrentHashMap<String, Object>();
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (List<Job> sameOutput : jobsByOutput.values()) {
+                futures.add(executor.submit(new JobSequence(sameOutput, specLocks)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while running the jobs", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        long total = System.nanoTime() - start;
+
+        printTimings(jobs, total);
+        int failed = 0;
+        for (Job job : jobs) {
+            if (job.error != null) {
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            throw new RuntimeException(failed + " of " + jobs.size() + " jobs failed");
+        }
+    }
+
+    private List<CodegenConfigurator> readJobs(File batchFile) {
+        try {
+            // YAML is a superset of JSON
+            JsonNode tree = Yaml.mapper().readTree(batchFile);
+            if (tree == null || !tree.isArray() || tree.size() == 0) {
+                throw new RuntimeException("The batch file " + batchFile + " isn't a list of jobs");
+            }
+            List<CodegenConfigurator> jobs = new ArrayList<CodegenConfigurator>();
+            for (JsonNode job : tree) {
+                if (!job.isObject()) {
+                    throw new RuntimeException("The batch file " + batchFile + " isn't a list of jobs");
+                }
+                Generate.resolvePaths(workingDirectory, (ObjectNode) job);
+                jobs.add(Yaml.mapper().treeToValue(job, CodegenConfigurator.class));
+            }
+            return jobs;
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read the batch file " + batchFile, e);
+        }
+    }
+
+    private static void printTimings(List<Job> jobs, long total) {
+        System.out.println();
+        System.out.println(String.format("%4s  %-16s %11s %11s %7s  %s", "#", "lang", "parse ms", "generate ms",
+                "files", "output"));
+        for (Job job : jobs) {
+            System.out.println(String.format("%4d  %-16s %11d %11d %7s  %s", job.index, job.configurator.getLang(),
+                    TimeUnit.NANOSECONDS.toMillis(job.parseTime), TimeUnit.NANOSECONDS.toMillis(job.generateTime),
+                    job.error != null ? "FAILED" : String.valueOf(job.files), job.configurator.getOutputDir()));
+        }
+        System.out.println(String.format("%d jobs in %d ms", jobs.size(), TimeUnit.NANOSECONDS.toMillis(total)));
+    }
+
+    private static class Job {
+        final int index;
+        final CodegenConfigurator configurator;
+        long parseTime;
+        long generateTime;
+        int files;
+        Throwable error;
+
+        Job(int index, CodegenConfigurator configurator) {
+            this.index = index;
+            this.configurator = configurator;
+        }
+    }
+
+    /**
+     * Jobs writing to the same output folder, run one after the other.
+     */
+    private static class JobSequence implements Runnable {
+        private final List<Job> jobs;
+        private final ConcurrentMap<String, Object> specLocks;
+
+        JobSequence(List<Job> jobs, ConcurrentMap<String, Object> specLocks) {
+            this.jobs = jobs;
+            this.specLocks = specLocks;
+        }
+
+        @Override
+        public void run() {
+            for (Job job : jobs) {
+                try {
+                    long start = System.nanoTime();
+                    ClientOptInput input;
+                    // the first job of a spec parses it, the others get it from the spec cache
+                    specLocks.putIfAbsent(String.valueOf(job.configurator.getInputSpec()), new Object());
+                    synchronized (specLocks.get(String.valueOf(job.configurator.getInputSpec()))) {
+                        input = job.configurator.toClientOptInput();
+                    }
+                    job.parseTime = System.nanoTime() - start;
+
+                    start = System.nanoTime();
+                    job.files = new DefaultGenerator().opts(input).generate().size();
+                    job.generateTime = System.nanoTime() - start;
+                } catch (Throwable t) {
+                    LOGGER.error("Job " + job.index + " failed", t);
+                    job.error = t;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package io.swagger.codegen.cmd;
+
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import io.swagger.codegen.SwaggerCodegen;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a generator process running, so that the thin client of the CLI (see {@link DaemonClient}) runs
+ * {@code generate}, {@code validate} and {@code config-help} without starting a JVM, and reuses the
+ * parsed specs, templates and generators loaded by the previous commands.
+ *
+ * Each command is parsed from the arguments of the client into fresh command objects, and runs with
+ * its own standard output and error. The daemon stops after being idle for {@code --idle-timeout}.
+ */
+@Command(name = "daemon", description = "Run a generator daemon, used by the CLI when "
+        + DaemonProtocol.DAEMON_ENV + " is set")
+public class Daemon implements Runnable {
+    private static final int HANDSHAKE_TIMEOUT_MILLIS = 10000;
+
+    @Option(name = {"--port"}, title = "port",
+            description = "loopback port of the daemon, any free port by default")
+    private Integer port = 0;
+
+    @Option(name = {"--idle-timeout"}, title = "minutes",
+            description = "stop the daemon after this number of minutes without command, 60 by default")
+    private Integer idleTimeout = 60;
+
+    @Option(name = {"--threads"}, title = "threads",
+            description = "maximum number of commands run at the same time, the number of processors by default")
+    private Integer threads = Runtime.getRuntime().availableProcessors();
+
+    @Option(name = {"--daemon-file"}, title = "daemon file",
+            description = "file the port and token of the daemon are written to, "
+                    + "~/.swagger-codegen/daemon.properties by default")
+    private String daemonFile;
+
+    private static RoutingOutputStream stdout;
+    private static RoutingOutputStream stderr;
+
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private volatile boolean stopped;
+    private volatile long lastRequest;
+
+    @Override
+    public void run() {
+        routeStandardStreams();
+        File file = daemonFile != null ? new File(daemonFile) : DaemonProtocol.defaultDaemonFile();
+        String token = newToken();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout(1000);
+            new DaemonProtocol.Info(server.getLocalPort(), token, Version.readVersionFromResources()).write(file);
+            System.out.println("Daemon listening on port " + server.getLocalPort() + ", see " + file);
+
+            long idleMillis = TimeUnit.MINUTES.toMillis(idleTimeout);
+            lastRequest = System.currentTimeMillis();
+            while (!stopped) {
+                final Socket socket;
+                try {
+                    socket = server.accept();
+                } catch (SocketTimeoutException e) {
+                    if (activeRequests.get() == 0 && System.currentTimeMillis() - lastRequest > idleMillis) {
+                        System.out.println("Daemon idle for " + idleTimeout + " minutes, stopping");
+                        break;
+                    }
+                    continue;
+                }
+                activeRequests.incrementAndGet();
+                lastRequest = System.currentTimeMillis();
+                executor.execute(new Request(socket, token));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Can't run the daemon", e);
+        } finally {
+            executor.shutdown();
+            DaemonProtocol.Info info = DaemonProtocol.Info.read(file);
+            if (info != null && token.equals(info.token)) {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Stops accepting commands; commands being run complete.
+     */
+    void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Routes {@link System#out} and {@link System#err} to the client of the command run by the current
+     * thread. This must happen before the logging is initialized, which keeps the streams it starts with.
+     */
+    public static synchronized void routeStandardStreams() {
+        if (stdout == null) {
+            stdout = new RoutingOutputStream(System.out);
+            stderr = new RoutingOutputStream(System.err);
+            System.setOut(new PrintStream(stdout, true));
+            System.setErr(new PrintStream(stderr, true));
+        }
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[16];
+        new SecureRandom().nextBytes(bytes);
+        StringBuilder token = new StringBuilder();
+        for (byte b : bytes) {
+            token.append(String.format("%02x", b));
+        }
+        return token.toString();
+    }
+
+    private class Request implements Runnable {
+        private final Socket socket;
+        private final byte[] token;
+
+        Request(Socket socket, String token) {
+            this.socket = socket;
+            this.token = token.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void run() {
+            try (Socket s = socket) {
+                // a client that connects and stays silent doesn't hold a worker
+                s.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+                if (!MessageDigest.isEqual(token, in.readUTF().getBytes(StandardCharsets.UTF_8))) {
+                    return;
+                }
+                File workingDirectory = new File(in.readUTF());
+                String[] args = new String[in.readInt()];
+                for (int i = 0; i < args.length; i++) {
+                    args[i] = in.readUTF();
+                }
+                s.setSoTimeout(0);
+
+                int exitCode = execute(workingDirectory, args,
+                        new DaemonProtocol.FrameOutputStream(out, DaemonProtocol.STDOUT),
+                        new DaemonProtocol.FrameOutputStream(out, DaemonProtocol.STDERR));
+                synchronized (out) {
+                    out.writeByte(DaemonProtocol.EXIT);
+                    out.writeInt(exitCode);
+                    out.flush();
+                }
+            } catch (IOException e) {
+                // the client is gone
+            } finally {
+                lastRequest = System.currentTimeMillis();
+                activeRequests.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Runs a command with its standard output and error written to the given streams.
+     *
+     * @return the exit code of the command
+     */
+    static int execute(File workingDirectory, String[] args, OutputStream out, OutputStream err) {
+        stdout.target.set(out);
+        stderr.target.set(err);
+        try {
+            if (args.length == 0 || !DaemonProtocol.COMMANDS.contains(args[0])) {
+                System.err.println("The daemon doesn't run this command");
+                return 1;
+            }
+            Runnable command = SwaggerCodegen.cli().parse(args);
+            if (command instanceof WorkingDirectoryAware) {
+                ((WorkingDirectoryAware) command).setWorkingDirectory(workingDirectory);
+            }
+            command.run();
+            return 0;
+        } catch (Throwable t) {
+            System.err.print("Exception in thread \"main\" ");
+            t.printStackTrace();
+            return 1;
+        } finally {
+            System.out.flush();
+            System.err.flush();
+            stdout.target.remove();
+            stderr.target.remove();
+        }
+    }
+
+    /**
+     * Writes to the stream of the command run by the current thread, or of the threads it started, and
+     * to the stream of the daemon otherwise.
+     */
+    private static class RoutingOutputStream extends OutputStream {
+        private final OutputStream fallback;
+        private final InheritableThreadLocal<OutputStream> target = new InheritableThreadLocal<OutputStream>();
+
+        RoutingOutputStream(OutputStream fallback) {
+            this.fallback = fallback;
+        }
+
+        private OutputStream current() {
+            OutputStream out = target.get();
+            return out != null ? out : fallback;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            current().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            current().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            current().flush();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.swagger.codegen.cmd;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * Thin client of the CLI: runs {@code generate}, {@code validate} and {@code config-help} in a running
+ * {@link Daemon} when {@code SWAGGER_CODEGEN_DAEMON} is set, and falls back to running them in this
+ * process when no daemon of this version is running.
+ */
+public class DaemonClient {
+
+    private DaemonClient() {
+    }
+
+    /**
+     * @return the daemon file of {@code SWAGGER_CODEGEN_DAEMON}, or null if the client isn't enabled
+     */
+    public static File daemonFile() {
+        String value = System.getenv(DaemonProtocol.DAEMON_ENV);
+        if (value == null || value.trim().isEmpty() || "false".equalsIgnoreCase(value.trim())
+                || "0".equals(value.trim())) {
+            return null;
+        }
+        if ("true".equalsIgnoreCase(value.trim()) || "1".equals(value.trim())) {
+            return DaemonProtocol.defaultDaemonFile();
+        }
+        return new File(value.trim());
+    }
+
+    /**
+     * Runs a command in the daemon of a daemon file.
+     *
+     * @param daemonFile daemon file of the daemon
+     * @param workingDirectory directory relative paths of the command are resolved against
+     * @param args arguments of the command
+     * @param out standard output of the command
+     * @param err standard error of the command
+     * @return the exit code of the command, or null if it must be run in this process
+     */
+    public static Integer run(File daemonFile, File workingDirectory, String[] args, OutputStream out,
+                              OutputStream err) {
+        if (args.length == 0 || !DaemonProtocol.COMMANDS.contains(args[0])) {
+            return null;
+        }
+        DaemonProtocol.Info info = DaemonProtocol.Info.read(daemonFile);
+        if (info == null) {
+            return null;
+        }
+        String version = Version.readVersionFromResources();
+        if (!version.equals(info.version)) {
+            new PrintStream(err, true).println("Ignoring the daemon of version " + info.version
+                    + ", this is version " + version);
+            return null;
+        }
+
+        boolean started = false;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), info.port)) {
+            DataOutputStream request = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            request.writeUTF(info.token);
+            request.writeUTF(workingDirectory.getAbsolutePath());
+            request.writeInt(args.length);
+            for (String arg : args) {
+                request.writeUTF(arg);
+            }
+            request.flush();
+
+            DataInputStream response = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            byte[] buffer = new byte[8192];
+            while (true) {
+                byte kind = response.readByte();
+                started = true;
+                int length = response.readInt();
+                if (kind == DaemonProtocol.EXIT) {
+                    return length;
+                }
+                OutputStream target = kind == DaemonProtocol.STDERR ? err : out;
+                while (length > 0) {
+                    int read = response.read(buffer, 0, Math.min(buffer.length, length));
+                    if (read < 0) {
+                        throw new IOException("Unexpected end of the response");
+                    }
+                    target.write(buffer, 0, read);
+                    length -= read;
+                }
+                target.flush();
+            }
+        } catch (IOException e) {
+            if (!started) {
+                // no daemon is listening anymore
+                return null;
+            }
+            new PrintStream(err, true).println("Lost the connection to the daemon: " + e.getMessage());
+            return 1;
+        }
+    }
+}
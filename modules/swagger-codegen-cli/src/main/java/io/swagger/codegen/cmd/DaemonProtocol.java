@@ -0,0 +1,146 @@
+package io.swagger.codegen.cmd;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * The protocol between a {@link DaemonClient} and a {@link Daemon}, over a loopback connection.
+ *
+ * The daemon writes its port, token and version to a daemon file only readable by its user. The client
+ * sends the token, its working directory and the arguments of the command. The daemon answers with
+ * frames of the standard output and error of the command, then its exit code.
+ */
+final class DaemonProtocol {
+    static final byte EXIT = 0;
+    static final byte STDOUT = 1;
+    static final byte STDERR = 2;
+
+    /**
+     * Environment variable enabling the client: {@code true} to use the daemon of the default daemon
+     * file, or the path of a daemon file.
+     */
+    static final String DAEMON_ENV = "SWAGGER_CODEGEN_DAEMON";
+
+    /**
+     * Commands run by the daemon.
+     */
+    static final Set<String> COMMANDS = new HashSet<String>(
+            Arrays.asList("generate", "validate", "config-help", "batch"));
+
+    private static final String PORT = "port";
+    private static final String TOKEN = "token";
+    private static final String VERSION = "version";
+
+    private DaemonProtocol() {
+    }
+
+    static File defaultDaemonFile() {
+        return new File(System.getProperty("user.home"), ".swagger-codegen" + File.separator + "daemon.properties");
+    }
+
+    /**
+     * Address of a running daemon, as written to its daemon file.
+     */
+    static class Info {
+        final int port;
+        final String token;
+        final String version;
+
+        Info(int port, String token, String version) {
+            this.port = port;
+            this.token = token;
+            this.version = version;
+        }
+
+        /**
+         * @param file daemon file
+         * @return the daemon of the file, or null if there is none
+         */
+        static Info read(File file) {
+            if (!file.isFile()) {
+                return null;
+            }
+            Properties properties = new Properties();
+            try (InputStream in = new FileInputStream(file)) {
+                properties.load(in);
+                return new Info(Integer.parseInt(properties.getProperty(PORT)), properties.getProperty(TOKEN),
+                        properties.getProperty(VERSION));
+            } catch (IOException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        void write(File file) throws IOException {
+            File directory = file.getAbsoluteFile().getParentFile();
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Can't create " + directory);
+            }
+            Properties properties = new Properties();
+            properties.setProperty(PORT, String.valueOf(port));
+            properties.setProperty(TOKEN, token);
+            properties.setProperty(VERSION, version);
+
+            // only the user of the daemon may read its token
+            File temp = File.createTempFile("daemon", ".tmp", directory);
+            try {
+                Files.setPosixFilePermissions(temp.toPath(), PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException e) {
+                temp.setReadable(false, false);
+                temp.setReadable(true, true);
+            }
+            try (OutputStream out = new FileOutputStream(temp)) {
+                properties.store(out, "swagger-codegen daemon");
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Writes a frame of standard output or error for each write.
+     */
+    static class FrameOutputStream extends OutputStream {
+        private final DataOutputStream out;
+        private final byte kind;
+
+        FrameOutputStream(DataOutputStream out, byte kind) {
+            this.out = out;
+            this.kind = kind;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return;
+            }
+            synchronized (out) {
+                out.writeByte(kind);
+                out.writeInt(len);
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (out) {
+                out.flush();
+            }
+        }
+    }
+}
@@ -1,18 +1,24 @@
 package io.swagger.codegen.cmd;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.airlift.airline.Command;
 import io.airlift.airline.Option;
 import io.swagger.codegen.ClientOptInput;
 import io.swagger.codegen.CodegenConstants;
 import io.swagger.codegen.DefaultGenerator;
 import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.util.Json;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static io.swagger.codegen.config.CodegenConfiguratorUtils.*;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -20,10 +26,13 @@ import java.util.List;
  */
 
 @Command(name = "generate", description = "Generate code with chosen lang")
-public class Generate implements Runnable {
+public class Generate implements Runnable, WorkingDirectoryAware {
 
     public static final Logger LOG = LoggerFactory.getLogger(Generate.class);
 
+    private static final List<String> PATH_FIELDS =
+            Arrays.asList("inputSpec", "outputDir", "templateDir", "ignoreFileOverride", "specCacheDir");
+
     @Option(name = {"-v", "--verbose"}, description = "verbose mode")
     private Boolean verbose;
 
@@ -168,20 +177,85 @@ public class Generate implements Runnable {
             description = CodegenConstants.IGNORE_FILE_OVERRIDE_DESC)
     private String ignoreFileOverride;
 
+    @Option(name = {"--spec-cache-dir"}, title = "spec cache directory",
+            description = "directory keeping the parsed spec, to skip parsing an unchanged spec in later runs")
+    private String specCacheDir;
+
     @Option(name = {"--remove-operation-id-prefix"}, title = "remove prefix of the operationId",
             description = CodegenConstants.REMOVE_OPERATION_ID_PREFIX_DESC)
     private Boolean removeOperationIdPrefix;
 
+    @Option(name = {"--timings"}, title = "timings report",
+            description = "write the count, time and allocated bytes of the phases of the generation to this JSON file")
+    private String timings;
+
+    private File workingDirectory;
+
+    @Override
+    public void setWorkingDirectory(File workingDirectory) {
+        this.workingDirectory = workingDirectory;
+        output = resolve(workingDirectory, output);
+        spec = resolve(workingDirectory, spec);
+        templateDir = resolve(workingDirectory, templateDir);
+        configFile = resolve(workingDirectory, configFile);
+        ignoreFileOverride = resolve(workingDirectory, ignoreFileOverride);
+        specCacheDir = resolve(workingDirectory, specCacheDir);
+        timings = resolve(workingDirectory, timings);
+    }
+
+    static String resolve(File workingDirectory, String path) {
+        if (path == null || path.isEmpty() || path.contains("://") || new File(path).isAbsolute()) {
+            return path;
+        }
+        return new File(workingDirectory, path).getPath();
+    }
+
+    /**
+     * Resolves the relative paths of a config file against the working directory, as with the options,
+     * before the configurator makes them absolute. The output defaults to the working directory.
+     */
+    static void resolvePaths(File workingDirectory, ObjectNode config) {
+        if (!config.hasNonNull("outputDir")) {
+            config.put("outputDir", workingDirectory.getPath());
+        }
+        for (String field : PATH_FIELDS) {
+            if (config.hasNonNull(field)) {
+                config.put(field, resolve(workingDirectory, config.get(field).asText()));
+            }
+        }
+    }
+
+    // reads the config file as CodegenConfigurator#fromFile does, with its paths resolved against the working directory
+    private CodegenConfigurator readConfigFile() {
+        if (workingDirectory == null || !isNotEmpty(configFile)) {
+            return CodegenConfigurator.fromFile(configFile);
+        }
+        try {
+            JsonNode config = Json.mapper().readTree(new File(configFile));
+            if (config instanceof ObjectNode) {
+                resolvePaths(workingDirectory, (ObjectNode) config);
+            }
+            return Json.mapper().treeToValue(config, CodegenConfigurator.class);
+        } catch (IOException e) {
+            LOG.error("Unable to deserialize config file: " + configFile, e);
+            return null;
+        }
+    }
+
     @Override
     public void run() {
 
         // attempt to read from config file
-        CodegenConfigurator configurator = CodegenConfigurator.fromFile(configFile);
+        CodegenConfigurator configurator = readConfigFile();
 
         // if a config file wasn't specified or we were unable to read it
         if (configurator == null) {
             // createa a fresh configurator
             configurator = new CodegenConfigurator();
+            if (workingDirectory != null) {
+                // the output defaults to the working directory
+                configurator.setOutputDir(workingDirectory.getPath());
+            }
         }
 
         // now override with any specified parameters
@@ -269,11 +343,18 @@ public class Generate implements Runnable {
             configurator.setIgnoreFileOverride(ignoreFileOverride);
         }
 
+        if (isNotEmpty(specCacheDir)) {
+            configurator.setSpecCacheDir(specCacheDir);
+        }
+
         if (removeOperationIdPrefix != null) {
             configurator.setRemoveOperationIdPrefix(removeOperationIdPrefix);
         }
 
         applySystemPropertiesKvpList(systemProperties, configurator);
+        if (isNotEmpty(timings)) {
+            configurator.addSystemProperty(CodegenConstants.TIMINGS, timings);
+        }
         applyInstantiationTypesKvpList(instantiationTypes, configurator);
         applyImportMappingsKvpList(importMappings, configurator);
         applyTypeMappingsKvpList(typeMappings, configurator);
@@ -6,17 +6,23 @@ import io.airlift.airline.Option;
 import io.swagger.parser.SwaggerParser;
 import io.swagger.parser.util.SwaggerDeserializationResult;
 
+import java.io.File;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 @Command(name = "validate", description = "Validate specification")
-public class Validate implements Runnable {
+public class Validate implements Runnable, WorkingDirectoryAware {
 
     @Option(name = {"-i", "--input-spec"}, title = "spec file", required = true,
             description = "location of the swagger spec, as URL or file (required)")
     private String spec;
 
+    @Override
+    public void setWorkingDirectory(File workingDirectory) {
+        spec = Generate.resolve(workingDirectory, spec);
+    }
+
     @Override
     public void run() {
         System.out.println("Validating spec file (" + spec + ")");
@@ -0,0 +1,17 @@
+package io.swagger.codegen.cmd;
+
+import java.io.File;
+
+/**
+ * A command whose options hold paths. When the command is run by the {@link Daemon}, relative paths are
+ * resolved against the working directory of the client rather than the one of the daemon.
+ */
+public interface WorkingDirectoryAware {
+
+    /**
+     * Resolve the relative paths of the options against a working directory.
+     *
+     * @param workingDirectory working directory of the client
+     */
+    void setWorkingDirectory(File workingDirectory);
+}
@@ -0,0 +1,78 @@
+package io.swagger.codegen.cmd;
+
+import io.swagger.codegen.SwaggerCodegen;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.testng.Assert.*;
+
+public class BatchTest {
+
+    private File folder;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder = Files.createTempDirectory("batch").toFile();
+        FileUtils.writeStringToFile(new File(folder, "spec.yaml"),
+                "swagger: '2.0'\ninfo:\n  title: test\n  version: 1.0.0\npaths: {}\n"
+                        + "definitions:\n  Pet:\n    type: object\n    properties:\n      name:\n        type: string\n",
+                StandardCharsets.UTF_8);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(folder);
+    }
+
+    @Test(description = "jobs are read from YAML, with paths relative to the working directory")
+    public void yamlTest() throws Exception {
+        FileUtils.writeStringToFile(new File(folder, "jobs.yaml"),
+                "- lang: java\n  inputSpec: spec.yaml\n  outputDir: java\n"
+                        + "  modelPackage: org.example.model\n"
+                        + "- lang: python\n  inputSpec: spec.yaml\n  outputDir: python\n"
+                        + "  additionalProperties:\n    packageName: pets\n",
+                StandardCharsets.UTF_8);
+        run("batch", "-f", "jobs.yaml");
+
+        assertTrue(new File(folder, "java/src/main/java/org/example/model/Pet.java").isFile());
+        assertTrue(new File(folder, "python/pets/models/pet.py").isFile());
+    }
+
+    @Test(description = "jobs are read from JSON, and jobs writing to the same folder run one after the other")
+    public void jsonTest() throws Exception {
+        FileUtils.writeStringToFile(new File(folder, "jobs.json"),
+                "[{\"lang\": \"java\", \"inputSpec\": \"spec.yaml\", \"outputDir\": \"out\"},"
+                        + " {\"lang\": \"html\", \"inputSpec\": \"spec.yaml\", \"outputDir\": \"out\"}]",
+                StandardCharsets.UTF_8);
+        run("batch", "-f", "jobs.json", "--threads", "4");
+
+        assertTrue(new File(folder, "out/src/main/java/io/swagger/client/model/Pet.java").isFile());
+        assertTrue(new File(folder, "out/index.html").isFile());
+    }
+
+    @Test(description = "the other jobs run when one fails, then the batch fails",
+            expectedExceptions = RuntimeException.class, expectedExceptionsMessageRegExp = "1 of 2 jobs failed")
+    public void failedJobTest() throws Exception {
+        FileUtils.writeStringToFile(new File(folder, "jobs.yaml"),
+                "- lang: unknown\n  inputSpec: spec.yaml\n  outputDir: unknown\n"
+                        + "- lang: java\n  inputSpec: spec.yaml\n  outputDir: java\n",
+                StandardCharsets.UTF_8);
+        try {
+            run("batch", "-f", "jobs.yaml");
+        } finally {
+            assertTrue(new File(folder, "java/src/main/java/io/swagger/client/model/Pet.java").isFile());
+        }
+    }
+
+    private void run(String... args) {
+        Runnable command = SwaggerCodegen.cli().parse(args);
+        ((WorkingDirectoryAware) command).setWorkingDirectory(folder);
+        command.run();
+    }
+}
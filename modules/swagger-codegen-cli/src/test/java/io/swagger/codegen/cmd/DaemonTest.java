@@ -0,0 +1,107 @@
+package io.swagger.codegen.cmd;
+
+import io.swagger.codegen.SwaggerCodegen;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.testng.Assert.*;
+
+public class DaemonTest {
+
+    private File folder;
+    private File daemonFile;
+    private Daemon daemon;
+    private Thread thread;
+
+    @BeforeClass
+    public void startDaemon() throws Exception {
+        folder = Files.createTempDirectory("daemon").toFile();
+        daemonFile = new File(folder, "daemon.properties");
+        daemon = (Daemon) SwaggerCodegen.cli().parse("daemon", "--daemon-file", daemonFile.getPath());
+        thread = new Thread(daemon);
+        thread.start();
+        for (int i = 0; i < 100 && !daemonFile.isFile(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(daemonFile.isFile());
+    }
+
+    @AfterClass
+    public void stopDaemon() throws Exception {
+        daemon.stop();
+        thread.join(10000);
+        assertFalse(daemonFile.exists());
+        FileUtils.deleteDirectory(folder);
+    }
+
+    @Test(description = "the daemon runs the command and returns its output")
+    public void configHelpTest() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Integer exitCode = DaemonClient.run(daemonFile, folder, new String[]{"config-help", "-l", "java"}, out,
+                new ByteArrayOutputStream());
+        assertEquals(exitCode, Integer.valueOf(0));
+        assertTrue(out.toString("UTF-8").contains("CONFIG OPTIONS"));
+    }
+
+    @Test(description = "relative paths are resolved against the working directory of the client")
+    public void generateTest() throws Exception {
+        File workingDirectory = new File(folder, "project");
+        FileUtils.writeStringToFile(new File(workingDirectory, "spec.yaml"),
+                "swagger: '2.0'\ninfo:\n  title: test\n  version: 1.0.0\npaths: {}\n"
+                        + "definitions:\n  Pet:\n    type: object\n    properties:\n      name:\n        type: string\n",
+                StandardCharsets.UTF_8);
+        Integer exitCode = DaemonClient.run(daemonFile, workingDirectory,
+                new String[]{"generate", "-l", "java", "-i", "spec.yaml", "-o", "out"},
+                new ByteArrayOutputStream(), new ByteArrayOutputStream());
+        assertEquals(exitCode, Integer.valueOf(0));
+        assertTrue(new File(workingDirectory, "out/src/main/java/io/swagger/client/model/Pet.java").isFile());
+    }
+
+    @Test(description = "relative paths of the config file are resolved against the working directory of the client")
+    public void configFileTest() throws Exception {
+        File workingDirectory = new File(folder, "configured");
+        FileUtils.writeStringToFile(new File(workingDirectory, "spec.yaml"),
+                "swagger: '2.0'\ninfo:\n  title: test\n  version: 1.0.0\npaths: {}\n"
+                        + "definitions:\n  Pet:\n    type: object\n",
+                StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(workingDirectory, "templates/model.mustache"),
+                "custom {{#models}}{{#model}}{{classname}}{{/model}}{{/models}}", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(workingDirectory, "codegen-ignore"), "**/README.md\n", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(workingDirectory, "config.json"),
+                "{\"templateDir\": \"templates\", \"outputDir\": \"out\", \"ignoreFileOverride\": \"codegen-ignore\"}",
+                StandardCharsets.UTF_8);
+        Integer exitCode = DaemonClient.run(daemonFile, workingDirectory,
+                new String[]{"generate", "-l", "java", "-i", "spec.yaml", "-c", "config.json"},
+                new ByteArrayOutputStream(), new ByteArrayOutputStream());
+        assertEquals(exitCode, Integer.valueOf(0));
+        File pet = new File(workingDirectory, "out/src/main/java/io/swagger/client/model/Pet.java");
+        assertEquals(FileUtils.readFileToString(pet, StandardCharsets.UTF_8), "custom Pet");
+        assertFalse(new File(workingDirectory, "out/README.md").exists());
+        assertTrue(new File(workingDirectory, "out/pom.xml").isFile());
+    }
+
+    @Test(description = "a failing command exits with 1")
+    public void validateTest() throws Exception {
+        File spec = new File(folder, "invalid.yaml");
+        FileUtils.writeStringToFile(spec, "swagger: '2.0'\npaths: {}\n", StandardCharsets.UTF_8);
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        Integer exitCode = DaemonClient.run(daemonFile, folder, new String[]{"validate", "-i", "invalid.yaml"},
+                new ByteArrayOutputStream(), err);
+        assertEquals(exitCode, Integer.valueOf(1));
+        assertTrue(err.toString("UTF-8").contains(ValidateException.class.getName()));
+    }
+
+    @Test(description = "other commands and missing daemons are run by the client")
+    public void fallbackTest() throws Exception {
+        assertNull(DaemonClient.run(daemonFile, folder, new String[]{"langs"}, System.out, System.err));
+        assertNull(DaemonClient.run(new File(folder, "missing.properties"), folder, new String[]{"config-help"},
+                System.out, System.err));
+    }
+}
@@ -487,6 +487,19 @@ public class GenerateTest {
         };
     }
 
+    @Test
+    public void testTimings() throws Exception {
+        final String value = "timings.json";
+        setupAndRunGenericTest("--timings", value);
+
+        new FullVerifications() {
+            {
+                configurator.addSystemProperty("timings", value);
+                times = 1;
+            }
+        };
+    }
+
     private void setupAndRunTest(String specFlag, final String spec, String langFlag,
             final String lang, String outputDirFlag, final String outputDir,
             boolean configuratorFromFile, final String configFile, String... additionalParameters) {
@@ -29,22 +29,30 @@ import static io.swagger.codegen.config.CodegenConfiguratorUtils.applyReservedWo
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.maven.artifact.Artifact;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
+import org.apache.commons.io.FileUtils;
+import org.sonatype.plexus.build.incremental.BuildContext;
 
 import io.swagger.codegen.CliOption;
 import io.swagger.codegen.ClientOptInput;
 import io.swagger.codegen.CodegenConfig;
 import io.swagger.codegen.CodegenConstants;
 import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.GenerationFingerprint;
+import io.swagger.codegen.auth.AuthParser;
 import io.swagger.codegen.config.CodegenConfigurator;
 
 /**
@@ -178,6 +186,12 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter(name = "ignoreFileOverride", required = false)
     private String ignoreFileOverride;
 
+    /**
+     * Directory keeping the parsed spec, to skip parsing an unchanged spec in later builds
+     */
+    @Parameter(name = "specCacheDirectory", property = "codegen.specCacheDirectory", required = false)
+    private File specCacheDirectory;
+
     /**
      * A map of language-specific parameters as passed with the -c option to the command line
      */
@@ -289,6 +303,14 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter(name = "skip", property = "codegen.skip", required = false, defaultValue = "false")
     private Boolean skip;
 
+    /**
+     * Skip the execution when the spec, the local files it references, the templates, the settings
+     * and the plugin dependencies, e.g. jars of custom generators, are unchanged since the previous
+     * generation in the output folder.
+     */
+    @Parameter(name = "skipIfUnchanged", property = "codegen.skipIfUnchanged", required = false, defaultValue = "true")
+    private boolean skipIfUnchanged = true;
+
     /**
      * Add the output directory to the project as a source root, so that the generated java types
      * are compiled and included in the project artifact.
@@ -299,9 +321,6 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter
     protected Map<String, String> environmentVariables = new HashMap<String, String>();
 
-    @Parameter
-    protected Map<String, String> originalEnvironmentVariables = new HashMap<String, String>();
-
     @Parameter
     private boolean configHelp = false;
 
@@ -311,6 +330,18 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter(readonly = true, required = true, defaultValue = "${project}")
     private MavenProject project;
 
+    @Parameter(readonly = true, defaultValue = "${plugin.version}")
+    private String pluginVersion;
+
+    /**
+     * The plugin and its dependencies, which may include custom generators and templates.
+     */
+    @Parameter(readonly = true, defaultValue = "${plugin.artifacts}")
+    private List<Artifact> pluginArtifacts;
+
+    @Component
+    private BuildContext buildContext;
+
 
 
     @Override
@@ -358,6 +389,10 @@ public class CodeGenMojo extends AbstractMojo {
             configurator.setIgnoreFileOverride(ignoreFileOverride);
         }
 
+        if (specCacheDirectory != null) {
+            configurator.setSpecCacheDir(specCacheDirectory.getAbsolutePath());
+        }
+
         configurator.setLang(language);
 
         configurator.setOutputDir(output.getAbsolutePath());
@@ -406,30 +441,31 @@ public class CodeGenMojo extends AbstractMojo {
             configurator.setTemplateDir(templateDirectory.getAbsolutePath());
         }
 
-        // Set generation options
+        // Set generation options, as settings of this run only. A null value hides a system
+        // property of the same name, e.g. one set for another execution in the same JVM.
         if (null != generateApis && generateApis) {
-            System.setProperty(CodegenConstants.APIS, "");
+            configurator.addSystemProperty(CodegenConstants.APIS, "");
         } else {
-            System.clearProperty(CodegenConstants.APIS);
+            configurator.addSystemProperty(CodegenConstants.APIS, null);
         }
 
         if (null != generateModels && generateModels) {
-            System.setProperty(CodegenConstants.MODELS, modelsToGenerate);
+            configurator.addSystemProperty(CodegenConstants.MODELS, modelsToGenerate);
         } else {
-            System.clearProperty(CodegenConstants.MODELS);
+            configurator.addSystemProperty(CodegenConstants.MODELS, null);
         }
 
         if (null != generateSupportingFiles && generateSupportingFiles) {
-            System.setProperty(CodegenConstants.SUPPORTING_FILES, supportingFilesToGenerate);
+            configurator.addSystemProperty(CodegenConstants.SUPPORTING_FILES, supportingFilesToGenerate);
         } else {
-            System.clearProperty(CodegenConstants.SUPPORTING_FILES);
+            configurator.addSystemProperty(CodegenConstants.SUPPORTING_FILES, null);
         }
 
-        System.setProperty(CodegenConstants.MODEL_TESTS, generateModelTests.toString());
-        System.setProperty(CodegenConstants.MODEL_DOCS, generateModelDocumentation.toString());
-        System.setProperty(CodegenConstants.API_TESTS, generateApiTests.toString());
-        System.setProperty(CodegenConstants.API_DOCS, generateApiDocumentation.toString());
-        System.setProperty(CodegenConstants.WITH_XML, withXml.toString());
+        configurator.addSystemProperty(CodegenConstants.MODEL_TESTS, generateModelTests.toString());
+        configurator.addSystemProperty(CodegenConstants.MODEL_DOCS, generateModelDocumentation.toString());
+        configurator.addSystemProperty(CodegenConstants.API_TESTS, generateApiTests.toString());
+        configurator.addSystemProperty(CodegenConstants.API_DOCS, generateApiDocumentation.toString());
+        configurator.addSystemProperty(CodegenConstants.WITH_XML, withXml.toString());
 
         if (configOptions != null) {
             // Retained for backwards-compataibility with configOptions -> instantiation-types
@@ -501,17 +537,38 @@ public class CodeGenMojo extends AbstractMojo {
         if (environmentVariables != null) {
 
             for (String key : environmentVariables.keySet()) {
-                originalEnvironmentVariables.put(key, System.getProperty(key));
                 String value = environmentVariables.get(key);
                 if (value == null) {
                     // don't put null values
                     value = "";
                 }
-                System.setProperty(key, value);
                 configurator.addSystemProperty(key, value);
             }
         }
 
+        final GenerationFingerprint fingerprint = configHelp || !skipIfUnchanged ? null
+                : settingsFingerprint(configurator);
+        // incremental builds, e.g. in an IDE, tell which files changed, so that only the settings are hashed
+        if (fingerprint != null && buildContext.isIncremental()) {
+            final List<File> files = fingerprint.getUnchangedSettingsFiles(output);
+            if (files != null && !hasInputDelta(files)) {
+                getLog().info("Code generation is skipped, the inputs are unchanged since the previous build");
+                addCompileSourceRootIfConfigured();
+                return;
+            }
+        }
+        if (fingerprint != null) {
+            putInputFiles(fingerprint, configurator);
+        }
+        if (fingerprint != null && fingerprint.isUpToDate(output)) {
+            getLog().info("Code generation is skipped, the inputs are unchanged since the previous generation in "
+                    + output);
+            addCompileSourceRootIfConfigured();
+            return;
+        }
+        // a failed generation leaves the output folder out of date
+        FileUtils.deleteQuietly(new File(output, GenerationFingerprint.FINGERPRINT_FILE));
+
         final ClientOptInput input = configurator.toClientOptInput();
         final CodegenConfig config = input.getConfig();
 
@@ -544,9 +601,62 @@ public class CodeGenMojo extends AbstractMojo {
                     "Code generation failed. See above for the full exception.");
         }
 
+        if (fingerprint != null) {
+            try {
+                fingerprint.save(output);
+            } catch (IOException e) {
+                getLog().warn("Can't save the fingerprint of the inputs, the next build will generate again: " + e);
+            }
+        }
+        buildContext.refresh(output);
+
         addCompileSourceRootIfConfigured();
     }
 
+    // the settings, and the plugin dependencies, which are outside of the project, e.g. a snapshot of a custom generator
+    private GenerationFingerprint settingsFingerprint(CodegenConfigurator configurator) {
+        return new GenerationFingerprint()
+                .putString("plugin", pluginVersion)
+                .putSettings("configurator", configurator)
+                .putSettings("configOptions", configOptions)
+                .putClasspath("pluginArtifacts", getPluginClasspath());
+    }
+
+    private void putInputFiles(GenerationFingerprint fingerprint, CodegenConfigurator configurator) {
+        fingerprint.putSpec(configurator.getInputSpec(), AuthParser.parse(configurator.getAuth()));
+        if (isNotEmpty(configurator.getTemplateDir())) {
+            fingerprint.putFile("templateDirectory", new File(configurator.getTemplateDir()));
+        }
+        if (isNotEmpty(configurator.getIgnoreFileOverride())) {
+            fingerprint.putFile("ignoreFileOverride", new File(configurator.getIgnoreFileOverride()));
+        }
+    }
+
+    // the spec, the local files it references, the templates and ignore file of the previous generation
+    private boolean hasInputDelta(List<File> files) {
+        if (files.isEmpty()) {
+            return true;
+        }
+        for (File file : files) {
+            if (buildContext.hasDelta(file)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<File> getPluginClasspath() {
+        final List<File> classpath = new ArrayList<File>();
+        if (pluginArtifacts != null) {
+            for (Artifact artifact : pluginArtifacts) {
+                if (artifact.getFile() != null) {
+                    classpath.add(artifact.getFile());
+                }
+            }
+        }
+        return classpath;
+    }
+
     private void addCompileSourceRootIfConfigured() {
         if (addCompileSourceRoot) {
             final Object sourceFolderObject =
@@ -558,16 +668,5 @@ public class CodeGenMojo extends AbstractMojo {
             String sourceJavaFolder = output.toString() + "/" + sourceFolder;
             project.addCompileSourceRoot(sourceJavaFolder);
         }
-
-        // Reset all environment variables to their original value. This prevents unexpected
-        // behaviour
-        // when running the plugin multiple consecutive times with different configurations.
-        for (Map.Entry<String, String> entry : originalEnvironmentVariables.entrySet()) {
-            if (entry.getValue() == null) {
-                System.clearProperty(entry.getKey());
-            } else {
-                System.setProperty(entry.getKey(), entry.getValue());
-            }
-        }
     }
 }
@@ -1,7 +1,9 @@
 package io.swagger.codegen;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.annotations.ApiModelProperty;
 import io.swagger.codegen.auth.AuthParser;
+import io.swagger.codegen.output.GeneratorOutput;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
 
@@ -12,6 +14,8 @@ public class ClientOptInput {
     private ClientOpts opts;
     private Swagger swagger;
     private List<AuthorizationValue> auths;
+    private GeneratorOutput output;
+    private GeneratorProperties generatorProperties;
 
     public ClientOptInput swagger(Swagger swagger) {
         this.setSwagger(swagger);
@@ -28,6 +32,28 @@ public class ClientOptInput {
         return this;
     }
 
+    /**
+     * Write the generated files to the given output instead of the output folder of the config.
+     *
+     * @param output generator output
+     * @return this input
+     */
+    public ClientOptInput output(GeneratorOutput output) {
+        this.setOutput(output);
+        return this;
+    }
+
+    /**
+     * Use the given settings for this run instead of the settings of the config.
+     *
+     * @param generatorProperties settings of the run, such as {@code models} or {@code apis}
+     * @return this input
+     */
+    public ClientOptInput generatorProperties(GeneratorProperties generatorProperties) {
+        this.setGeneratorProperties(generatorProperties);
+        return this;
+    }
+
     @Deprecated
     public ClientOptInput auth(String urlEncodedAuthString) {
         this.setAuth(urlEncodedAuthString);
@@ -73,4 +99,22 @@ public class ClientOptInput {
     public void setSwagger(Swagger swagger) {
         this.swagger = swagger;
     }
-}
\ No newline at end of file
+
+    @JsonIgnore
+    public GeneratorOutput getOutput() {
+        return output;
+    }
+
+    public void setOutput(GeneratorOutput output) {
+        this.output = output;
+    }
+
+    @JsonIgnore
+    public GeneratorProperties getGeneratorProperties() {
+        return generatorProperties;
+    }
+
+    public void setGeneratorProperties(GeneratorProperties generatorProperties) {
+        this.generatorProperties = generatorProperties;
+    }
+}
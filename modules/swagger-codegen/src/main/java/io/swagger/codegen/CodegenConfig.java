@@ -218,4 +218,10 @@ public interface CodegenConfig {
 
     String sanitizeName(String name);
 
+    NameCache getNameCache();
+
+    GeneratorProperties getGeneratorProperties();
+
+    void setGeneratorProperties(GeneratorProperties generatorProperties);
+
 }
@@ -0,0 +1,287 @@
+package io.swagger.codegen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Index of the generators registered as {@link CodegenConfig} services, by name.
+ *
+ * The provider classes are read from {@code META-INF/services/io.swagger.codegen.CodegenConfig},
+ * as {@link java.util.ServiceLoader} does, but the index is built once per class loader and a
+ * lookup only instantiates the requested generator. The names and types of the providers are read
+ * from the optional index files {@code META-INF/swagger-codegen/generators.index}, each line of
+ * which is {@code <name> <type> <class>}; providers missing from the index files are instantiated
+ * once, when the registry is built, to get their name and type.
+ *
+ * The index of this module is generated by the build from its services file, see {@link #main(String[])}.
+ */
+public class CodegenConfigRegistry {
+    public static final String SERVICES_RESOURCE = "META-INF/services/" + CodegenConfig.class.getName();
+    public static final String INDEX_RESOURCE = "META-INF/swagger-codegen/generators.index";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CodegenConfigRegistry.class);
+    private static final Map<ClassLoader, CodegenConfigRegistry> REGISTRIES = new WeakHashMap<ClassLoader, CodegenConfigRegistry>();
+
+    /**
+     * A registered generator.
+     */
+    public static final class Entry {
+        private final String name;
+        private final CodegenType type;
+        private final String className;
+
+        Entry(String name, CodegenType type, String className) {
+            this.name = name;
+            this.type = type;
+            this.className = className;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public CodegenType getType() {
+            return type;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        @Override
+        public String toString() {
+            return name + " " + type + " " + className;
+        }
+    }
+
+    // weak, as the registries are kept by their class loader
+    private final WeakReference<ClassLoader> classLoader;
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>();
+
+    /**
+     * Build the index of the generators registered in the given class loader.
+     *
+     * @param classLoader class loader to read the services and index files from, and to load generators with
+     */
+    public CodegenConfigRegistry(ClassLoader classLoader) {
+        this(classLoader, true);
+    }
+
+    CodegenConfigRegistry(ClassLoader classLoader, boolean useIndex) {
+        this.classLoader = new WeakReference<ClassLoader>(classLoader);
+
+        Map<String, Entry> indexed = new LinkedHashMap<String, Entry>();
+        for (String line : useIndex ? readLines(classLoader, INDEX_RESOURCE) : Collections.<String>emptySet()) {
+            String[] fields = line.split("\\s+");
+            if (fields.length != 3) {
+                LOGGER.warn("Ignoring invalid line in " + INDEX_RESOURCE + ": " + line);
+                continue;
+            }
+            try {
+                indexed.put(fields[2], new Entry(fields[0], CodegenType.valueOf(fields[1]), fields[2]));
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Ignoring invalid line in " + INDEX_RESOURCE + ": " + line);
+            }
+        }
+
+        for (String className : readLines(classLoader, SERVICES_RESOURCE)) {
+            Entry entry = indexed.get(className);
+            if (entry == null) {
+                entry = describe(className);
+            }
+            // like ServiceLoader, the first provider with a name wins
+            if (entry != null && !entries.containsKey(entry.getName())) {
+                entries.put(entry.getName(), entry);
+            }
+        }
+    }
+
+    /**
+     * Write the index of the generators registered in the class path to a file, ignoring the index
+     * files already there. The build runs it to generate the {@link #INDEX_RESOURCE} of this module.
+     *
+     * @param args path of the index file to write
+     * @throws IOException if the index can't be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: CodegenConfigRegistry <index file>");
+        }
+        Path index = Paths.get(args[0]);
+        if (index.getParent() != null) {
+            Files.createDirectories(index.getParent());
+        }
+        CodegenConfigRegistry registry = new CodegenConfigRegistry(CodegenConfigRegistry.class.getClassLoader(), false);
+        try (Writer out = Files.newBufferedWriter(index, StandardCharsets.UTF_8)) {
+            out.append("# Names and types of the generators registered in ").append(SERVICES_RESOURCE)
+                    .append(", generated by the build.\n# Format: <name> <type> <class>\n");
+            registry.writeIndex(out);
+        }
+        LOGGER.info("Indexed " + registry.getNames().size() + " generators in " + index);
+    }
+
+    /**
+     * @return the registry of the context class loader of the current thread, as used by {@link java.util.ServiceLoader#load(Class)}
+     */
+    public static CodegenConfigRegistry getInstance() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = ClassLoader.getSystemClassLoader();
+        }
+        return getInstance(classLoader);
+    }
+
+    /**
+     * @param classLoader class loader the generators are registered in
+     * @return the registry of the class loader, built on first use
+     */
+    public static CodegenConfigRegistry getInstance(ClassLoader classLoader) {
+        synchronized (REGISTRIES) {
+            CodegenConfigRegistry registry = REGISTRIES.get(classLoader);
+            if (registry == null) {
+                registry = new CodegenConfigRegistry(classLoader);
+                REGISTRIES.put(classLoader, registry);
+            }
+            return registry;
+        }
+    }
+
+    /**
+     * @return names of the registered generators, in registration order
+     */
+    public List<String> getNames() {
+        return new ArrayList<String>(entries.keySet());
+    }
+
+    /**
+     * @return the registered generators, in registration order
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(new ArrayList<Entry>(entries.values()));
+    }
+
+    /**
+     * @param name name of a generator
+     * @return the registered generator, or null
+     */
+    public Entry getEntry(String name) {
+        return entries.get(name);
+    }
+
+    /**
+     * Create a new instance of a registered generator.
+     *
+     * @param name name of the generator
+     * @return a new instance of the generator, or null if no generator is registered with this name
+     */
+    public CodegenConfig newInstance(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            return null;
+        }
+        CodegenConfig config = instantiate(entry.getClassName());
+        if (!name.equals(config.getName())) {
+            throw new IllegalStateException("Generator " + entry.getClassName() + " is indexed as '" + name
+                    + "' but is named '" + config.getName() + "', " + INDEX_RESOURCE + " is out of date");
+        }
+        return config;
+    }
+
+    /**
+     * @return new instances of all registered generators, in registration order
+     */
+    public List<CodegenConfig> newInstances() {
+        List<CodegenConfig> configs = new ArrayList<CodegenConfig>(entries.size());
+        for (Entry entry : entries.values()) {
+            configs.add(instantiate(entry.getClassName()));
+        }
+        return configs;
+    }
+
+    /**
+     * Write an index of the registered generators, in the format of {@link #INDEX_RESOURCE}.
+     *
+     * @param out where to write the index to
+     * @throws IOException if the index can't be written
+     */
+    public void writeIndex(Appendable out) throws IOException {
+        for (Entry entry : entries.values()) {
+            out.append(entry.getName()).append(' ').append(entry.getType().name()).append(' ')
+                    .append(entry.getClassName()).append('\n');
+        }
+    }
+
+    private Entry describe(String className) {
+        try {
+            CodegenConfig config = instantiate(className);
+            return new Entry(config.getName(), config.getTag(), className);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Can't load generator " + className, e);
+            return null;
+        }
+    }
+
+    private CodegenConfig instantiate(String className) {
+        ClassLoader loader = classLoader.get();
+        if (loader == null) {
+            throw new IllegalStateException("Can't instantiate generator " + className + ", its class loader was discarded");
+        }
+        try {
+            return (CodegenConfig) Class.forName(className, true, loader).newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException("Can't instantiate generator " + className, e);
+        }
+    }
+
+    // non-empty lines of all resources with this name, without comments and duplicates
+    private static Set<String> readLines(ClassLoader classLoader, String resource) {
+        Set<String> lines = new LinkedHashSet<String>();
+        try {
+            Enumeration<URL> urls = classLoader.getResources(resource);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                InputStream in = url.openStream();
+                try {
+                    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        int comment = line.indexOf('#');
+                        if (comment >= 0) {
+                            line = line.substring(0, comment);
+                        }
+                        line = line.trim();
+                        if (!line.isEmpty()) {
+                            lines.add(line);
+                        }
+                    }
+                } finally {
+                    in.close();
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Can't read " + resource, e);
+        }
+        return lines;
+    }
+}
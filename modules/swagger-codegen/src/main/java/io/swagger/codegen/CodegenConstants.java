@@ -14,6 +14,12 @@ public class CodegenConstants {
     public static final String API_TESTS = "apiTests";
     public static final String API_DOCS = "apiDocs";
     public static final String WITH_XML = "withXml";
+    public static final String WORKERS = "workers";
+    public static final String INCREMENTAL = "incremental";
+    public static final String PRUNE_STALE_FILES = "pruneStaleFiles";
+    public static final String OPERATIONS = "operations";
+    public static final String REACHABLE_MODELS = "reachableModels";
+    public static final String TIMINGS = "timings";
     /* /end System Properties */
 
     public static final String API_PACKAGE = "apiPackage";
@@ -4,14 +4,17 @@ import io.swagger.models.ExternalDocs;
 import io.swagger.models.Tag;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Arrays;
 
-public class CodegenOperation {
-    public final List<CodegenProperty> responseHeaders = new ArrayList<CodegenProperty>();
+public class CodegenOperation implements Cloneable {
+    public List<CodegenProperty> responseHeaders = new ArrayList<CodegenProperty>();
     public boolean hasAuthMethods, hasConsumes, hasProduces, hasParams, hasOptionalParams, hasRequiredParams,
             returnTypeIsPrimitive, returnSimpleType, subresourceOperation, isMapContainer,
             isListContainer, isMultipart, hasMore = true,
@@ -189,6 +192,103 @@ public class CodegenOperation {
         return ("/{" + id + "}").equals(pathWithoutBaseName());
     }
 
+    /**
+     * Copy the operation, e.g. to add it to several groups. The copy has its own parameters,
+     * responses, response headers, imports, examples, content types and vendor extensions, so they
+     * can be post-processed per group; other values, such as the auth methods, are shared.
+     * Parameters and headers listed in several places stay the same object within the copy.
+     *
+     * @return a copy of the operation, of the same class
+     */
+    public CodegenOperation copy() {
+        CodegenOperation output;
+        try {
+            output = (CodegenOperation) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+
+        Map<CodegenParameter, CodegenParameter> parameters = new IdentityHashMap<CodegenParameter, CodegenParameter>();
+        output.bodyParam = copy(this.bodyParam, parameters);
+        output.allParams = copy(this.allParams, parameters);
+        output.bodyParams = copy(this.bodyParams, parameters);
+        output.pathParams = copy(this.pathParams, parameters);
+        output.queryParams = copy(this.queryParams, parameters);
+        output.headerParams = copy(this.headerParams, parameters);
+        output.formParams = copy(this.formParams, parameters);
+        output.requiredParams = copy(this.requiredParams, parameters);
+
+        // response headers are usually the headers of the method response
+        Map<CodegenProperty, CodegenProperty> headers = new IdentityHashMap<CodegenProperty, CodegenProperty>();
+        if (this.responses != null) {
+            output.responses = new ArrayList<CodegenResponse>(this.responses.size());
+            for (CodegenResponse response : this.responses) {
+                CodegenResponse copy = response.copy();
+                for (int i = 0; i < response.headers.size(); i++) {
+                    headers.put(response.headers.get(i), copy.headers.get(i));
+                }
+                output.responses.add(copy);
+            }
+        }
+        if (this.responseHeaders != null) {
+            output.responseHeaders = new ArrayList<CodegenProperty>(this.responseHeaders.size());
+            for (CodegenProperty header : this.responseHeaders) {
+                CodegenProperty copy = headers.get(header);
+                output.responseHeaders.add(copy != null ? copy : header.clone());
+            }
+        }
+
+        if (this.tags != null) {
+            output.tags = new ArrayList<Tag>(this.tags);
+        }
+        if (this.imports != null) {
+            output.imports = new HashSet<String>(this.imports);
+        }
+        if (this.vendorExtensions != null) {
+            output.vendorExtensions = new LinkedHashMap<String, Object>(this.vendorExtensions);
+        }
+        output.consumes = copyMaps(this.consumes);
+        output.produces = copyMaps(this.produces);
+        output.prioritizedContentTypes = copyMaps(this.prioritizedContentTypes);
+        output.examples = copyMaps(this.examples);
+        output.requestBodyExamples = copyMaps(this.requestBodyExamples);
+        return output;
+    }
+
+    private static CodegenParameter copy(CodegenParameter parameter, Map<CodegenParameter, CodegenParameter> copies) {
+        if (parameter == null) {
+            return null;
+        }
+        CodegenParameter copy = copies.get(parameter);
+        if (copy == null) {
+            copy = parameter.copy();
+            copies.put(parameter, copy);
+        }
+        return copy;
+    }
+
+    private static List<CodegenParameter> copy(List<CodegenParameter> parameters, Map<CodegenParameter, CodegenParameter> copies) {
+        if (parameters == null) {
+            return null;
+        }
+        List<CodegenParameter> output = new ArrayList<CodegenParameter>(parameters.size());
+        for (CodegenParameter parameter : parameters) {
+            output.add(copy(parameter, copies));
+        }
+        return output;
+    }
+
+    private static List<Map<String, String>> copyMaps(List<Map<String, String>> maps) {
+        if (maps == null) {
+            return null;
+        }
+        List<Map<String, String>> output = new ArrayList<Map<String, String>>(maps.size());
+        for (Map<String, String> map : maps) {
+            output.add(map == null ? null : new LinkedHashMap<String, String>(map));
+        }
+        return output;
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", baseName, path);
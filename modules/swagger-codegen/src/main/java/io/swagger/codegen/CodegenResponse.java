@@ -1,6 +1,7 @@
 package io.swagger.codegen;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +28,51 @@ public class CodegenResponse {
         return "0".equals(code) || "default".equals(code);
     }
 
+    public CodegenResponse copy() {
+        CodegenResponse output = new CodegenResponse();
+        for (CodegenProperty header : this.headers) {
+            output.headers.add(header.clone());
+        }
+        output.code = this.code;
+        output.message = this.message;
+        output.hasMore = this.hasMore;
+        if (this.examples != null) {
+            output.examples = new ArrayList<Map<String, Object>>();
+            for (Map<String, Object> example : this.examples) {
+                output.examples.add(example == null ? null : new LinkedHashMap<String, Object>(example));
+            }
+        }
+        output.dataType = this.dataType;
+        output.baseType = this.baseType;
+        output.containerType = this.containerType;
+        output.hasHeaders = this.hasHeaders;
+        output.isString = this.isString;
+        output.isNumeric = this.isNumeric;
+        output.isInteger = this.isInteger;
+        output.isLong = this.isLong;
+        output.isNumber = this.isNumber;
+        output.isFloat = this.isFloat;
+        output.isDouble = this.isDouble;
+        output.isByteArray = this.isByteArray;
+        output.isBoolean = this.isBoolean;
+        output.isDate = this.isDate;
+        output.isDateTime = this.isDateTime;
+        output.isUuid = this.isUuid;
+        output.isDefault = this.isDefault;
+        output.simpleType = this.simpleType;
+        output.primitiveType = this.primitiveType;
+        output.isMapContainer = this.isMapContainer;
+        output.isListContainer = this.isListContainer;
+        output.isBinary = this.isBinary;
+        output.isFile = this.isFile;
+        output.schema = this.schema;
+        output.jsonSchema = this.jsonSchema;
+        if (this.vendorExtensions != null) {
+            output.vendorExtensions = new LinkedHashMap<String, Object>(this.vendorExtensions);
+        }
+        return output;
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", code, containerType);
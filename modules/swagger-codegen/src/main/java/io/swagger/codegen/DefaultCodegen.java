@@ -17,6 +17,7 @@ import com.google.common.base.Function;
 import com.google.common.collect.Lists;
 import com.samskivert.mustache.Mustache.Compiler;
 
+import io.swagger.codegen.examples.ExampleCache;
 import io.swagger.codegen.examples.ExampleGenerator;
 import io.swagger.models.ArrayModel;
 import io.swagger.models.ComposedModel;
@@ -65,6 +66,12 @@ import io.swagger.util.Json;
 public class DefaultCodegen {
     protected static final Logger LOGGER = LoggerFactory.getLogger(DefaultCodegen.class);
 
+    private static final Pattern CAMELIZE_SLASH_PATTERN = Pattern.compile("\\/(.?)");
+    private static final Pattern CAMELIZE_CLASS_NAME_PATTERN = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
+    private static final Pattern CAMELIZE_UNDERSCORE_PATTERN = Pattern.compile("(_)(.)");
+    private static final Pattern CAMELIZE_HYPHEN_PATTERN = Pattern.compile("(-)(.)");
+    private static final Pattern UNICODE_NON_WORD_PATTERN = Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS);
+
     protected String inputSpec;
     protected String outputFolder = "";
     protected Set<String> defaultIncludes = new HashSet<String>();
@@ -99,6 +106,9 @@ public class DefaultCodegen {
     protected Boolean sortParamsByRequiredFlag = true;
     protected Boolean ensureUniqueParams = true;
     protected Boolean allowUnicodeIdentifiers = false;
+    protected NameCache nameCache = NameCache.disabled(this);
+    protected ExampleCache exampleCache = new ExampleCache(ExampleCache.DEFAULT_MAXIMUM_SIZE);
+    protected GeneratorProperties generatorProperties = new GeneratorProperties();
     protected String gitUserId, gitRepoId, releaseNote;
     protected String httpUserAgent;
     protected Boolean hideGenerationTimestamp = true;
@@ -164,7 +174,7 @@ public class DefaultCodegen {
             // Index all CodegenModels by model name.
             Map<String, CodegenModel> allModels = new HashMap<String, CodegenModel>();
             for (Entry<String, Object> entry : objs.entrySet()) {
-                String modelName = toModelName(entry.getKey());
+                String modelName = nameCache.toModelName(entry.getKey());
                 Map<String, Object> inner = (Map<String, Object>) entry.getValue();
                 List<Map<String, Object>> models = (List<Map<String, Object>>) inner.get("models");
                 for (Map<String, Object> mo : models) {
@@ -573,10 +583,12 @@ public class DefaultCodegen {
 
     public void setModelNamePrefix(String modelNamePrefix){
         this.modelNamePrefix = modelNamePrefix;
+        nameCache.clear();
     }
 
     public void setModelNameSuffix(String modelNameSuffix){
         this.modelNameSuffix = modelNameSuffix;
+        nameCache.clear();
     }
 
     public void setApiPackage(String apiPackage) {
@@ -593,6 +605,65 @@ public class DefaultCodegen {
 
     public void setAllowUnicodeIdentifiers(Boolean allowUnicodeIdentifiers) {
         this.allowUnicodeIdentifiers = allowUnicodeIdentifiers;
+        nameCache.clear();
+    }
+
+    /**
+     * Get the cache of name conversions of this generator.
+     *
+     * @return Name cache, disabled unless the generator opted in
+     */
+    public NameCache getNameCache() {
+        return nameCache;
+    }
+
+    /**
+     * Set the cache of name conversions, e.g. {@code new NameCache(this, NameCache.DEFAULT_MAXIMUM_SIZE)}
+     * to memoize the conversions of this generator. Only generators whose conversions depend on
+     * nothing but their configuration should opt in.
+     *
+     * @param nameCache Name cache
+     */
+    public void setNameCache(NameCache nameCache) {
+        this.nameCache = nameCache;
+    }
+
+    /**
+     * Get the cache of the examples rendered for the operations of this generator.
+     *
+     * @return Example cache, or null if examples are rendered for every operation
+     */
+    public ExampleCache getExampleCache() {
+        return exampleCache;
+    }
+
+    /**
+     * Set the cache of the examples rendered for the operations of this generator, e.g. null to render
+     * the examples for every operation.
+     *
+     * @param exampleCache Example cache
+     */
+    public void setExampleCache(ExampleCache exampleCache) {
+        this.exampleCache = exampleCache;
+    }
+
+    /**
+     * Get the settings of the current generation run, such as {@code models} or {@code debugModels}.
+     * Generators should read their run settings from here rather than from the system properties.
+     *
+     * @return Settings of the run, falling back to the system properties by default
+     */
+    public GeneratorProperties getGeneratorProperties() {
+        return generatorProperties;
+    }
+
+    /**
+     * Set the settings of the current generation run.
+     *
+     * @param generatorProperties Settings of the run
+     */
+    public void setGeneratorProperties(GeneratorProperties generatorProperties) {
+        this.generatorProperties = generatorProperties;
     }
 
     /**
@@ -612,7 +683,7 @@ public class DefaultCodegen {
      * @return the file name of the Api
      */
     public String toApiFilename(String name) {
-        return toApiName(name);
+        return nameCache.toApiName(name);
     }
 
     /**
@@ -622,7 +693,7 @@ public class DefaultCodegen {
      * @return the file name of the Api
      */
     public String toApiDocFilename(String name) {
-        return toApiName(name);
+        return nameCache.toApiName(name);
     }
 
     /**
@@ -632,7 +703,7 @@ public class DefaultCodegen {
      * @return the file name of the Api
      */
     public String toApiTestFilename(String name) {
-        return toApiName(name) + "Test";
+        return nameCache.toApiName(name) + "Test";
     }
 
     /**
@@ -1313,8 +1384,8 @@ public class DefaultCodegen {
         m.title = escapeText(model.getTitle());
         m.description = escapeText(model.getDescription());
         m.unescapedDescription = model.getDescription();
-        m.classname = toModelName(name);
-        m.classVarName = toVarName(name);
+        m.classname = nameCache.toModelName(name);
+        m.classVarName = nameCache.toVarName(name);
         m.classFilename = toModelFilename(name);
         m.modelJson = Json.pretty(model);
         m.externalDocs = model.getExternalDocs();
@@ -1390,7 +1461,7 @@ public class DefaultCodegen {
                             || (interfaceModel instanceof ComposedModel && isDiscriminatorInInterfaceTree((ComposedModel) interfaceModel, allDefinitions)))) {
                         parent = _interface;
                     } else {
-                        final String interfaceRef = toModelName(_interface.getSimpleRef());
+                        final String interfaceRef = nameCache.toModelName(_interface.getSimpleRef());
                         m.interfaces.add(interfaceRef);
                         addImport(m, interfaceRef);
                         if (allDefinitions != null) {
@@ -1408,7 +1479,7 @@ public class DefaultCodegen {
             if (parent != null) {
                 final String parentRef = parent.getSimpleRef();
                 m.parentSchema = parentRef;
-                m.parent = toModelName(parent.getSimpleRef());
+                m.parent = nameCache.toModelName(parent.getSimpleRef());
                 addImport(m, m.parent);
                 if (allDefinitions != null) {
                     final Model parentModel = allDefinitions.get(m.parentSchema);
@@ -1538,7 +1609,7 @@ public class DefaultCodegen {
         }
 
         CodegenProperty property = CodegenModelFactory.newInstance(CodegenModelType.PROPERTY);
-        property.name = toVarName(name);
+        property.name = nameCache.toVarName(name);
         property.baseName = name;
         property.nameInCamelCase = camelize(property.name, false);
         property.description = escapeText(p.getDescription());
@@ -2166,7 +2237,7 @@ public class DefaultCodegen {
                             op.returnBaseType = cm.baseType;
                         }
                     }
-                    op.examples = new ExampleGenerator(definitions).generate(methodResponse.getExamples(), operation.getProduces(), responseProperty);
+                    op.examples = new ExampleGenerator(definitions, exampleCache).generate(methodResponse.getExamples(), operation.getProduces(), responseProperty);
                     op.defaultResponse = toDefaultValue(responseProperty);
                     op.returnType = cm.datatype;
                     op.hasReference = definitions != null && definitions.containsKey(op.returnBaseType);
@@ -2247,7 +2318,7 @@ public class DefaultCodegen {
                     bodyParam = p;
                     bodyParams.add(p.copy());
                     if(definitions != null) {
-                        op.requestBodyExamples = new ExampleGenerator(definitions).generate(null, operation.getConsumes(), bodyParam.dataType);
+                        op.requestBodyExamples = new ExampleGenerator(definitions, exampleCache).generate(null, operation.getConsumes(), bodyParam.dataType);
                     }
                 } else if (param instanceof FormParameter) {
                     formParams.add(p.copy());
@@ -2421,7 +2492,7 @@ public class DefaultCodegen {
         }
         p.jsonSchema = Json.pretty(param);
 
-        if (System.getProperty("debugParser") != null) {
+        if (generatorProperties.isSet("debugParser")) {
             LOGGER.info("working on Parameter " + param.getName());
         }
 
@@ -2539,7 +2610,7 @@ public class DefaultCodegen {
             if(collectionFormat != null && collectionFormat.equals("multi")) {
                 p.isCollectionFormatMulti = true;
             }
-            p.paramName = toParamName(qp.getName());
+            p.paramName = nameCache.toParamName(qp.getName());
 
             // import
             if (cp.complexType != null) {
@@ -2646,7 +2717,7 @@ public class DefaultCodegen {
                         name = typeMapping.get(name);
                         p.baseType = name;
                     } else {
-                        name = toModelName(name);
+                        name = nameCache.toModelName(name);
                         p.baseType = name;
                         if (defaultIncludes.contains(name)) {
                             imports.add(name);
@@ -2657,7 +2728,7 @@ public class DefaultCodegen {
                     p.dataType = name;
                 }
             }
-            p.paramName = toParamName(bp.getName());
+            p.paramName = nameCache.toParamName(bp.getName());
         }
 
         // Issue #2561 (neilotoole) : Set the is<TYPE>Param flags.
@@ -2860,6 +2931,7 @@ public class DefaultCodegen {
         for (String word : words) {
             reservedWords.add(word.toLowerCase());
         }
+        nameCache.clear();
     }
 
     protected boolean isReservedWord(String word) {
@@ -3026,21 +3098,38 @@ public class DefaultCodegen {
      * @return The underscored version of the word
      */
     public static String underscore(String word) {
-        String firstPattern = "([A-Z]+)([A-Z][a-z])";
-        String secondPattern = "([a-z\\d])([A-Z])";
-        String replacementPattern = "$1_$2";
-        // Replace package separator with slash.
-        word = word.replaceAll("\\.", "/"); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-        // Replace $ with two underscores for inner classes.
-        word = word.replaceAll("\\$", "__");
-        // Replace capital letter with _ plus lowercase letter.
-        word = word.replaceAll(firstPattern, replacementPattern);
-        word = word.replaceAll(secondPattern, replacementPattern);
-        word = word.replace('-', '_');
-        // replace space with underscore
-        word = word.replace(' ', '_');
-        word = word.toLowerCase();
-        return word;
+        final int length = word.length();
+        StringBuilder result = new StringBuilder(length + 8);
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            if (isAsciiUpperCase(c) && i > 0) {
+                char previous = word.charAt(i - 1);
+                if (isAsciiLowerCase(previous) || isAsciiDigit(previous)) {
+                    // aB => a_B, 1B => 1_B
+                    result.append('_');
+                } else if (isAsciiUpperCase(previous) && i + 1 < length && isAsciiLowerCase(word.charAt(i + 1))) {
+                    // ABc => A_Bc
+                    result.append('_');
+                }
+            }
+            switch (c) {
+                case '.':
+                    // Replace package separator with slash.
+                    result.append('/');
+                    break;
+                case '$':
+                    // Replace $ with two underscores for inner classes.
+                    result.append("__");
+                    break;
+                case '-':
+                case ' ':
+                    result.append('_');
+                    break;
+                default:
+                    result.append(c);
+            }
+        }
+        return result.toString().toLowerCase();
     }
 
     /**
@@ -3064,16 +3153,16 @@ public class DefaultCodegen {
      * @param name The base name
      * @return The next name for the base name
      */
-    private static String generateNextName(String name) {
-        Pattern pattern = Pattern.compile("\\d+\\z");
-        Matcher matcher = pattern.matcher(name);
-        if (matcher.find()) {
-            String numStr = matcher.group();
-            int num = Integer.parseInt(numStr) + 1;
-            return name.substring(0, name.length() - numStr.length()) + num;
-        } else {
+    static String generateNextName(String name) {
+        int start = name.length();
+        while (start > 0 && isAsciiDigit(name.charAt(start - 1))) {
+            start--;
+        }
+        if (start == name.length()) {
             return name + "2";
         }
+        int num = Integer.parseInt(name.substring(start)) + 1;
+        return name.substring(0, start) + num;
     }
 
     protected void addImport(CodegenModel m, String type) {
@@ -3256,8 +3345,121 @@ public class DefaultCodegen {
      * @return camelized string
      */
     public static String camelize(String word, boolean lowercaseFirstLetter) {
+        String result = camelizeFast(word);
+        if (result == null) {
+            result = camelizeWithPatterns(word);
+        }
+
+        if (lowercaseFirstLetter && result.length() > 0) {
+            result = result.substring(0, 1).toLowerCase() + result.substring(1);
+        }
+        return result;
+    }
+
+    /**
+     * Camelize by scanning the characters of the word, with the same result as
+     * {@link #camelizeWithPatterns(String)}.
+     *
+     * @param word string to be camelized
+     * @return camelized string, or {@code null} if the word contains characters for which the
+     * result can only be reproduced by the regular expressions: backslashes, line terminators,
+     * surrogates, and '$' following '/' or '-'
+     */
+    private static String camelizeFast(String word) {
+        final int length = word.length();
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            if (c == '\\' || c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029'
+                    || Character.isSurrogate(c) || (c == '$' && i > 0 && word.charAt(i - 1) == '/')) {
+                return null;
+            }
+        }
+
+        // Replace slashes with dots (package separator), case out dots and uppercase the class name,
+        // i.e. the first word character
+        StringBuilder result = new StringBuilder(length);
+        boolean segmentStart = true;
+        boolean classNameStart = true;
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            if (c == '/' || c == '.') {
+                segmentStart = true;
+                continue;
+            }
+            if (segmentStart) {
+                c = Character.toUpperCase(c);
+                segmentStart = false;
+            }
+            if (classNameStart && isAsciiWordCharacter(c)) {
+                appendUpperCase(result, c);
+                classNameStart = false;
+            } else {
+                result.append(c);
+            }
+        }
+
+        // Remove all underscores (underscore_case to camelCase)
+        if (result.indexOf("_") >= 0) {
+            String current = result.toString();
+            result.setLength(0);
+            final int n = current.length();
+            int i = 0;
+            while (i < n) {
+                char c = current.charAt(i);
+                if (c == '_' && i + 1 < n) {
+                    char next = current.charAt(i + 1);
+                    if (isUpperCaseInvariant(next)) {
+                        // drop the underscore, the next character is looked at on its own
+                        i++;
+                    } else {
+                        appendUpperCase(result, next);
+                        i += 2;
+                    }
+                    continue;
+                }
+                result.append(c);
+                i++;
+            }
+        }
+
+        // Remove all hyphens (hyphen-case to camelCase)
+        if (result.indexOf("-") >= 0) {
+            String current = result.toString();
+            result.setLength(0);
+            final int n = current.length();
+            int i = 0;
+            while (i < n) {
+                char c = current.charAt(i);
+                if (c == '-' && i + 1 < n) {
+                    char next = current.charAt(i + 1);
+                    if (next == '$') {
+                        return null;
+                    }
+                    if (next == '-') {
+                        // a run of hyphens collapses into the last one
+                        i++;
+                    } else {
+                        appendUpperCase(result, next);
+                        i += 2;
+                    }
+                    continue;
+                }
+                result.append(c);
+                i++;
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Camelize with regular expressions, for words {@link #camelizeFast(String)} does not handle.
+     *
+     * @param word string to be camelized
+     * @return camelized string
+     */
+    private static String camelizeWithPatterns(String word) {
         // Replace all slashes with dots (package separator)
-        Pattern p = Pattern.compile("\\/(.?)");
+        Pattern p = CAMELIZE_SLASH_PATTERN;
         Matcher m = p.matcher(word);
         while (m.find()) {
             word = m.replaceFirst("." + m.group(1)/*.toUpperCase()*/); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
@@ -3281,7 +3483,7 @@ public class DefaultCodegen {
         }
 
         // Uppercase the class name.
-        p = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
+        p = CAMELIZE_CLASS_NAME_PATTERN;
         m = p.matcher(word);
         if (m.find()) {
             String rep = m.group(1) + m.group(2).toUpperCase() + m.group(3);
@@ -3290,7 +3492,7 @@ public class DefaultCodegen {
         }
 
         // Remove all underscores (underscore_case to camelCase)
-        p = Pattern.compile("(_)(.)");
+        p = CAMELIZE_UNDERSCORE_PATTERN;
         m = p.matcher(word);
         while (m.find()) {
             String original = m.group(2);
@@ -3304,18 +3506,49 @@ public class DefaultCodegen {
         }
 
         // Remove all hyphens (hyphen-case to camelCase)
-        p = Pattern.compile("(-)(.)");
+        p = CAMELIZE_HYPHEN_PATTERN;
         m = p.matcher(word);
         while (m.find()) {
             word = m.replaceFirst(m.group(2).toUpperCase());
             m = p.matcher(word);
         }
 
-        if (lowercaseFirstLetter && word.length() > 0) {
-            word = word.substring(0, 1).toLowerCase() + word.substring(1);
+        return word;
+    }
+
+    private static boolean isAsciiUpperCase(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isAsciiLowerCase(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // \\w of a regular expression without UNICODE_CHARACTER_CLASS
+    private static boolean isAsciiWordCharacter(char c) {
+        return isAsciiUpperCase(c) || isAsciiLowerCase(c) || isAsciiDigit(c) || c == '_';
+    }
+
+    // whether String.valueOf(c).toUpperCase() equals String.valueOf(c)
+    private static boolean isUpperCaseInvariant(char c) {
+        if (c < 0x80) {
+            return !isAsciiLowerCase(c);
         }
+        String s = String.valueOf(c);
+        return s.equals(s.toUpperCase());
+    }
 
-        return word;
+    // appends String.valueOf(c).toUpperCase(), which depends on the default locale for 'i'
+    private static void appendUpperCase(StringBuilder sb, char c) {
+        if (c < 0x80 && c != 'i') {
+            sb.append(isAsciiLowerCase(c) ? (char) (c - 'a' + 'A') : c);
+        } else {
+            sb.append(String.valueOf(c).toUpperCase());
+        }
     }
 
     public String apiFilename(String templateName, String tag) {
@@ -3496,10 +3729,9 @@ public class DefaultCodegen {
      */
     @SuppressWarnings("static-method")
     public String sanitizeName(String name) {
-        // NOTE: performance wise, we should have written with 2 replaceAll to replace desired
-        // character with _ or empty character. Below aims to spell out different cases we've
-        // encountered so far and hopefully make it easier for others to add more special
-        // cases in the future.
+        // NOTE: the name is sanitized in a single pass over its characters, as this is called
+        // for every parameter, property and method name. Each case below is spelled out to make
+        // it easier for others to add more special cases in the future.
 
         // better error handling when map/array type is invalid
         if (name == null) {
@@ -3512,36 +3744,46 @@ public class DefaultCodegen {
             return "value";
         }
 
-        // input[] => input
-        name = name.replaceAll("\\[\\]", ""); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-
-        // input[a][b] => input_a_b
-        name = name.replaceAll("\\[", "_");
-        name = name.replaceAll("\\]", "");
-
-        // input(a)(b) => input_a_b
-        name = name.replaceAll("\\(", "_");
-        name = name.replaceAll("\\)", "");
-
-        // input.name => input_name
-        name = name.replaceAll("\\.", "_");
-
-        // input-name => input_name
-        name = name.replaceAll("-", "_");
-
-        // input name and age => input_name_and_age
-        name = name.replaceAll(" ", "_");
-
-        // remove everything else other than word, number and _
-        // $php_variable => php_variable
-        if (allowUnicodeIdentifiers) { //could be converted to a single line with ?: operator
-            name = Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS).matcher(name).replaceAll("");
-        }
-        else {
-            name = name.replaceAll("\\W", "");
+        final int length = name.length();
+        StringBuilder sanitized = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+            switch (c) {
+                case '[':
+                    if (i + 1 < length && name.charAt(i + 1) == ']') {
+                        // input[] => input
+                        i++;
+                    } else {
+                        // input[a][b] => input_a_b
+                        sanitized.append('_');
+                    }
+                    break;
+                case ']':
+                case ')':
+                    break;
+                case '(':
+                    // input(a)(b) => input_a_b
+                case '.':
+                    // input.name => input_name
+                case '-':
+                    // input-name => input_name
+                case ' ':
+                    // input name and age => input_name_and_age
+                    sanitized.append('_');
+                    break;
+                default:
+                    // remove everything else other than word, number and _
+                    // $php_variable => php_variable
+                    if (allowUnicodeIdentifiers || isAsciiWordCharacter(c)) {
+                        sanitized.append(c);
+                    }
+            }
         }
 
-        return name;
+        if (allowUnicodeIdentifiers) {
+            return UNICODE_NON_WORD_PATTERN.matcher(sanitized).replaceAll("");
+        }
+        return sanitized.toString();
     }
 
     /**
@@ -1,9 +1,11 @@
 package io.swagger.codegen;
 
-import com.samskivert.mustache.Mustache;
 import com.samskivert.mustache.Template;
 import io.swagger.codegen.ignore.CodegenIgnoreProcessor;
 import io.swagger.codegen.languages.AbstractJavaCodegen;
+import io.swagger.codegen.mustache.TemplateCache;
+import io.swagger.codegen.output.FileSystemOutput;
+import io.swagger.codegen.output.GeneratorOutput;
 import io.swagger.codegen.utils.ImplementationVersion;
 import io.swagger.models.*;
 import io.swagger.models.auth.OAuth2Definition;
@@ -18,7 +20,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class DefaultGenerator extends AbstractGenerator implements Generator {
     protected final Logger LOGGER = LoggerFactory.getLogger(DefaultGenerator.class);
@@ -26,6 +36,21 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     protected ClientOptInput opts;
     protected Swagger swagger;
     protected CodegenIgnoreProcessor ignoreProcessor;
+    protected TemplateCache templateCache = TemplateCache.getShared();
+    private volatile TemplateCache.Run templateRun;
+    protected GeneratorOutput output;
+    protected GenerationTimings timings;
+    private boolean timingsSet;
+    private static final ClassValue<Boolean> WRITES_THROUGH_OVERRIDE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> generatorClass) {
+            try {
+                return generatorClass.getMethod("writeToFile", String.class, String.class).getDeclaringClass() != DefaultGenerator.class;
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
     private Boolean generateApis = null;
     private Boolean generateModels = null;
     private Boolean generateSupportingFiles = null;
@@ -34,10 +59,24 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     private Boolean generateModelTests = null;
     private Boolean generateModelDocumentation = null;
     private Boolean generateSwaggerMetadata = true;
+    private int workers = 1;
+    private Boolean incremental = false;
+    private Boolean pruneStaleFiles = false;
+    private Boolean reachableModels = false;
+    private Set<String> apisToGenerate;
+    private Set<String> operationsToGenerate;
+    private GenerationManifest manifest;
+    private DefinitionGraph definitionGraph;
+    private Map<String, List<CodegenOperation>> processedPaths;
+    private Map<CodegenOperation, Operation> operationSources;
+    private GeneratorOutput target;
+    private java.nio.file.Path outputRoot;
+    private ExecutorService renderExecutor;
     private String basePath;
     private String basePathWithoutHost;
     private String contextPath;
     private Map<String, String> generatorPropertyDefaults = new HashMap<>();
+    private GeneratorProperties generatorProperties = new GeneratorProperties();
 
     @Override
     public Generator opts(ClientOptInput opts) {
@@ -45,6 +84,15 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         this.swagger = opts.getSwagger();
         this.config = opts.getConfig();
         this.config.additionalProperties().putAll(opts.getOpts().getProperties());
+        if (opts.getGeneratorProperties() != null) {
+            this.config.setGeneratorProperties(opts.getGeneratorProperties());
+        }
+        if (this.config.getGeneratorProperties() != null) {
+            this.generatorProperties = this.config.getGeneratorProperties();
+        }
+        if (opts.getOutput() != null) {
+            this.output = opts.getOutput();
+        }
 
         String ignoreFileLocation = this.config.getIgnoreFilePathOverride();
         if (ignoreFileLocation != null) {
@@ -74,7 +122,72 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     }
 
     /**
-     * Set generator properties otherwise pulled from system properties.
+     * Set the cache of compiled templates used by this generator. Defaults to the cache shared
+     * by all generators in the JVM.
+     * @param templateCache template cache
+     */
+    @SuppressWarnings("WeakerAccess")
+    public void setTemplateCache(TemplateCache templateCache) {
+        this.templateCache = templateCache;
+    }
+
+    public TemplateCache getTemplateCache() {
+        return templateCache;
+    }
+
+    // lookups outside of a run check the file system each time
+    private TemplateCache.Run getTemplateRun() {
+        TemplateCache.Run run = templateRun;
+        return run != null ? run : templateCache.startRun();
+    }
+
+    /**
+     * Get the references between the definitions of the spec, once inline models are resolved.
+     *
+     * @return definition graph of the current or last run
+     */
+    public DefinitionGraph getDefinitionGraph() {
+        if (definitionGraph == null && swagger != null) {
+            definitionGraph = new DefinitionGraph(swagger.getDefinitions());
+        }
+        return definitionGraph;
+    }
+
+    /**
+     * Set where generated files are written to. Defaults to the output folder of the config.
+     * Paths given to the output are relative to the output folder of the config.
+     * @param output generator output, or {@code null} for the output folder
+     */
+    @SuppressWarnings("WeakerAccess")
+    public void setOutput(GeneratorOutput output) {
+        this.output = output;
+    }
+
+    public GeneratorOutput getOutput() {
+        return output;
+    }
+
+    /**
+     * Measure the runs, see {@link GenerationTimings}. Defaults to new timings for each run when the
+     * {@code timings} generator property names a report file, and to no timings otherwise.
+     * @param timings timings to record the runs to
+     */
+    @SuppressWarnings("WeakerAccess")
+    public void setTimings(GenerationTimings timings) {
+        this.timings = timings;
+        this.timingsSet = true;
+    }
+
+    /**
+     * @return timings of the current or last run
+     */
+    public GenerationTimings getTimings() {
+        return timings != null ? timings : GenerationTimings.NONE;
+    }
+
+    /**
+     * Set generator property defaults, used when a property is neither set on the run
+     * ({@link ClientOptInput#generatorProperties(GeneratorProperties)}) nor as system property.
      * Useful for running tests in parallel without relying on System.properties.
      * @param key The system property key
      * @param value The system property value
@@ -95,6 +208,15 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         return defaultValue;
     }
 
+    // comma separated names from the run setting, system property or generator property default, null when not set or empty
+    private Set<String> getGeneratorPropertySet(final String key) {
+        String value = generatorProperties.get(key, generatorPropertyDefaults.get(key));
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        return new HashSet<String>(Arrays.asList(value.split(",")));
+    }
+
     private String getScheme() {
         String scheme;
         if (swagger.getSchemes() != null && swagger.getSchemes().size() > 0) {
@@ -124,9 +246,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     private void configureGeneratorProperties() {
         // allows generating only models by specifying a CSV of models to generate, or empty for all
         // NOTE: Boolean.TRUE is required below rather than `true` because of JVM boxing constraints and type inference.
-        generateApis = System.getProperty(CodegenConstants.APIS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.APIS, null);
-        generateModels = System.getProperty(CodegenConstants.MODELS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODELS, null);
-        generateSupportingFiles = System.getProperty(CodegenConstants.SUPPORTING_FILES) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.SUPPORTING_FILES, null);
+        generateApis = generatorProperties.isSet(CodegenConstants.APIS) ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.APIS, null);
+        generateModels = generatorProperties.isSet(CodegenConstants.MODELS) ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODELS, null);
+        generateSupportingFiles = generatorProperties.isSet(CodegenConstants.SUPPORTING_FILES) ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.SUPPORTING_FILES, null);
 
         if (generateApis == null && generateModels == null && generateSupportingFiles == null) {
             // no specifics are set, generate everything
@@ -142,13 +264,40 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 generateSupportingFiles = false;
             }
         }
+        // only generate the models reachable from the parameters and responses of the selected apis and operations
+        reachableModels = generatorProperties.isSet(CodegenConstants.REACHABLE_MODELS) ? Boolean.valueOf(generatorProperties.get(CodegenConstants.REACHABLE_MODELS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.REACHABLE_MODELS, false);
+        if (reachableModels) {
+            generateModels = true;
+        }
+        // the apis generator property default is a switch, only the run setting or system property names apis
+        String apiNames = generatorProperties.get(CodegenConstants.APIS);
+        apisToGenerate = apiNames != null && !apiNames.isEmpty() ? new HashSet<String>(Arrays.asList(apiNames.split(","))) : null;
+        operationsToGenerate = getGeneratorPropertySet(CodegenConstants.OPERATIONS);
+
         // model/api tests and documentation options rely on parent generate options (api or model) and no other options.
         // They default to true in all scenarios and can only be marked false explicitly
-        generateModelTests = System.getProperty(CodegenConstants.MODEL_TESTS) != null ? Boolean.valueOf(System.getProperty(CodegenConstants.MODEL_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_TESTS, true);
-        generateModelDocumentation = System.getProperty(CodegenConstants.MODEL_DOCS) != null ? Boolean.valueOf(System.getProperty(CodegenConstants.MODEL_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_DOCS, true);
-        generateApiTests = System.getProperty(CodegenConstants.API_TESTS) != null ? Boolean.valueOf(System.getProperty(CodegenConstants.API_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_TESTS, true);
-        generateApiDocumentation = System.getProperty(CodegenConstants.API_DOCS) != null ? Boolean.valueOf(System.getProperty(CodegenConstants.API_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_DOCS, true);
-
+        generateModelTests = generatorProperties.isSet(CodegenConstants.MODEL_TESTS) ? Boolean.valueOf(generatorProperties.get(CodegenConstants.MODEL_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_TESTS, true);
+        generateModelDocumentation = generatorProperties.isSet(CodegenConstants.MODEL_DOCS) ? Boolean.valueOf(generatorProperties.get(CodegenConstants.MODEL_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_DOCS, true);
+        generateApiTests = generatorProperties.isSet(CodegenConstants.API_TESTS) ? Boolean.valueOf(generatorProperties.get(CodegenConstants.API_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_TESTS, true);
+        generateApiDocumentation = generatorProperties.isSet(CodegenConstants.API_DOCS) ? Boolean.valueOf(generatorProperties.get(CodegenConstants.API_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_DOCS, true);
+
+        // skip writing files whose contents did not change, and optionally remove files no longer generated
+        incremental = generatorProperties.isSet(CodegenConstants.INCREMENTAL) ? Boolean.valueOf(generatorProperties.get(CodegenConstants.INCREMENTAL)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.INCREMENTAL, false);
+        pruneStaleFiles = generatorProperties.isSet(CodegenConstants.PRUNE_STALE_FILES) ? Boolean.valueOf(generatorProperties.get(CodegenConstants.PRUNE_STALE_FILES)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.PRUNE_STALE_FILES, false);
+
+        // number of threads rendering model and api templates, 1 (the default) renders on the calling thread
+        String workersValue = generatorProperties.get(CodegenConstants.WORKERS, generatorPropertyDefaults.get(CodegenConstants.WORKERS));
+        workers = 1;
+        if (StringUtils.isNotBlank(workersValue)) {
+            try {
+                workers = Integer.parseInt(workersValue.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Invalid value '" + workersValue + "' for " + CodegenConstants.WORKERS + ", rendering on a single thread");
+            }
+            if (workers <= 0) {
+                workers = Runtime.getRuntime().availableProcessors();
+            }
+        }
 
         // Additional properties added for tests to exclude references in project related files
         config.additionalProperties().put(CodegenConstants.GENERATE_API_TESTS, generateApiTests);
@@ -163,7 +312,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if (!generateApiTests && !generateModelTests) {
             config.additionalProperties().put(CodegenConstants.EXCLUDE_TESTS, true);
         }
-        if (System.getProperty("debugSwagger") != null) {
+        if (generatorProperties.isSet("debugSwagger")) {
             Json.prettyPrint(swagger);
         }
         config.processOpts();
@@ -243,35 +392,31 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         }
     }
 
-    private void generateModelTests(List<File> files, Map<String, Object> models, String modelName) throws IOException {
+    private void generateModelTests(RenderQueue renders, Map<String, Object> models, String modelName) {
         // to generate model test files
         for (String templateName : config.modelTestTemplateFiles().keySet()) {
             String suffix = config.modelTestTemplateFiles().get(templateName);
             String filename = config.modelTestFileFolder() + File.separator + config.toModelTestFilename(modelName) + suffix;
             // do not overwrite test file that already exists
-            if (new File(filename).exists()) {
+            if (outputExists(filename)) {
                 LOGGER.info("File exists. Skipped overwriting " + filename);
+                retainManifestEntry(filename);
                 continue;
             }
-            File written = processTemplateToFile(models, templateName, filename);
-            if (written != null) {
-                files.add(written);
-            }
+            renders.add(new TemplateRender(models, templateName, filename, "model '" + modelName + "'"));
         }
     }
 
-    private void generateModelDocumentation(List<File> files, Map<String, Object> models, String modelName) throws IOException {
+    private void generateModelDocumentation(RenderQueue renders, Map<String, Object> models, String modelName) {
         for (String templateName : config.modelDocTemplateFiles().keySet()) {
             String suffix = config.modelDocTemplateFiles().get(templateName);
             String filename = config.modelDocFileFolder() + File.separator + config.toModelDocFilename(modelName) + suffix;
             if (!config.shouldOverwrite(filename)) {
                 LOGGER.info("Skipped overwriting " + filename);
+                retainManifestEntry(filename);
                 continue;
             }
-            File written = processTemplateToFile(models, templateName, filename);
-            if (written != null) {
-                files.add(written);
-            }
+            renders.add(new TemplateRender(models, templateName, filename, "model '" + modelName + "'"));
         }
     }
 
@@ -286,7 +431,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             return;
         }
 
-        String modelNames = System.getProperty("models");
+        String modelNames = generatorProperties.get("models");
         Set<String> modelsToGenerate = null;
         if (modelNames != null && !modelNames.isEmpty()) {
             modelsToGenerate = new HashSet<String>(Arrays.asList(modelNames.split(",")));
@@ -302,60 +447,47 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             }
             modelKeys = updatedKeys;
         }
+        if (reachableModels) {
+            Set<String> reachable = getReachableModels();
+            Set<String> updatedKeys = new HashSet<String>();
+            for (String m : modelKeys) {
+                if (reachable.contains(m)) {
+                    updatedKeys.add(m);
+                }
+            }
+            LOGGER.info("Generating " + updatedKeys.size() + " of " + definitions.size() + " models, reachable from the selected operations");
+            modelKeys = updatedKeys;
+        }
 
-        // store all processed models
+        // store all processed models, parents before their children, then by class name. The order
+        // shows in the generated files, e.g. the model lists of the supporting files, so it is kept
+        // rather than replaced by an order following the property references of the models; the
+        // graph precomputes the inheritance depths, so comparing models doesn't walk their parents
+        final DefinitionGraph graph = getDefinitionGraph();
+        final Map<String, String> sortNames = new HashMap<String, String>();
+        for (String name : modelKeys) {
+            sortNames.put(name, config.getNameCache().toModelName(name));
+        }
         Map<String, Object> allProcessedModels = new TreeMap<String, Object>(new Comparator<String>() {
             @Override
             public int compare(String o1, String o2) {
-                Model model1 = definitions.get(o1);
-                Model model2 = definitions.get(o2);
-
-                int model1InheritanceDepth = getInheritanceDepth(model1);
-                int model2InheritanceDepth = getInheritanceDepth(model2);
+                int model1InheritanceDepth = graph.getInheritanceDepth(o1);
+                int model2InheritanceDepth = graph.getInheritanceDepth(o2);
 
                 if (model1InheritanceDepth == model2InheritanceDepth) {
-                    return ObjectUtils.compare(config.toModelName(o1), config.toModelName(o2));
+                    return ObjectUtils.compare(sortNames.get(o1), sortNames.get(o2));
                 } else if (model1InheritanceDepth > model2InheritanceDepth) {
                     return 1;
                 } else {
                     return -1;
                 }
             }
-
-            private int getInheritanceDepth(Model model) {
-                int inheritanceDepth = 0;
-                Model parent = getParent(model);
-
-                while (parent != null) {
-                    inheritanceDepth++;
-                    parent = getParent(parent);
-                }
-
-                return inheritanceDepth;
-            }
-
-            private Model getParent(Model model) {
-                if (model instanceof ComposedModel) {
-                    Model parent = ((ComposedModel) model).getParent();
-                    if (parent == null) {
-                        // check for interfaces
-                        List<RefModel> interfaces = ((ComposedModel) model).getInterfaces();
-                        if (interfaces.size() > 0) {
-                            RefModel interf = interfaces.get(0);
-                            return definitions.get(interf.getSimpleRef());
-                        }
-                    }
-                    if (parent != null) {
-                        return definitions.get(parent.getReference());
-                    }
-                }
-
-                return null;
-            }
         });
 
         // process models only
+        GenerationTimings.Sample sample = getTimings().start(GenerationTimings.PROCESS_MODELS);
         for (String name : modelKeys) {
+            checkInterrupted();
             try {
                 //don't generate models that have an import mapping
                 if (config.importMapping().containsKey(name)) {
@@ -366,18 +498,22 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 Map<String, Model> modelMap = new HashMap<String, Model>();
                 modelMap.put(name, model);
                 Map<String, Object> models = processModels(config, modelMap, definitions);
-                models.put("classname", config.toModelName(name));
+                models.put("classname", config.getNameCache().toModelName(name));
                 models.putAll(config.additionalProperties());
                 allProcessedModels.put(name, models);
             } catch (Exception e) {
                 throw new RuntimeException("Could not process model '" + name + "'" + ".Please make sure that your schema is correct!", e);
             }
         }
+        sample.stop();
 
         // post process all processed models
+        sample = getTimings().start(GenerationTimings.POST_PROCESS_ALL_MODELS);
         allProcessedModels = config.postProcessAllModels(allProcessedModels);
+        sample.stop();
 
         // generate files based on processed models
+        RenderQueue renders = new RenderQueue();
         for (String modelName : allProcessedModels.keySet()) {
             Map<String, Object> models = (Map<String, Object>) allProcessedModels.get(modelName);
             models.put("modelPackage", config.modelPackage());
@@ -402,25 +538,24 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     String filename = config.modelFileFolder() + File.separator + config.toModelFilename(modelName) + suffix;
                     if (!config.shouldOverwrite(filename)) {
                         LOGGER.info("Skipped overwriting " + filename);
+                        retainManifestEntry(filename);
                         continue;
                     }
-                    File written = processTemplateToFile(models, templateName, filename);
-                    if (written != null) {
-                        files.add(written);
-                    }
+                    renders.add(new TemplateRender(models, templateName, filename, "model '" + modelName + "'"));
                 }
                 if (generateModelTests) {
-                    generateModelTests(files, models, modelName);
+                    generateModelTests(renders, models, modelName);
                 }
                 if (generateModelDocumentation) {
                     // to generate model documentation files
-                    generateModelDocumentation(files, models, modelName);
+                    generateModelDocumentation(renders, models, modelName);
                 }
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate model '" + modelName + "'", e);
             }
         }
-        if (System.getProperty("debugModels") != null) {
+        files.addAll(renders.finish());
+        if (generatorProperties.isSet("debugModels")) {
             LOGGER.info("############ Model info ############");
             Json.prettyPrint(allModels);
         }
@@ -431,13 +566,8 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if (!generateApis) {
             return;
         }
-        Map<String, List<CodegenOperation>> paths = processPaths(swagger.getPaths());
-        Set<String> apisToGenerate = null;
-        String apiNames = System.getProperty("apis");
-        if (apiNames != null && !apiNames.isEmpty()) {
-            apisToGenerate = new HashSet<String>(Arrays.asList(apiNames.split(",")));
-        }
-        if (apisToGenerate != null && !apisToGenerate.isEmpty()) {
+        Map<String, List<CodegenOperation>> paths = getProcessedPaths();
+        if (apisToGenerate != null) {
             Map<String, List<CodegenOperation>> updatedPaths = new TreeMap<String, List<CodegenOperation>>();
             for (String m : paths.keySet()) {
                 if (apisToGenerate.contains(m)) {
@@ -446,6 +576,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             }
             paths = updatedPaths;
         }
+        RenderQueue renders = new RenderQueue();
         for (String tag : paths.keySet()) {
             try {
                 List<CodegenOperation> ops = paths.get(tag);
@@ -455,7 +586,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                         return ObjectUtils.compare(one.operationId, another.operationId);
                     }
                 });
+                GenerationTimings.Sample sample = getTimings().start(GenerationTimings.PROCESS_OPERATIONS);
                 Map<String, Object> operation = processOperations(config, tag, ops, allModels);
+                sample.stop(tag);
 
                 operation.put("basePath", basePath);
                 operation.put("basePathWithoutHost", basePathWithoutHost);
@@ -464,7 +597,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 operation.put("apiPackage", config.apiPackage());
                 operation.put("modelPackage", config.modelPackage());
                 operation.putAll(config.additionalProperties());
-                operation.put("classname", config.toApiName(tag));
+                operation.put("classname", config.getNameCache().toApiName(tag));
                 operation.put("classVarName", config.toApiVarName(tag));
                 operation.put("importPath", config.toApiImport(tag));
                 operation.put("classFilename", config.toApiFilename(tag));
@@ -493,15 +626,13 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
                 for (String templateName : config.apiTemplateFiles().keySet()) {
                     String filename = config.apiFilename(templateName, tag);
-                    if (!config.shouldOverwrite(filename) && new File(filename).exists()) {
+                    if (!config.shouldOverwrite(filename) && outputExists(filename)) {
                         LOGGER.info("Skipped overwriting " + filename);
+                        retainManifestEntry(filename);
                         continue;
                     }
 
-                    File written = processTemplateToFile(operation, templateName, filename);
-                    if (written != null) {
-                        files.add(written);
-                    }
+                    renders.add(new TemplateRender(operation, templateName, filename, "api file for '" + tag + "'"));
                 }
 
                 if (generateApiTests) {
@@ -509,15 +640,13 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     for (String templateName : config.apiTestTemplateFiles().keySet()) {
                         String filename = config.apiTestFilename(templateName, tag);
                         // do not overwrite test file that already exists
-                        if (new File(filename).exists()) {
+                        if (outputExists(filename)) {
                             LOGGER.info("File exists. Skipped overwriting " + filename);
+                            retainManifestEntry(filename);
                             continue;
                         }
 
-                        File written = processTemplateToFile(operation, templateName, filename);
-                        if (written != null) {
-                            files.add(written);
-                        }
+                        renders.add(new TemplateRender(operation, templateName, filename, "api file for '" + tag + "'"));
                     }
                 }
 
@@ -526,15 +655,13 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     // to generate api documentation files
                     for (String templateName : config.apiDocTemplateFiles().keySet()) {
                         String filename = config.apiDocFilename(templateName, tag);
-                        if (!config.shouldOverwrite(filename) && new File(filename).exists()) {
+                        if (!config.shouldOverwrite(filename) && outputExists(filename)) {
                             LOGGER.info("Skipped overwriting " + filename);
+                            retainManifestEntry(filename);
                             continue;
                         }
 
-                        File written = processTemplateToFile(operation, templateName, filename);
-                        if (written != null) {
-                            files.add(written);
-                        }
+                        renders.add(new TemplateRender(operation, templateName, filename, "api file for '" + tag + "'"));
                     }
                 }
 
@@ -542,7 +669,8 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
             }
         }
-        if (System.getProperty("debugOperations") != null) {
+        files.addAll(renders.finish());
+        if (generatorProperties.isSet("debugOperations")) {
             LOGGER.info("############ Operation info ############");
             Json.prettyPrint(allOperations);
         }
@@ -554,7 +682,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             return;
         }
         Set<String> supportingFilesToGenerate = null;
-        String supportingFiles = System.getProperty(CodegenConstants.SUPPORTING_FILES);
+        String supportingFiles = generatorProperties.get(CodegenConstants.SUPPORTING_FILES);
         if (supportingFiles != null && !supportingFiles.isEmpty()) {
             supportingFilesToGenerate = new HashSet<String>(Arrays.asList(supportingFiles.split(",")));
         }
@@ -565,20 +693,24 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 if (StringUtils.isNotEmpty(support.folder)) {
                     outputFolder += File.separator + support.folder;
                 }
-                File of = new File(outputFolder);
-                if (!of.isDirectory()) {
-                    of.mkdirs();
+                if (output == null) {
+                    // the folder is created even when its files are skipped, as generators have always done
+                    File of = new File(outputFolder);
+                    if (!of.isDirectory()) {
+                        of.mkdirs();
+                    }
                 }
                 String outputFilename = outputFolder + File.separator + support.destinationFilename.replace('/', File.separatorChar);
                 if (!config.shouldOverwrite(outputFilename)) {
                     LOGGER.info("Skipped overwriting " + outputFilename);
+                    retainManifestEntry(outputFilename);
                     continue;
                 }
                 String templateFile;
                 if (support instanceof GlobalSupportingFile) {
                     templateFile = config.getCommonTemplateDir() + File.separator + support.templateFile;
                 } else {
-                    templateFile = getFullTemplateFile(config, support.templateFile);
+                    templateFile = getTemplateRun().getFullTemplateFile(this, config, support.templateFile);
                 }
                 boolean shouldGenerate = true;
                 if (supportingFilesToGenerate != null && !supportingFilesToGenerate.isEmpty()) {
@@ -588,23 +720,13 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     continue;
                 }
 
-                if (ignoreProcessor.allowsFile(new File(outputFilename))) {
+                if (allowsFile(outputFilename)) {
                     if (templateFile.endsWith("mustache")) {
-                        String template = readTemplate(templateFile);
-                        Mustache.Compiler compiler = Mustache.compiler();
-                        compiler = config.processCompiler(compiler);
-                        Template tmpl = compiler
-                                .withLoader(new Mustache.TemplateLoader() {
-                                    @Override
-                                    public Reader getTemplate(String name) {
-                                        return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
-                                    }
-                                })
-                                .defaultValue("")
-                                .compile(template);
-
-                        writeToFile(outputFilename, tmpl.execute(bundle));
-                        files.add(new File(outputFilename));
+                        GenerationTimings.Sample sample = getTimings().start(GenerationTimings.RENDER);
+                        Template tmpl = getTemplateRun().getTemplate(this, config, templateFile);
+
+                        files.add(writeTemplateToFile(outputFilename, tmpl, bundle));
+                        sample.stop(support.templateFile);
                     } else {
                         InputStream in = null;
 
@@ -617,18 +739,36 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                             in = this.getClass().getClassLoader().getResourceAsStream(getCPResourcePath(templateFile));
                         }
                         File outputFile = new File(outputFilename);
-                        OutputStream out = new FileOutputStream(outputFile, false);
-                        if (in != null) {
-                            LOGGER.info("writing file " + outputFile);
-                            IOUtils.copy(in, out);
-                            out.close();
-                        } else {
+                        if (in == null) {
                             LOGGER.error("can't open " + templateFile + " for input");
+                        } else if (manifest != null) {
+                            GenerationTimings.Sample sample = getTimings().start(GenerationTimings.WRITE);
+                            if (manifest.write(outputFile, IOUtils.toByteArray(in))) {
+                                LOGGER.info("writing file " + outputFile);
+                            }
+                            sample.stop();
+                            in.close();
+                        } else {
+                            String path = outputPath(outputFilename);
+                            OutputStream out = timed(target.newOutputStream(path));
+                            LOGGER.info("writing file " + outputFile);
+                            boolean completed = false;
+                            try {
+                                IOUtils.copy(in, out);
+                                completed = true;
+                            } finally {
+                                if (!completed) {
+                                    target.discard(path);
+                                }
+                                out.close();
+                                in.close();
+                            }
                         }
                         files.add(outputFile);
                     }
                 } else {
                     LOGGER.info("Skipped generation of " + outputFilename + " due to rule in .swagger-codegen-ignore");
+                    retainManifestEntry(outputFilename);
                 }
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate supporting file '" + support + "'", e);
@@ -640,7 +780,11 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         final String swaggerCodegenIgnore = ".swagger-codegen-ignore";
         String ignoreFileNameTarget = config.outputFolder() + File.separator + swaggerCodegenIgnore;
         File ignoreFile = new File(ignoreFileNameTarget);
-        if (generateSwaggerMetadata && !ignoreFile.exists()) {
+        boolean ignoreFileExists = outputExists(ignoreFileNameTarget);
+        if (ignoreFileExists) {
+            retainManifestEntry(ignoreFileNameTarget);
+        }
+        if (generateSwaggerMetadata && !ignoreFileExists) {
             String ignoreFileNameSource = File.separator + config.getCommonTemplateDir() + File.separator + swaggerCodegenIgnore;
             String ignoreFileContents = readResourceContents(ignoreFileNameSource);
             try {
@@ -720,7 +864,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
         config.postProcessSupportingFileData(bundle);
 
-        if (System.getProperty("debugSupportingFiles") != null) {
+        if (generatorProperties.isSet("debugSupportingFiles")) {
             LOGGER.info("############ Supporting file info ############");
             Json.prettyPrint(bundle);
         }
@@ -733,51 +877,289 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if (swagger == null || config == null) {
             throw new RuntimeException("missing swagger input or config!");
         }
+        String timingsReport = generatorProperties.get(CodegenConstants.TIMINGS, generatorPropertyDefaults.get(CodegenConstants.TIMINGS));
+        if (!timingsSet) {
+            // each run reports its own phases
+            timings = StringUtils.isNotEmpty(timingsReport) ? new GenerationTimings() : null;
+        }
+        GenerationTimings.Sample run = getTimings().start(GenerationTimings.GENERATE);
+        GenerationTimings.Sample sample = getTimings().start(GenerationTimings.CONFIGURE);
         configureGeneratorProperties();
+        sample.stop();
         configureSwaggerInfo();
+        // conversions may depend on the options processed above
+        final NameCache nameCache = config.getNameCache();
+        nameCache.clear();
+        // templates may have been edited since the previous run
+        templateRun = templateCache.startRun();
+        outputRoot = Paths.get(config.outputFolder()).toAbsolutePath().normalize();
+        target = output != null ? output : new FileSystemOutput(outputRoot.toFile());
+        if (incremental && output != null) {
+            LOGGER.warn("Incremental generation requires the output folder, all files will be written to " + output);
+        }
+        manifest = incremental && output == null ? new GenerationManifest(config.outputFolder()) : null;
 
         // resolve inline models
         InlineModelResolver inlineModelResolver = new InlineModelResolver();
+        sample = getTimings().start(GenerationTimings.FLATTEN);
         inlineModelResolver.flatten(swagger);
+        sample.stop();
+        definitionGraph = new DefinitionGraph(swagger.getDefinitions());
 
         List<File> files = new ArrayList<File>();
-        // models
-        List<Object> allModels = new ArrayList<Object>();
-        generateModels(files, allModels);
-        // apis
-        List<Object> allOperations = new ArrayList<Object>();
-        generateApis(files, allOperations, allModels);
-
-        // supporting files
-        Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels);
-        generateSupportingFiles(files, bundle);
-        config.processSwagger(swagger);
+        if (workers > 1) {
+            renderExecutor = Executors.newFixedThreadPool(workers, new RenderThreadFactory());
+        }
+        try {
+            // models
+            List<Object> allModels = new ArrayList<Object>();
+            generateModels(files, allModels);
+            // apis
+            List<Object> allOperations = new ArrayList<Object>();
+            generateApis(files, allOperations, allModels);
+
+            // supporting files
+            sample = getTimings().start(GenerationTimings.SUPPORTING_FILES);
+            Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels);
+            generateSupportingFiles(files, bundle);
+            sample.stop();
+
+            config.processSwagger(swagger);
+            if (manifest != null) {
+                finishIncrementalGeneration();
+            }
+        } finally {
+            if (renderExecutor != null) {
+                renderExecutor.shutdownNow();
+                renderExecutor = null;
+            }
+            // later writes of this generator, e.g. through writeToFile, no longer go to the output of the run
+            target = null;
+            processedPaths = null;
+            templateRun = null;
+        }
+        run.stop();
+        if (timings != null && StringUtils.isNotEmpty(timingsReport)) {
+            writeTimingsReport(new File(timingsReport));
+        }
+        LOGGER.debug("Template cache after generation: " + templateCache);
+        LOGGER.debug("Name cache after generation: " + nameCache);
         return files;
     }
 
+    private void writeTimingsReport(File report) {
+        timings.setAttribute("generator", config.getName());
+        timings.setAttribute("outputDir", config.outputFolder());
+        timings.setAttribute("workers", workers);
+        try {
+            timings.writeReport(report);
+            LOGGER.info("Timings of the generation written to " + report.getAbsolutePath() + ": " + timings);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write the timings of the generation to " + report, e);
+        }
+    }
+
+
+    @Override
+    public File writeToFile(String filename, String contents) throws IOException {
+        if (target == null) {
+            return super.writeToFile(filename, contents);
+        }
+        File file = new File(filename);
+        if (manifest != null) {
+            GenerationTimings.Sample sample = getTimings().start(GenerationTimings.WRITE);
+            if (manifest.write(file, contents.getBytes("UTF-8"))) {
+                LOGGER.info("writing file " + filename);
+            }
+            sample.stop();
+            return file;
+        }
+        LOGGER.info("writing file " + filename);
+        OutputStream out = timed(target.newOutputStream(outputPath(filename)));
+        try {
+            out.write(contents.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    /**
+     * Execute a template straight into a file of the output, without building the output in memory.
+     * Subclasses overriding {@link #writeToFile(String, String)} get the rendered template through it
+     * instead, as templates were written before they were streamed.
+     *
+     * @param filename File to write
+     * @param tmpl Compiled template
+     * @param templateData Data for the template
+     * @return The written file
+     * @throws IOException if the file cannot be written
+     */
+    private File writeTemplateToFile(String filename, final Template tmpl, final Object templateData) throws IOException {
+        if (WRITES_THROUGH_OVERRIDE.get(getClass())) {
+            return writeToFile(filename, tmpl.execute(templateData));
+        }
+        File file = new File(filename);
+        if (manifest != null) {
+            boolean changed = manifest.write(file, new GenerationManifest.Contents() {
+                @Override
+                public void writeTo(OutputStream out) throws IOException {
+                    Writer writer = new OutputStreamWriter(out, "UTF-8");
+                    tmpl.execute(templateData, writer);
+                    writer.flush();
+                }
+            });
+            if (changed) {
+                LOGGER.info("writing file " + filename);
+            }
+            return file;
+        }
+
+        final String path = outputPath(filename);
+        LOGGER.info("writing file " + filename);
+        boolean completed = false;
+        Writer out = new BufferedWriter(new OutputStreamWriter(timed(target.newOutputStream(path)), "UTF-8"));
+        try {
+            tmpl.execute(templateData, out);
+            completed = true;
+        } finally {
+            if (!completed) {
+                // discarded before closing, so the output keeps the previous version of the file
+                target.discard(path);
+            }
+            out.close();
+        }
+        return file;
+    }
+
+    private boolean allowsFile(String filename) {
+        GenerationTimings.Sample sample = getTimings().start(GenerationTimings.IGNORE_CHECK);
+        boolean allowed = ignoreProcessor.allowsFile(new File(filename));
+        sample.stop();
+        return allowed;
+    }
+
+    /**
+     * @param out stream of a file of the output
+     * @return the stream, recording the time spent writing to it when the run is measured
+     */
+    private OutputStream timed(OutputStream out) {
+        return getTimings().isEnabled() ? new TimedOutputStream(out, getTimings()) : out;
+    }
+
+    /**
+     * @param filename File below the output folder
+     * @return Path of the file relative to the output folder, as given to the {@link GeneratorOutput}
+     */
+    private String outputPath(String filename) {
+        String path = outputRoot.relativize(Paths.get(filename).toAbsolutePath().normalize()).toString();
+        return File.separatorChar == '/' ? path : path.replace(File.separatorChar, '/');
+    }
+
+    private boolean outputExists(String filename) {
+        return target.exists(outputPath(filename));
+    }
+
+    /**
+     * @return the manifest of the last incremental run, or {@code null} if incremental generation is disabled
+     */
+    public GenerationManifest getGenerationManifest() {
+        return manifest;
+    }
+
+    private void retainManifestEntry(String filename) {
+        if (manifest != null) {
+            manifest.retain(new File(filename));
+        }
+    }
+
+    private void finishIncrementalGeneration() {
+        if (pruneStaleFiles) {
+            // a partial run does not produce every file, so anything else would be considered stale
+            boolean selective = !(generateApis && generateModels && generateSupportingFiles)
+                    || StringUtils.isNotEmpty(generatorProperties.get(CodegenConstants.APIS))
+                    || StringUtils.isNotEmpty(generatorProperties.get(CodegenConstants.MODELS))
+                    || StringUtils.isNotEmpty(generatorProperties.get(CodegenConstants.SUPPORTING_FILES))
+                    || operationsToGenerate != null || reachableModels;
+            if (selective) {
+                LOGGER.warn("Stale files are not removed when generating selectively");
+            } else {
+                manifest.pruneStaleFiles();
+            }
+        }
+        try {
+            manifest.save();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write " + manifest.getManifestFile(), e);
+        }
+        LOGGER.info("Incremental generation: " + manifest);
+    }
+
+    /**
+     * Render the given templates, in parallel when more than one worker is configured.
+     * All processing of the template data must be complete before calling this, as the
+     * data is read concurrently.
+     *
+     * @param renders templates to render
+     * @return the written files, in the order of {@code renders}
+     */
+    private List<File> processTemplates(List<TemplateRender> renders) {
+        List<File> written = new ArrayList<File>();
+        if (renderExecutor == null || renders.size() < 2) {
+            for (TemplateRender render : renders) {
+                checkInterrupted();
+                File file = render.call();
+                if (file != null) {
+                    written.add(file);
+                }
+            }
+            return written;
+        }
+
+        try {
+            // invokeAll waits for every render and keeps the futures in submission order
+            for (Future<File> future : renderExecutor.invokeAll(renders)) {
+                File file = future.get();
+                if (file != null) {
+                    written.add(file);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while rendering templates", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+        return written;
+    }
+
+    /**
+     * Stop the run when the thread running it was interrupted, e.g. by a caller cancelling it.
+     * The interrupt status is kept for the caller.
+     */
+    private static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new RuntimeException("Generation was interrupted");
+        }
+    }
 
     private File processTemplateToFile(Map<String, Object> templateData, String templateName, String outputFilename) throws IOException {
         String adjustedOutputFilename = outputFilename.replaceAll("//", "/").replace('/', File.separatorChar);
-        if (ignoreProcessor.allowsFile(new File(adjustedOutputFilename))) {
-            String templateFile = getFullTemplateFile(config, templateName);
-            String template = readTemplate(templateFile);
-            Mustache.Compiler compiler = Mustache.compiler();
-            compiler = config.processCompiler(compiler);
-            Template tmpl = compiler
-                    .withLoader(new Mustache.TemplateLoader() {
-                        @Override
-                        public Reader getTemplate(String name) {
-                            return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
-                        }
-                    })
-                    .defaultValue("")
-                    .compile(template);
+        if (allowsFile(adjustedOutputFilename)) {
+            GenerationTimings.Sample sample = getTimings().start(GenerationTimings.RENDER);
+            String templateFile = getTemplateRun().getFullTemplateFile(this, config, templateName);
+            Template tmpl = getTemplateRun().getTemplate(this, config, templateFile);
 
-            writeToFile(adjustedOutputFilename, tmpl.execute(templateData));
-            return new File(adjustedOutputFilename);
+            File written = writeTemplateToFile(adjustedOutputFilename, tmpl, templateData);
+            sample.stop(templateName);
+            return written;
         }
 
         LOGGER.info("Skipped generation of " + adjustedOutputFilename + " due to rule in .swagger-codegen-ignore");
+        retainManifestEntry(adjustedOutputFilename);
         return null;
     }
 
@@ -804,52 +1186,96 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
     }
 
+    /**
+     * Definitions referenced, directly or not, by the parameters and responses of the operations
+     * selected by the {@code apis} and {@code operations} properties, or of all operations when
+     * none is selected. Models inheriting from these definitions are included.
+     *
+     * APIs are selected by the groups the generator puts the operations in, as when generating them,
+     * so the paths are processed before the models and reused for the APIs.
+     *
+     * @return names of the reachable definitions
+     */
+    private Set<String> getReachableModels() {
+        final DefinitionGraph graph = getDefinitionGraph();
+        operationSources = new IdentityHashMap<CodegenOperation, Operation>();
+        Map<String, List<CodegenOperation>> paths = getProcessedPaths();
+        Set<String> roots = new HashSet<String>();
+        for (Map.Entry<String, List<CodegenOperation>> group : paths.entrySet()) {
+            if (apisToGenerate != null && !apisToGenerate.contains(group.getKey())) {
+                continue;
+            }
+            for (CodegenOperation codegenOperation : group.getValue()) {
+                Operation operation = operationSources.get(codegenOperation);
+                if (operation != null) {
+                    // path parameters were added to the operation when processing it
+                    roots.addAll(graph.getOperationReferences(operation, null));
+                }
+            }
+        }
+        operationSources = null;
+        return graph.getReachable(roots, true);
+    }
+
+    private Map<String, List<CodegenOperation>> getProcessedPaths() {
+        if (processedPaths == null) {
+            GenerationTimings.Sample sample = getTimings().start(GenerationTimings.PROCESS_PATHS);
+            processedPaths = processPaths(swagger.getPaths());
+            sample.stop();
+        }
+        return processedPaths;
+    }
+
     public Map<String, List<CodegenOperation>> processPaths(Map<String, Path> paths) {
         Map<String, List<CodegenOperation>> ops = new TreeMap<String, List<CodegenOperation>>();
+        Map<String, Tag> tagIndex = indexTags(swagger.getTags());
         for (String resourcePath : paths.keySet()) {
+            checkInterrupted();
             Path path = paths.get(resourcePath);
-            processOperation(resourcePath, "get", path.getGet(), ops, path);
-            processOperation(resourcePath, "head", path.getHead(), ops, path);
-            processOperation(resourcePath, "put", path.getPut(), ops, path);
-            processOperation(resourcePath, "post", path.getPost(), ops, path);
-            processOperation(resourcePath, "delete", path.getDelete(), ops, path);
-            processOperation(resourcePath, "patch", path.getPatch(), ops, path);
-            processOperation(resourcePath, "options", path.getOptions(), ops, path);
+            processOperation(resourcePath, "get", path.getGet(), ops, path, tagIndex);
+            processOperation(resourcePath, "head", path.getHead(), ops, path, tagIndex);
+            processOperation(resourcePath, "put", path.getPut(), ops, path, tagIndex);
+            processOperation(resourcePath, "post", path.getPost(), ops, path, tagIndex);
+            processOperation(resourcePath, "delete", path.getDelete(), ops, path, tagIndex);
+            processOperation(resourcePath, "patch", path.getPatch(), ops, path, tagIndex);
+            processOperation(resourcePath, "options", path.getOptions(), ops, path, tagIndex);
         }
         return ops;
     }
 
-    private void processOperation(String resourcePath, String httpMethod, Operation operation, Map<String, List<CodegenOperation>> operations, Path path) {
+    /**
+     * @param swaggerTags tags declared at the top level of the spec, may be null
+     * @return the declared tags by name, the first one winning when a name is declared twice
+     */
+    static Map<String, Tag> indexTags(List<Tag> swaggerTags) {
+        Map<String, Tag> tagIndex = new HashMap<String, Tag>();
+        if (swaggerTags != null) {
+            for (Tag tag : swaggerTags) {
+                if (!tagIndex.containsKey(tag.getName())) {
+                    tagIndex.put(tag.getName(), tag);
+                }
+            }
+        }
+        return tagIndex;
+    }
+
+    private void processOperation(String resourcePath, String httpMethod, Operation operation, Map<String, List<CodegenOperation>> operations, Path path, Map<String, Tag> tagIndex) {
         if (operation == null) {
             return;
         }
-        if (System.getProperty("debugOperations") != null) {
+        if (operationsToGenerate != null && !operationsToGenerate.contains(operation.getOperationId())) {
+            return;
+        }
+        if (generatorProperties.isSet("debugOperations")) {
             LOGGER.info("processOperation: resourcePath= " + resourcePath + "\t;" + httpMethod + " " + operation + "\n");
         }
         List<Tag> tags = new ArrayList<Tag>();
 
         List<String> tagNames = operation.getTags();
-        List<Tag> swaggerTags = swagger.getTags();
         if (tagNames != null) {
-            if (swaggerTags == null) {
-                for (String tagName : tagNames) {
-                    tags.add(new Tag().name(tagName));
-                }
-            } else {
-                for (String tagName : tagNames) {
-                    boolean foundTag = false;
-                    for (Tag tag : swaggerTags) {
-                        if (tag.getName().equals(tagName)) {
-                            tags.add(tag);
-                            foundTag = true;
-                            break;
-                        }
-                    }
-
-                    if (!foundTag) {
-                        tags.add(new Tag().name(tagName));
-                    }
-                }
+            for (String tagName : tagNames) {
+                Tag tag = tagIndex.get(tagName);
+                tags.add(tag != null ? tag : new Tag().name(tagName));
             }
         }
 
@@ -879,63 +1305,86 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             }
         }
 
-        for (Tag tag : tags) {
+        // the operation is converted once; each additional tag gets its own copy, as the operations
+        // of a group are post-processed together and may be changed by the generator
+        CodegenOperation converted;
+        Map<String, SecuritySchemeDefinition> authMethods;
+        try {
+            GenerationTimings.Sample sample = getTimings().start(GenerationTimings.FROM_OPERATION);
+            converted = config.fromOperation(resourcePath, httpMethod, operation, swagger.getDefinitions(), swagger);
+            sample.stop(operation.getOperationId() != null ? operation.getOperationId() : httpMethod + " " + resourcePath);
+            converted.tags = new ArrayList<Tag>(tags);
+            authMethods = getAuthMethods(operation);
+        } catch (Exception ex) {
+            throw new RuntimeException(processOperationMessage(tags.get(0), resourcePath, httpMethod, operation, ex), ex);
+        }
+
+        for (int i = 0; i < tags.size(); i++) {
+            Tag tag = tags.get(i);
             try {
-                CodegenOperation codegenOperation = config.fromOperation(resourcePath, httpMethod, operation, swagger.getDefinitions(), swagger);
-                codegenOperation.tags = new ArrayList<Tag>(tags);
-                config.addOperationToGroup(config.sanitizeTag(tag.getName()), resourcePath, operation, codegenOperation, operations);
-
-                List<Map<String, List<String>>> securities = operation.getSecurity();
-                if (securities == null && swagger.getSecurity() != null) {
-                    securities = new ArrayList<Map<String, List<String>>>();
-                    for (SecurityRequirement sr : swagger.getSecurity()) {
-                        securities.add(sr.getRequirements());
-                    }
-                }
-                if (securities == null || swagger.getSecurityDefinitions() == null) {
-                    continue;
-                }
-                Map<String, SecuritySchemeDefinition> authMethods = new HashMap<String, SecuritySchemeDefinition>();
-                for (Map<String, List<String>> security : securities) {
-                    for (String securityName : security.keySet()) {
-                        SecuritySchemeDefinition securityDefinition = swagger.getSecurityDefinitions().get(securityName);
-                        if (securityDefinition == null) {
-                            continue;
-                        }
-                        if (securityDefinition instanceof OAuth2Definition) {
-                            OAuth2Definition oauth2Definition = (OAuth2Definition) securityDefinition;
-                            OAuth2Definition oauth2Operation = new OAuth2Definition();
-                            oauth2Operation.setType(oauth2Definition.getType());
-                            oauth2Operation.setAuthorizationUrl(oauth2Definition.getAuthorizationUrl());
-                            oauth2Operation.setFlow(oauth2Definition.getFlow());
-                            oauth2Operation.setTokenUrl(oauth2Definition.getTokenUrl());
-                            oauth2Operation.setScopes(new HashMap<String, String>());
-                            for (String scope : security.get(securityName)) {
-                                if (oauth2Definition.getScopes().containsKey(scope)) {
-                                    oauth2Operation.addScope(scope, oauth2Definition.getScopes().get(scope));
-                                }
-                            }
-                            authMethods.put(securityName, oauth2Operation);
-                        } else {
-                            authMethods.put(securityName, securityDefinition);
-                        }
-                    }
+                CodegenOperation codegenOperation = i == tags.size() - 1 ? converted : converted.copy();
+                config.addOperationToGroup(config.getNameCache().sanitizeTag(tag.getName()), resourcePath, operation, codegenOperation, operations);
+                if (operationSources != null) {
+                    operationSources.put(codegenOperation, operation);
                 }
                 if (!authMethods.isEmpty()) {
                     codegenOperation.authMethods = config.fromSecurity(authMethods);
                     codegenOperation.hasAuthMethods = true;
                 }
             } catch (Exception ex) {
-                String msg = "Could not process operation:\n" //
-                        + "  Tag: " + tag + "\n"//
-                        + "  Operation: " + operation.getOperationId() + "\n" //
-                        + "  Resource: " + httpMethod + " " + resourcePath + "\n"//
-                        + "  Definitions: " + swagger.getDefinitions() + "\n"  //
-                        + "  Exception: " + ex.getMessage();
-                throw new RuntimeException(msg, ex);
+                throw new RuntimeException(processOperationMessage(tag, resourcePath, httpMethod, operation, ex), ex);
+            }
+        }
+
+    }
+
+    private Map<String, SecuritySchemeDefinition> getAuthMethods(Operation operation) {
+        Map<String, SecuritySchemeDefinition> authMethods = new HashMap<String, SecuritySchemeDefinition>();
+        List<Map<String, List<String>>> securities = operation.getSecurity();
+        if (securities == null && swagger.getSecurity() != null) {
+            securities = new ArrayList<Map<String, List<String>>>();
+            for (SecurityRequirement sr : swagger.getSecurity()) {
+                securities.add(sr.getRequirements());
+            }
+        }
+        if (securities == null || swagger.getSecurityDefinitions() == null) {
+            return authMethods;
+        }
+        for (Map<String, List<String>> security : securities) {
+            for (String securityName : security.keySet()) {
+                SecuritySchemeDefinition securityDefinition = swagger.getSecurityDefinitions().get(securityName);
+                if (securityDefinition == null) {
+                    continue;
+                }
+                if (securityDefinition instanceof OAuth2Definition) {
+                    OAuth2Definition oauth2Definition = (OAuth2Definition) securityDefinition;
+                    OAuth2Definition oauth2Operation = new OAuth2Definition();
+                    oauth2Operation.setType(oauth2Definition.getType());
+                    oauth2Operation.setAuthorizationUrl(oauth2Definition.getAuthorizationUrl());
+                    oauth2Operation.setFlow(oauth2Definition.getFlow());
+                    oauth2Operation.setTokenUrl(oauth2Definition.getTokenUrl());
+                    oauth2Operation.setScopes(new HashMap<String, String>());
+                    for (String scope : security.get(securityName)) {
+                        if (oauth2Definition.getScopes().containsKey(scope)) {
+                            oauth2Operation.addScope(scope, oauth2Definition.getScopes().get(scope));
+                        }
+                    }
+                    authMethods.put(securityName, oauth2Operation);
+                } else {
+                    authMethods.put(securityName, securityDefinition);
+                }
             }
         }
+        return authMethods;
+    }
 
+    private String processOperationMessage(Tag tag, String resourcePath, String httpMethod, Operation operation, Exception ex) {
+        return "Could not process operation:\n" //
+                + "  Tag: " + tag + "\n"//
+                + "  Operation: " + operation.getOperationId() + "\n" //
+                + "  Resource: " + httpMethod + " " + resourcePath + "\n"//
+                + "  Definitions: " + swagger.getDefinitions() + "\n"  //
+                + "  Exception: " + ex.getMessage();
     }
 
     private static String generateParameterId(Parameter parameter) {
@@ -946,7 +1395,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     private Map<String, Object> processOperations(CodegenConfig config, String tag, List<CodegenOperation> ops, List<Object> allModels) {
         Map<String, Object> operations = new HashMap<String, Object>();
         Map<String, Object> objs = new HashMap<String, Object>();
-        objs.put("classname", config.toApiName(tag));
+        objs.put("classname", config.getNameCache().toApiName(tag));
         objs.put("pathPrefix", config.toApiVarName(tag));
 
         // check for operationId uniqueness
@@ -1013,7 +1462,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         Set<String> allImports = new LinkedHashSet<String>();
         for (String key : definitions.keySet()) {
             Model mm = definitions.get(key);
+            GenerationTimings.Sample sample = getTimings().start(GenerationTimings.FROM_MODEL);
             CodegenModel cm = config.fromModel(key, mm, allDefinitions);
+            sample.stop(key);
             Map<String, Object> mo = new HashMap<String, Object>();
             mo.put("model", cm);
             mo.put("importPath", config.toModelImport(cm.classname));
@@ -1047,4 +1498,117 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         config.postProcessModels(objs);
         return objs;
     }
+
+    private class TemplateRender implements Callable<File> {
+        private final Map<String, Object> templateData;
+        private final String templateName;
+        private final String outputFilename;
+        private final String description;
+
+        TemplateRender(Map<String, Object> templateData, String templateName, String outputFilename, String description) {
+            this.templateData = templateData;
+            this.templateName = templateName;
+            this.outputFilename = outputFilename;
+            this.description = description;
+        }
+
+        @Override
+        public File call() {
+            try {
+                File written = processTemplateToFile(templateData, templateName, outputFilename);
+                if (written != null && manifest != null) {
+                    manifest.markPrunable(written);
+                }
+                return written;
+            } catch (Exception e) {
+                throw new RuntimeException("Could not generate " + description, e);
+            }
+        }
+    }
+
+    /**
+     * Templates of the models or apis. When rendering serially, each template is rendered as soon as it's
+     * added, before the rest of the templates are processed, so that generators modifying the template
+     * data afterwards see the files they always saw. When rendering in parallel, templates are queued
+     * until all their data is processed.
+     */
+    private class RenderQueue {
+        private final List<File> written = new ArrayList<File>();
+        private final List<TemplateRender> queued = new ArrayList<TemplateRender>();
+
+        void add(TemplateRender render) {
+            if (renderExecutor != null) {
+                queued.add(render);
+                return;
+            }
+            checkInterrupted();
+            File file = render.call();
+            if (file != null) {
+                written.add(file);
+            }
+        }
+
+        /**
+         * @return the written files, in the order the templates were added
+         */
+        List<File> finish() {
+            written.addAll(processTemplates(queued));
+            return written;
+        }
+    }
+
+    /**
+     * Records the time spent writing to and closing a file as a {@link GenerationTimings#WRITE} phase.
+     */
+    private static class TimedOutputStream extends FilterOutputStream {
+        private final GenerationTimings timings;
+        private long nanos;
+
+        TimedOutputStream(OutputStream out, GenerationTimings timings) {
+            super(out);
+            this.timings = timings;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            long start = System.nanoTime();
+            out.write(b);
+            nanos += System.nanoTime() - start;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            out.write(b, off, len);
+            nanos += System.nanoTime() - start;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            long start = System.nanoTime();
+            out.flush();
+            nanos += System.nanoTime() - start;
+        }
+
+        @Override
+        public void close() throws IOException {
+            long start = System.nanoTime();
+            try {
+                out.close();
+            } finally {
+                timings.record(GenerationTimings.WRITE, null, nanos + System.nanoTime() - start, -1);
+            }
+        }
+    }
+
+    private static class RenderThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "swagger-codegen-render-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
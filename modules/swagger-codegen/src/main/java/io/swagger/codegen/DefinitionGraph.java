@@ -0,0 +1,309 @@
+package io.swagger.codegen;
+
+import io.swagger.models.ArrayModel;
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.RefModel;
+import io.swagger.models.Response;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Index of the references between the definitions of a spec, built once per generation run so
+ * that model ordering and selective generation share the same lookups.
+ *
+ * Three kinds of edges are recorded, all by definition name and only towards existing definitions:
+ * <ul>
+ * <li>inheritance: the parent of a composed model, or its first interface if it has no parent</li>
+ * <li>composition: the models a composed model is made of (allOf)</li>
+ * <li>property: {@code $ref}s of properties, array items, map values and additional properties, including nested ones</li>
+ * </ul>
+ *
+ * The graph is a snapshot: it does not follow later changes to the definitions.
+ */
+public class DefinitionGraph {
+    private final Set<String> names;
+    private final Map<String, String> parents = new HashMap<String, String>();
+    private final Map<String, Set<String>> children = new HashMap<String, Set<String>>();
+    private final Map<String, Set<String>> propertyReferences = new HashMap<String, Set<String>>();
+    private final Map<String, Set<String>> references = new HashMap<String, Set<String>>();
+    private final Map<String, Integer> inheritanceDepths = new HashMap<String, Integer>();
+
+    /**
+     * Index the given definitions.
+     *
+     * @param definitions definitions of the spec, may be null
+     */
+    public DefinitionGraph(Map<String, Model> definitions) {
+        if (definitions == null) {
+            definitions = Collections.emptyMap();
+        }
+        this.names = Collections.unmodifiableSet(new TreeSet<String>(definitions.keySet()));
+
+        for (String name : names) {
+            Model model = definitions.get(name);
+            Set<String> composition = new LinkedHashSet<String>();
+            Set<String> properties = new LinkedHashSet<String>();
+            String parent = null;
+
+            if (model instanceof ComposedModel) {
+                ComposedModel composed = (ComposedModel) model;
+                if (composed.getParent() != null) {
+                    parent = refName(composed.getParent());
+                } else if (composed.getInterfaces() != null && !composed.getInterfaces().isEmpty()) {
+                    parent = composed.getInterfaces().get(0).getSimpleRef();
+                }
+                if (composed.getAllOf() != null) {
+                    for (Model part : composed.getAllOf()) {
+                        if (part instanceof RefModel) {
+                            composition.add(((RefModel) part).getSimpleRef());
+                        } else {
+                            collectModelReferences(part, properties);
+                        }
+                    }
+                }
+                if (composed.getInterfaces() != null) {
+                    for (RefModel ref : composed.getInterfaces()) {
+                        composition.add(ref.getSimpleRef());
+                    }
+                }
+                if (composed.getParent() != null) {
+                    composition.add(refName(composed.getParent()));
+                }
+                if (composed.getChild() != null) {
+                    collectModelReferences(composed.getChild(), properties);
+                }
+            } else {
+                collectModelReferences(model, properties);
+            }
+
+            composition.retainAll(names);
+            properties.retainAll(names);
+            propertyReferences.put(name, Collections.unmodifiableSet(properties));
+
+            Set<String> all = new TreeSet<String>(composition);
+            all.addAll(properties);
+            if (parent != null && names.contains(parent)) {
+                parents.put(name, parent);
+                add(children, parent, name);
+                all.add(parent);
+            }
+            references.put(name, Collections.unmodifiableSet(all));
+        }
+
+        for (String name : names) {
+            inheritanceDepths.put(name, computeInheritanceDepth(name));
+        }
+    }
+
+    /**
+     * @return names of all definitions, sorted
+     */
+    public Set<String> getNames() {
+        return names;
+    }
+
+    public boolean contains(String name) {
+        return names.contains(name);
+    }
+
+    /**
+     * @param name definition name
+     * @return the parent the definition inherits from, or null
+     */
+    public String getParent(String name) {
+        return parents.get(name);
+    }
+
+    /**
+     * @param name definition name
+     * @return number of ancestors of the definition, 0 for definitions without a parent
+     */
+    public int getInheritanceDepth(String name) {
+        Integer depth = inheritanceDepths.get(name);
+        return depth == null ? 0 : depth;
+    }
+
+    /**
+     * @param name definition name
+     * @return definitions referenced by the properties of the definition
+     */
+    public Set<String> getPropertyReferences(String name) {
+        return unmodifiable(propertyReferences.get(name));
+    }
+
+    /**
+     * @param name definition name
+     * @return definitions the definition refers to by inheritance, composition or property
+     */
+    public Set<String> getReferences(String name) {
+        return unmodifiable(references.get(name));
+    }
+
+    /**
+     * @param roots definition names to start from
+     * @return the roots that are definitions, and all definitions they refer to, directly or not
+     */
+    public Set<String> getReachable(Collection<String> roots) {
+        return getReachable(roots, false);
+    }
+
+    /**
+     * @param roots definition names to start from
+     * @param includeSubtypes whether to include the definitions inheriting from reachable ones,
+     * which polymorphic payloads may hold, and the definitions they refer to
+     * @return the roots that are definitions, and all definitions they refer to, directly or not
+     */
+    public Set<String> getReachable(Collection<String> roots, boolean includeSubtypes) {
+        Set<String> reachable = new TreeSet<String>();
+        Deque<String> pending = new ArrayDeque<String>();
+        for (String root : roots) {
+            if (names.contains(root) && reachable.add(root)) {
+                pending.push(root);
+            }
+        }
+        while (!pending.isEmpty()) {
+            String name = pending.pop();
+            for (String referenced : references.get(name)) {
+                if (reachable.add(referenced)) {
+                    pending.push(referenced);
+                }
+            }
+            if (includeSubtypes) {
+                for (String child : unmodifiable(children.get(name))) {
+                    if (reachable.add(child)) {
+                        pending.push(child);
+                    }
+                }
+            }
+        }
+        return reachable;
+    }
+
+    /**
+     * @param operation an operation of the spec
+     * @param pathParameters parameters shared by all operations of the path, may be null
+     * @return definitions referenced by the body parameter and the responses of the operation
+     */
+    public Set<String> getOperationReferences(Operation operation, List<Parameter> pathParameters) {
+        Set<String> refs = new TreeSet<String>();
+        collectParameterReferences(pathParameters, refs);
+        collectParameterReferences(operation.getParameters(), refs);
+        if (operation.getResponses() != null) {
+            for (Response response : operation.getResponses().values()) {
+                if (response != null) {
+                    collectPropertyReferences(response.getSchema(), refs);
+                }
+            }
+        }
+        refs.retainAll(names);
+        return refs;
+    }
+
+    /**
+     * @param from definition name
+     * @param to definition name
+     * @return whether {@code to} is {@code from} or is referred to by it, directly or not
+     */
+    public boolean isReachable(String from, String to) {
+        return names.contains(to) && getReachable(Collections.singleton(from)).contains(to);
+    }
+
+    private int computeInheritanceDepth(String name) {
+        int depth = 0;
+        Set<String> seen = new HashSet<String>();
+        seen.add(name);
+        String parent = parents.get(name);
+        // stop at cycles, which are invalid but must not hang the generator
+        while (parent != null && seen.add(parent)) {
+            depth++;
+            parent = parents.get(parent);
+        }
+        return depth;
+    }
+
+    private static void collectParameterReferences(List<Parameter> parameters, Set<String> refs) {
+        if (parameters == null) {
+            return;
+        }
+        for (Parameter parameter : parameters) {
+            if (parameter instanceof BodyParameter) {
+                collectModelReferences(((BodyParameter) parameter).getSchema(), refs);
+            }
+        }
+    }
+
+    private static void collectModelReferences(Model model, Set<String> refs) {
+        if (model instanceof RefModel) {
+            refs.add(((RefModel) model).getSimpleRef());
+        } else if (model instanceof ArrayModel) {
+            collectPropertyReferences(((ArrayModel) model).getItems(), refs);
+        } else if (model instanceof ComposedModel) {
+            ComposedModel composed = (ComposedModel) model;
+            if (composed.getAllOf() != null) {
+                for (Model part : composed.getAllOf()) {
+                    collectModelReferences(part, refs);
+                }
+            }
+        } else if (model != null) {
+            if (model.getProperties() != null) {
+                for (Property property : model.getProperties().values()) {
+                    collectPropertyReferences(property, refs);
+                }
+            }
+            if (model instanceof ModelImpl) {
+                collectPropertyReferences(((ModelImpl) model).getAdditionalProperties(), refs);
+            }
+        }
+    }
+
+    private static void collectPropertyReferences(Property property, Set<String> refs) {
+        if (property instanceof RefProperty) {
+            refs.add(((RefProperty) property).getSimpleRef());
+        } else if (property instanceof ArrayProperty) {
+            collectPropertyReferences(((ArrayProperty) property).getItems(), refs);
+        } else if (property instanceof MapProperty) {
+            collectPropertyReferences(((MapProperty) property).getAdditionalProperties(), refs);
+        } else if (property instanceof ObjectProperty && ((ObjectProperty) property).getProperties() != null) {
+            for (Property inner : ((ObjectProperty) property).getProperties().values()) {
+                collectPropertyReferences(inner, refs);
+            }
+        }
+    }
+
+    private static String refName(Model model) {
+        return model instanceof RefModel ? ((RefModel) model).getSimpleRef() : null;
+    }
+
+    private static void add(Map<String, Set<String>> index, String key, String value) {
+        Set<String> values = index.get(key);
+        if (values == null) {
+            values = new TreeSet<String>();
+            index.put(key, values);
+        }
+        values.add(value);
+    }
+
+    private static Set<String> unmodifiable(Set<String> set) {
+        return set == null ? Collections.<String>emptySet() : Collections.unmodifiableSet(set);
+    }
+}
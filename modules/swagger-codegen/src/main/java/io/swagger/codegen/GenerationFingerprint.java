@@ -0,0 +1,275 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.swagger.codegen.utils.ImplementationVersion;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hash of the inputs of a generation run, stored in .swagger-codegen/FINGERPRINT of the output folder,
+ * so that a build can skip the run when none of its inputs changed since the previous one.
+ *
+ * The inputs are the codegen version, the settings of the run, the class path, which may hold custom
+ * generators, the spec and the local files it references, and files such as custom templates. When an
+ * input can't be hashed, e.g. a spec referencing remote documents, the fingerprint is unknown and the run
+ * is never up to date.
+ *
+ * The settings and the class path are also hashed on their own, and the input files listed, so that a
+ * build told which files changed, e.g. by an IDE, only compares the settings and checks the listed files.
+ */
+public class GenerationFingerprint {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationFingerprint.class);
+
+    public static final String FINGERPRINT_FILE = ".swagger-codegen" + File.separator + "FINGERPRINT";
+
+    // map entries in a stable order, so that equal settings always hash the same
+    private static final ObjectMapper SETTINGS_MAPPER = Json.mapper().copy()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private final Hasher hasher = Hashing.sha256().newHasher();
+    private final Hasher settingsHasher = Hashing.sha256().newHasher();
+    private final List<File> files = new ArrayList<File>();
+    private boolean known = true;
+    private String value;
+    private String settingsValue;
+
+    public GenerationFingerprint() {
+        putString("version", ImplementationVersion.read());
+    }
+
+    /**
+     * @param name name of the input
+     * @param value value of the input, or null
+     * @return this fingerprint
+     */
+    public GenerationFingerprint putString(String name, String value) {
+        putSetting(name);
+        putSetting(String.valueOf(value));
+        return this;
+    }
+
+    /**
+     * @param name name of the input
+     * @param settings settings hashed as their JSON, e.g. a {@link io.swagger.codegen.config.CodegenConfigurator}
+     * @return this fingerprint
+     */
+    public GenerationFingerprint putSettings(String name, Object settings) {
+        try {
+            return putString(name, SETTINGS_MAPPER.writeValueAsString(settings));
+        } catch (IOException e) {
+            LOGGER.debug("Can't hash the settings " + name + ": " + e.getMessage());
+            known = false;
+            return this;
+        }
+    }
+
+    /**
+     * @param name name of the input
+     * @param file file, or directory whose files are all hashed, or null
+     * @return this fingerprint
+     */
+    public GenerationFingerprint putFile(String name, File file) {
+        put(name);
+        if (file != null) {
+            files.add(file.getAbsoluteFile());
+        }
+        if (file == null || !file.exists()) {
+            put("missing");
+            return this;
+        }
+        List<File> files = new ArrayList<File>();
+        if (file.isDirectory()) {
+            files.addAll(FileUtils.listFiles(file, null, true));
+            Collections.sort(files);
+        } else {
+            files.add(file);
+        }
+        try {
+            for (File f : files) {
+                put(file.toURI().relativize(f.toURI()).getPath());
+                byte[] content = FileUtils.readFileToByteArray(f);
+                hasher.putInt(content.length).putBytes(content);
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Can't hash " + file + ": " + e.getMessage());
+            known = false;
+        }
+        return this;
+    }
+
+    /**
+     * Hash the location, size and modification time of the entries of a class path, rather than their
+     * content, e.g. the jars of generators and templates, which are rebuilt in place when snapshots.
+     *
+     * @param name name of the input
+     * @param classpath jars or class folders
+     * @return this fingerprint
+     */
+    public GenerationFingerprint putClasspath(String name, Collection<File> classpath) {
+        putSetting(name);
+        for (File file : classpath) {
+            putSetting(file.getAbsolutePath());
+            if (file.isDirectory()) {
+                List<File> files = new ArrayList<File>(FileUtils.listFiles(file, null, true));
+                Collections.sort(files);
+                for (File f : files) {
+                    putSetting(file.toURI().relativize(f.toURI()).getPath());
+                    putSetting(f.length(), f.lastModified());
+                }
+            } else {
+                putSetting(file.length(), file.lastModified());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @param location file path or URL of the spec
+     * @param auths authorization values used to read remote documents, or null
+     * @return this fingerprint
+     * @see SpecCache#key(String, List, boolean)
+     */
+    public GenerationFingerprint putSpec(String location, List<AuthorizationValue> auths) {
+        Set<File> specFiles = new LinkedHashSet<File>();
+        String key = location != null ? SpecCache.key(location, auths, true, specFiles) : null;
+        if (key == null) {
+            known = false;
+        }
+        files.addAll(specFiles);
+        put("spec");
+        put(String.valueOf(key));
+        return this;
+    }
+
+    /**
+     * @return the fingerprint, or null if an input couldn't be hashed. No input can be added afterwards.
+     */
+    public String getValue() {
+        if (known && value == null) {
+            value = hasher.hash().toString();
+        }
+        return known ? value : null;
+    }
+
+    /**
+     * @return the hash of the settings and the class path only. No setting can be added afterwards.
+     */
+    public String getSettingsValue() {
+        if (settingsValue == null) {
+            settingsValue = settingsHasher.hash().toString();
+        }
+        return settingsValue;
+    }
+
+    /**
+     * @return the spec files and the other files hashed so far
+     */
+    public List<File> getFiles() {
+        return Collections.unmodifiableList(files);
+    }
+
+    /**
+     * @param outputDir output folder of the run
+     * @return true if the fingerprint is known and stored in the output folder by the previous run
+     */
+    public boolean isUpToDate(File outputDir) {
+        final String value = getValue();
+        final List<String> saved = read(outputDir);
+        return value != null && saved.size() > 0 && value.equals(saved.get(0));
+    }
+
+    /**
+     * Compare the settings and class path only, for builds which check the input files themselves.
+     *
+     * @param outputDir output folder of the run
+     * @return the input files of the previous run, if it was run with the same settings, or null
+     */
+    public List<File> getUnchangedSettingsFiles(File outputDir) {
+        final List<String> saved = read(outputDir);
+        if (saved.size() < 2 || !getSettingsValue().equals(saved.get(1))) {
+            return null;
+        }
+        final List<File> savedFiles = new ArrayList<File>();
+        for (String path : saved.subList(2, saved.size())) {
+            savedFiles.add(new File(path));
+        }
+        return savedFiles;
+    }
+
+    /**
+     * Store the fingerprint in the output folder, or remove the previous one if it is unknown.
+     *
+     * @param outputDir output folder of the run
+     * @throws IOException if the fingerprint can't be written
+     */
+    public void save(File outputDir) throws IOException {
+        final String value = getValue();
+        final File file = new File(outputDir, FINGERPRINT_FILE);
+        if (value == null) {
+            Files.deleteIfExists(file.toPath());
+            return;
+        }
+        // the fingerprint, the hash of the settings, then the input files
+        final StringBuilder content = new StringBuilder(value).append('\n').append(getSettingsValue()).append('\n');
+        for (File input : files) {
+            content.append(input.getPath()).append('\n');
+        }
+        FileUtils.forceMkdir(file.getParentFile());
+        File temp = File.createTempFile("FINGERPRINT", ".tmp", file.getParentFile());
+        FileUtils.writeStringToFile(temp, content.toString(), StandardCharsets.UTF_8);
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public String toString() {
+        return "GenerationFingerprint{" + (known ? value : "unknown") + "}";
+    }
+
+    private List<String> read(File outputDir) {
+        final File file = new File(outputDir, FINGERPRINT_FILE);
+        if (!file.isFile()) {
+            return Collections.emptyList();
+        }
+        try {
+            return FileUtils.readLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.debug("Can't read " + file + ": " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private void put(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        hasher.putInt(bytes.length).putBytes(bytes);
+    }
+
+    // settings go to both hashes
+    private void putSetting(String s) {
+        put(s);
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        settingsHasher.putInt(bytes.length).putBytes(bytes);
+    }
+
+    private void putSetting(long length, long lastModified) {
+        hasher.putLong(length).putLong(lastModified);
+        settingsHasher.putLong(length).putLong(lastModified);
+    }
+}
@@ -0,0 +1,317 @@
+package io.swagger.codegen;
+
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Content hashes of the files produced by a generation run, stored in .swagger-codegen/MANIFEST
+ * of the output folder.
+ *
+ * In incremental mode, files whose rendered contents match what is already on disk are not
+ * rewritten, so their modification time is preserved. Files derived from the spec (models, apis
+ * and their tests and docs) which were recorded by the previous run, but are no longer produced
+ * by the current run, can be removed with {@link #pruneStaleFiles()}. Supporting files are never
+ * removed, as generators may skip them when they already exist.
+ */
+public class GenerationManifest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationManifest.class);
+
+    public static final String MANIFEST_FILE = ".swagger-codegen" + File.separator + "MANIFEST";
+
+    private final File outputDir;
+    private final File manifestFile;
+    private final Map<String, Entry> previous = new TreeMap<String, Entry>();
+    // modification time of the manifest of the previous run, when it was saved
+    private long savedAt;
+    private final ConcurrentMap<String, Entry> current = new ConcurrentHashMap<String, Entry>();
+
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger unchanged = new AtomicInteger();
+    private final AtomicInteger deleted = new AtomicInteger();
+
+    /**
+     * Loads the manifest of the previous run, if any, from the output folder.
+     *
+     * @param outputDir The output folder of the generator
+     */
+    public GenerationManifest(String outputDir) {
+        this.outputDir = new File(outputDir).getAbsoluteFile();
+        this.manifestFile = new File(this.outputDir, MANIFEST_FILE);
+        if (manifestFile.isFile()) {
+            try {
+                load();
+            } catch (IOException e) {
+                LOGGER.warn("Could not read " + manifestFile + ", all files will be written: " + e.getMessage());
+                previous.clear();
+            }
+        }
+    }
+
+    /**
+     * Write the contents to the file unless the file already holds exactly these contents.
+     *
+     * @param file The file to write
+     * @param contents The contents of the file
+     * @return {@code true} if the file was written, {@code false} if it was unchanged
+     * @throws IOException if the file cannot be read or written
+     */
+    public boolean write(File file, byte[] contents) throws IOException {
+        final String path = relativize(file);
+        final String hash = hash(contents);
+
+        if (hash.equals(hashOnDisk(path, file))) {
+            current.put(path, new Entry(hash, file.length(), file.lastModified(), false));
+            unchanged.incrementAndGet();
+            LOGGER.info("unchanged file " + file);
+            return false;
+        }
+
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        FileUtils.writeByteArrayToFile(file, contents);
+        current.put(path, new Entry(hash, file.length(), file.lastModified(), false));
+        written.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Write contents produced by a {@link Contents} to the file, unless the file already holds
+     * exactly these contents. The contents are streamed to a temporary file next to the target,
+     * which replaces the target only when it differs.
+     *
+     * @param file The file to write
+     * @param contents Producer of the contents of the file
+     * @return {@code true} if the file was written, {@code false} if it was unchanged
+     * @throws IOException if the file cannot be read or written
+     */
+    public boolean write(File file, Contents contents) throws IOException {
+        final String path = relativize(file);
+        final File directory = file.getAbsoluteFile().getParentFile();
+        directory.mkdirs();
+
+        File temp = File.createTempFile("." + file.getName(), ".tmp", directory);
+        try {
+            HashingOutputStream out = new HashingOutputStream(Hashing.sha256(), new BufferedOutputStream(new FileOutputStream(temp)));
+            try {
+                contents.writeTo(out);
+            } finally {
+                out.close();
+            }
+            final String hash = out.hash().toString();
+
+            if (hash.equals(hashOnDisk(path, file))) {
+                current.put(path, new Entry(hash, file.length(), file.lastModified(), false));
+                unchanged.incrementAndGet();
+                LOGGER.info("unchanged file " + file);
+                return false;
+            }
+
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            current.put(path, new Entry(hash, file.length(), file.lastModified(), false));
+            written.incrementAndGet();
+            return true;
+        } finally {
+            if (temp.exists() && !temp.delete()) {
+                LOGGER.warn("Could not delete temporary file " + temp);
+            }
+        }
+    }
+
+    /**
+     * Mark a file recorded by the current run as derived from the spec, so that it is removed
+     * by a later run which no longer produces it.
+     *
+     * @param file The file written or retained by the current run
+     */
+    public void markPrunable(File file) {
+        final String path = relativize(file);
+        Entry entry = current.get(path);
+        if (entry != null && !entry.prunable) {
+            current.put(path, new Entry(entry.hash, entry.length, entry.lastModified, true));
+        }
+    }
+
+    /**
+     * Keep the record of a file the current run produces but does not write, e.g. because it
+     * must not be overwritten, so it is not considered stale.
+     *
+     * @param file The file to keep
+     */
+    public void retain(File file) {
+        final String path = relativize(file);
+        Entry entry = previous.get(path);
+        if (entry != null && !current.containsKey(path)) {
+            current.put(path, entry);
+        }
+    }
+
+    /**
+     * Delete the files recorded by the previous run that were neither written nor retained by
+     * the current run. Files modified since they were generated are left alone.
+     *
+     * @return The deleted files
+     */
+    public List<File> pruneStaleFiles() {
+        List<File> removed = new ArrayList<File>();
+        for (Map.Entry<String, Entry> stale : previous.entrySet()) {
+            final String path = stale.getKey();
+            if (current.containsKey(path) || !stale.getValue().prunable) {
+                continue;
+            }
+            File file = new File(outputDir, path);
+            if (!file.isFile()) {
+                continue;
+            }
+            String onDisk;
+            try {
+                onDisk = hashOnDisk(path, file);
+            } catch (IOException e) {
+                LOGGER.warn("Could not read stale file " + file + ": " + e.getMessage());
+                continue;
+            }
+            if (!stale.getValue().hash.equals(onDisk)) {
+                LOGGER.info("Keeping stale file " + file + " as it was modified after generation");
+                continue;
+            }
+            if (file.delete()) {
+                LOGGER.info("deleted stale file " + file);
+                deleted.incrementAndGet();
+                removed.add(file);
+                deleteEmptyParents(file.getParentFile());
+            } else {
+                LOGGER.warn("Could not delete stale file " + file);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Store the files recorded by the current run.
+     *
+     * @throws IOException if the manifest cannot be written
+     */
+    public void save() throws IOException {
+        manifestFile.getParentFile().mkdirs();
+        Map<String, Entry> sorted = new TreeMap<String, Entry>(current);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(manifestFile), "UTF-8"))) {
+            for (Map.Entry<String, Entry> entry : sorted.entrySet()) {
+                Entry value = entry.getValue();
+                out.write(value.hash + "\t" + value.length + "\t" + value.lastModified + "\t" + (value.prunable ? "1" : "0") + "\t" + entry.getKey() + "\n");
+            }
+        }
+    }
+
+    public int getWrittenCount() {
+        return written.get();
+    }
+
+    public int getUnchangedCount() {
+        return unchanged.get();
+    }
+
+    public int getDeletedCount() {
+        return deleted.get();
+    }
+
+    public File getManifestFile() {
+        return manifestFile;
+    }
+
+    @Override
+    public String toString() {
+        return written + " written, " + unchanged + " unchanged, " + deleted + " deleted";
+    }
+
+    private void load() throws IOException {
+        savedAt = manifestFile.lastModified();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(manifestFile), "UTF-8"))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\t", 5);
+                if (parts.length != 5) {
+                    continue;
+                }
+                previous.put(parts[4], new Entry(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2]), "1".equals(parts[3])));
+            }
+        }
+    }
+
+    private String hashOnDisk(String path, File file) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        // like git's index, trust the recorded hash as long as size and modification time match,
+        // unless the file was modified no earlier than the manifest was saved: it may have been
+        // changed again within the same tick of the clock after it was recorded
+        Entry entry = previous.get(path);
+        if (entry != null && entry.length == file.length() && entry.lastModified == file.lastModified()
+                && entry.lastModified < savedAt) {
+            return entry.hash;
+        }
+        return hash(FileUtils.readFileToByteArray(file));
+    }
+
+    private void deleteEmptyParents(File directory) {
+        while (directory != null && !directory.equals(outputDir)) {
+            String[] children = directory.list();
+            if (children == null || children.length > 0 || !directory.delete()) {
+                return;
+            }
+            directory = directory.getParentFile();
+        }
+    }
+
+    private String relativize(File file) {
+        return outputDir.toURI().relativize(file.getAbsoluteFile().toURI()).getPath();
+    }
+
+    private static String hash(byte[] contents) {
+        return Hashing.sha256().hashBytes(contents).toString();
+    }
+
+    /**
+     * Produces the contents of a file.
+     */
+    public interface Contents {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private static class Entry {
+        private final String hash;
+        private final long length;
+        private final long lastModified;
+        private final boolean prunable;
+
+        Entry(String hash, long length, long lastModified, boolean prunable) {
+            this.hash = hash;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.prunable = prunable;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package io.swagger.codegen;
+
+import io.swagger.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts, wall time and allocated bytes of the phases of a generation run, e.g. the conversion of each
+ * model or the rendering of each template, to find the models, operations and templates a run spends
+ * its time on. Enabled with the {@code timings} generator property, the path of the JSON report
+ * {@link DefaultGenerator} writes at the end of the run.
+ *
+ * Phases nest: the time and allocations of {@link #PROCESS_MODELS} include those of {@link #FROM_MODEL}.
+ * Templates are rendered straight into their files, so {@link #RENDER} includes the time spent in
+ * {@link #WRITE}. Allocated bytes are those of the thread running the phase, and are only reported by
+ * JVMs supporting {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes}.
+ */
+public class GenerationTimings {
+    public static final String GENERATE = "generate";
+    public static final String CONFIGURE = "configureGeneratorProperties";
+    public static final String FLATTEN = "flatten";
+    public static final String PROCESS_MODELS = "processModels";
+    public static final String FROM_MODEL = "fromModel";
+    public static final String POST_PROCESS_ALL_MODELS = "postProcessAllModels";
+    public static final String PROCESS_PATHS = "processPaths";
+    public static final String FROM_OPERATION = "fromOperation";
+    public static final String PROCESS_OPERATIONS = "processOperations";
+    public static final String SUPPORTING_FILES = "supportingFiles";
+    public static final String RENDER = "render";
+    public static final String WRITE = "write";
+    public static final String IGNORE_CHECK = "ignoreCheck";
+
+    /**
+     * Timings which record nothing, and cost nothing.
+     */
+    public static final GenerationTimings NONE = new GenerationTimings(false);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationTimings.class);
+    private static final Sample NO_SAMPLE = new Sample(null, null, 0, 0);
+    private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+
+    private final boolean enabled;
+    private final Map<String, Stat> phases = new LinkedHashMap<String, Stat>();
+    private final Map<String, Object> attributes = new LinkedHashMap<String, Object>();
+
+    public GenerationTimings() {
+        this(true);
+    }
+
+    private GenerationTimings(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return whether the allocated bytes of the phases are measured
+     */
+    public static boolean isAllocationSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Start measuring a phase on the current thread.
+     *
+     * @param phase name of the phase
+     * @return the sample to stop at the end of the phase
+     */
+    public Sample start(String phase) {
+        if (!enabled) {
+            return NO_SAMPLE;
+        }
+        return new Sample(this, phase, System.nanoTime(), allocatedBytes());
+    }
+
+    /**
+     * Record a phase measured by the caller.
+     *
+     * @param phase name of the phase
+     * @param item model, operation, template... of the phase, or null
+     * @param nanos wall time of the phase
+     * @param allocatedBytes allocated bytes of the phase, or a negative value if unknown
+     */
+    public synchronized void record(String phase, String item, long nanos, long allocatedBytes) {
+        if (!enabled) {
+            return;
+        }
+        Stat stat = phases.get(phase);
+        if (stat == null) {
+            stat = new Stat();
+            phases.put(phase, stat);
+        }
+        stat.add(nanos, allocatedBytes);
+        if (item != null) {
+            if (stat.items == null) {
+                stat.items = new LinkedHashMap<String, Stat>();
+            }
+            Stat itemStat = stat.items.get(item);
+            if (itemStat == null) {
+                itemStat = new Stat();
+                stat.items.put(item, itemStat);
+            }
+            itemStat.add(nanos, allocatedBytes);
+        }
+    }
+
+    /**
+     * Add a value to the report, e.g. the name of the generator.
+     */
+    public synchronized void setAttribute(String name, Object value) {
+        attributes.put(name, value);
+    }
+
+    /**
+     * @param phase name of a phase
+     * @return number of times the phase was recorded
+     */
+    public synchronized long getCount(String phase) {
+        Stat stat = phases.get(phase);
+        return stat != null ? stat.count : 0;
+    }
+
+    /**
+     * @param phase name of a phase
+     * @return wall time of the phase, in nanoseconds
+     */
+    public synchronized long getNanos(String phase) {
+        Stat stat = phases.get(phase);
+        return stat != null ? stat.nanos : 0;
+    }
+
+    /**
+     * @param phase name of a phase
+     * @return items recorded for the phase, the slowest first
+     */
+    public synchronized List<String> getItems(String phase) {
+        Stat stat = phases.get(phase);
+        if (stat == null || stat.items == null) {
+            return Collections.emptyList();
+        }
+        List<String> items = new ArrayList<String>();
+        for (Map.Entry<String, Stat> entry : sortedBySlowest(stat.items)) {
+            items.add(entry.getKey());
+        }
+        return items;
+    }
+
+    /**
+     * @return the report: attributes, then phases in the order they were first recorded, each with its
+     * items, the slowest first
+     */
+    public synchronized Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<String, Object>(attributes);
+        report.put("allocationSupported", isAllocationSupported());
+        List<Object> phaseReports = new ArrayList<Object>();
+        for (Map.Entry<String, Stat> phase : phases.entrySet()) {
+            Map<String, Object> phaseReport = phase.getValue().toReport(phase.getKey());
+            if (phase.getValue().items != null) {
+                List<Object> itemReports = new ArrayList<Object>();
+                for (Map.Entry<String, Stat> item : sortedBySlowest(phase.getValue().items)) {
+                    itemReports.add(item.getValue().toReport(item.getKey()));
+                }
+                phaseReport.put("items", itemReports);
+            }
+            phaseReports.add(phaseReport);
+        }
+        report.put("phases", phaseReports);
+        return report;
+    }
+
+    /**
+     * Write the report as JSON.
+     *
+     * @param file report file
+     * @throws IOException if the file cannot be written
+     */
+    public void writeReport(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Can't create " + parent);
+        }
+        Json.mapper().writerWithDefaultPrettyPrinter().writeValue(file, toReport());
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder("GenerationTimings{");
+        boolean first = true;
+        for (Map.Entry<String, Stat> phase : phases.entrySet()) {
+            if (!first) {
+                builder.append(", ");
+            }
+            first = false;
+            builder.append(phase.getKey()).append('=').append(phase.getValue().nanos / 1000000).append("ms");
+        }
+        return builder.append('}').toString();
+    }
+
+    private static List<Map.Entry<String, Stat>> sortedBySlowest(Map<String, Stat> stats) {
+        List<Map.Entry<String, Stat>> entries = new ArrayList<Map.Entry<String, Stat>>(stats.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<String, Stat>>() {
+            @Override
+            public int compare(Map.Entry<String, Stat> one, Map.Entry<String, Stat> another) {
+                return Long.compare(another.getValue().nanos, one.getValue().nanos);
+            }
+        });
+        return entries;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        try {
+            java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean hotspotThreads = (com.sun.management.ThreadMXBean) threads;
+                if (hotspotThreads.isThreadAllocatedMemorySupported() && hotspotThreads.isThreadAllocatedMemoryEnabled()) {
+                    return hotspotThreads;
+                }
+            }
+        } catch (LinkageError e) {
+            LOGGER.debug("Allocated bytes are not measured on this JVM", e);
+        }
+        return null;
+    }
+
+    /**
+     * A phase being measured.
+     */
+    public static class Sample {
+        private final GenerationTimings timings;
+        private final String phase;
+        private final long startNanos;
+        private final long startBytes;
+
+        private Sample(GenerationTimings timings, String phase, long startNanos, long startBytes) {
+            this.timings = timings;
+            this.phase = phase;
+            this.startNanos = startNanos;
+            this.startBytes = startBytes;
+        }
+
+        public void stop() {
+            stop(null);
+        }
+
+        /**
+         * @param item model, operation, template... of the phase, or null
+         */
+        public void stop(String item) {
+            if (timings == null) {
+                return;
+            }
+            long nanos = System.nanoTime() - startNanos;
+            long bytes = startBytes >= 0 ? allocatedBytes() - startBytes : -1;
+            timings.record(phase, item, nanos, bytes);
+        }
+    }
+
+    private static class Stat {
+        long count;
+        long nanos;
+        long maxNanos;
+        long allocatedBytes;
+        Map<String, Stat> items;
+
+        void add(long nanos, long allocatedBytes) {
+            count++;
+            this.nanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            if (allocatedBytes > 0) {
+                this.allocatedBytes += allocatedBytes;
+            }
+        }
+
+        Map<String, Object> toReport(String name) {
+            Map<String, Object> report = new LinkedHashMap<String, Object>();
+            report.put("name", name);
+            report.put("count", count);
+            report.put("nanos", nanos);
+            report.put("maxNanos", maxNanos);
+            if (isAllocationSupported()) {
+                report.put("allocatedBytes", allocatedBytes);
+            }
+            return report;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.swagger.codegen;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of a single generation run, such as {@code models}, {@code apis} or {@code debugModels},
+ * historically passed as JVM system properties.
+ *
+ * Each run carries its own instance on its {@link ClientOptInput} and {@link CodegenConfig}, so
+ * generations running concurrently in the same JVM, e.g. in the online generator or a parallel
+ * Maven build, do not see each other's settings. A setting which is not set on the run falls back
+ * to the system property of the same name, unless the fallback is disabled. A setting set to
+ * {@code null} is explicitly unset: it hides the system property.
+ */
+public class GeneratorProperties {
+    private final Map<String, String> properties = Collections.synchronizedMap(new LinkedHashMap<String, String>());
+    private final boolean systemPropertiesFallback;
+
+    /**
+     * Create empty settings which fall back to the system properties.
+     */
+    public GeneratorProperties() {
+        this(true);
+    }
+
+    /**
+     * @param systemPropertiesFallback whether settings which are not set fall back to the system properties
+     */
+    public GeneratorProperties(boolean systemPropertiesFallback) {
+        this.systemPropertiesFallback = systemPropertiesFallback;
+    }
+
+    /**
+     * @param properties initial settings, copied
+     */
+    public GeneratorProperties(Map<String, String> properties) {
+        this(true);
+        if (properties != null) {
+            this.properties.putAll(properties);
+        }
+    }
+
+    /**
+     * @return empty settings which ignore the system properties
+     */
+    public static GeneratorProperties isolated() {
+        return new GeneratorProperties(false);
+    }
+
+    /**
+     * @param key name of the setting
+     * @return value of the setting for this run, else of the system property, or null when not set
+     */
+    public String get(String key) {
+        synchronized (properties) {
+            if (properties.containsKey(key)) {
+                return properties.get(key);
+            }
+        }
+        return systemPropertiesFallback ? System.getProperty(key) : null;
+    }
+
+    /**
+     * @param key name of the setting
+     * @param defaultValue value when the setting is not set
+     * @return value of the setting, or the default value
+     */
+    public String get(String key, String defaultValue) {
+        String value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * @param key name of the setting
+     * @return whether the setting is set, on the run or as system property
+     */
+    public boolean isSet(String key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Set a setting for this run. Flags such as {@code debugModels} are set with an empty value.
+     *
+     * @param key name of the setting
+     * @param value value of the setting, or null to unset it, ignoring the system property
+     * @return these settings
+     */
+    public GeneratorProperties set(String key, String value) {
+        properties.put(key, value);
+        return this;
+    }
+
+    /**
+     * @param properties settings to set for this run
+     * @return these settings
+     */
+    public GeneratorProperties setAll(Map<String, String> properties) {
+        if (properties != null) {
+            this.properties.putAll(properties);
+        }
+        return this;
+    }
+
+    /**
+     * Forget a setting of this run, so it falls back to the system property again.
+     *
+     * @param key name of the setting
+     * @return these settings
+     */
+    public GeneratorProperties reset(String key) {
+        properties.remove(key);
+        return this;
+    }
+
+    public boolean isSystemPropertiesFallback() {
+        return systemPropertiesFallback;
+    }
+
+    /**
+     * @return the settings of this run, without the system properties
+     */
+    public Map<String, String> asMap() {
+        synchronized (properties) {
+            return Collections.unmodifiableMap(new LinkedHashMap<String, String>(properties));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GeneratorProperties" + asMap();
+    }
+}
@@ -1,5 +1,9 @@
 package io.swagger.codegen;
 
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import com.google.common.io.ByteStreams;
 import io.swagger.models.*;
 import io.swagger.models.parameters.BodyParameter;
 import io.swagger.models.parameters.Parameter;
@@ -8,6 +12,7 @@ import io.swagger.util.Json;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -19,7 +24,7 @@ public class InlineModelResolver {
     static Logger LOGGER = LoggerFactory.getLogger(InlineModelResolver.class);
 
     Map<String, Model> addedModels = new HashMap<String, Model>();
-    Map<String, String> generatedSignature = new HashMap<String, String>();
+    Map<HashCode, String> generatedSignature = new HashMap<HashCode, String>();
 
     public void flatten(Swagger swagger) {
         this.swagger = swagger;
@@ -238,15 +243,35 @@ public class InlineModelResolver {
         if (this.skipMatches) {
             return null;
         }
-        String json = Json.pretty(model);
-        if (generatedSignature.containsKey(json)) {
-            return generatedSignature.get(json);
-        }
-        return null;
+        return generatedSignature.get(fingerprint(model));
     }
 
     public void addGenerated(String name, Model model) {
-        generatedSignature.put(Json.pretty(model), name);
+        generatedSignature.put(fingerprint(model), name);
+    }
+
+    /**
+     * Fingerprint of a model: the SHA-256 hash of its JSON serialization, streamed to the hash
+     * function instead of being built as a string. Models have the same fingerprint when they
+     * serialize to the same JSON.
+     *
+     * This saves building and keeping the JSON of every model, not the serialization itself. Hashing
+     * a walk over the model tree instead is not faster: both are dominated by the reflective calls
+     * to the getters of the models, and the walk would have to follow Jackson's rules to match
+     * the same models.
+     *
+     * @param model the model
+     * @return the fingerprint, or null if the model cannot be serialized
+     */
+    static HashCode fingerprint(Model model) {
+        HashingOutputStream out = new HashingOutputStream(Hashing.sha256(), ByteStreams.nullOutputStream());
+        try {
+            Json.mapper().writeValue(out, model);
+        } catch (IOException e) {
+            LOGGER.warn("Could not serialize model " + model + ": " + e.getMessage());
+            return null;
+        }
+        return out.hash();
     }
 
     public String uniqueName(String key) {
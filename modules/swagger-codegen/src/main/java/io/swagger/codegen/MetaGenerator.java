@@ -18,7 +18,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.ServiceLoader;
 
 /**
  * @deprecated use instead {@link io.swagger.codegen.DefaultGenerator}
@@ -37,12 +36,7 @@ public class MetaGenerator extends AbstractGenerator {
     }
 
     public static List<CodegenConfig> getExtensions() {
-        ServiceLoader<CodegenConfig> loader = ServiceLoader.load(CodegenConfig.class);
-        List<CodegenConfig> output = new ArrayList<CodegenConfig>();
-        for (CodegenConfig config : loader) {
-            output.add(config);
-        }
-        return output;
+        return CodegenConfigRegistry.getInstance().newInstances();
     }
 
     static void usage(Options options) {
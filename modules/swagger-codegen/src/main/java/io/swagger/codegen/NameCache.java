@@ -0,0 +1,194 @@
+package io.swagger.codegen;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded memoization of the name conversions of a {@link DefaultCodegen}.
+ *
+ * Model, variable, parameter and API names are computed for the same inputs many times during a
+ * generation run, e.g. when sorting models or resolving imports. The conversions are pure for a
+ * configured generator, so their results can be kept per config instance. Generators opt in with
+ * {@link DefaultCodegen#setNameCache(NameCache)}; a disabled cache calls the generator every time.
+ *
+ * The cache is cleared when the generator is configured for a run, as conversions may depend on
+ * the options processed by {@link CodegenConfig#processOpts()}, which also modify the import mappings
+ * and reserved words directly. The setters of the options the conversions depend on, e.g. the model
+ * name prefix and suffix, clear it too; code changing the import mappings or reserved words of a
+ * configured generator must call {@link #clear()}. A result converted while the cache was cleared
+ * isn't kept.
+ */
+public class NameCache {
+    public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    /**
+     * The memoized conversions, each with its own cache and statistics.
+     */
+    public enum Conversion {
+        MODEL_NAME, VAR_NAME, PARAM_NAME, API_NAME, SANITIZE_TAG
+    }
+
+    private final DefaultCodegen codegen;
+    private final Map<Conversion, Cache<String, String>> caches;
+    // bumped by each clear, so that results converted with the previous settings aren't kept
+    private final AtomicInteger modifications = new AtomicInteger();
+
+    /**
+     * Create a cache which keeps up to {@code maximumSize} results per conversion.
+     *
+     * @param codegen Generator the names are converted by
+     * @param maximumSize maximum number of results kept per conversion, 0 to disable the cache
+     */
+    public NameCache(DefaultCodegen codegen, int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must not be negative: " + maximumSize);
+        }
+        this.codegen = codegen;
+        if (maximumSize == 0) {
+            this.caches = null;
+        } else {
+            this.caches = new EnumMap<Conversion, Cache<String, String>>(Conversion.class);
+            for (Conversion conversion : Conversion.values()) {
+                caches.put(conversion, CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().<String, String>build());
+            }
+        }
+    }
+
+    /**
+     * @param codegen Generator the names are converted by
+     * @return a cache that does not keep any result
+     */
+    public static NameCache disabled(DefaultCodegen codegen) {
+        return new NameCache(codegen, 0);
+    }
+
+    public boolean isEnabled() {
+        return caches != null;
+    }
+
+    public String toModelName(String name) {
+        final int modification = modifications.get();
+        String result = get(Conversion.MODEL_NAME, name);
+        if (result == null) {
+            result = put(Conversion.MODEL_NAME, name, codegen.toModelName(name), modification);
+        }
+        return result;
+    }
+
+    public String toVarName(String name) {
+        final int modification = modifications.get();
+        String result = get(Conversion.VAR_NAME, name);
+        if (result == null) {
+            result = put(Conversion.VAR_NAME, name, codegen.toVarName(name), modification);
+        }
+        return result;
+    }
+
+    public String toParamName(String name) {
+        final int modification = modifications.get();
+        String result = get(Conversion.PARAM_NAME, name);
+        if (result == null) {
+            result = put(Conversion.PARAM_NAME, name, codegen.toParamName(name), modification);
+        }
+        return result;
+    }
+
+    public String toApiName(String name) {
+        final int modification = modifications.get();
+        String result = get(Conversion.API_NAME, name);
+        if (result == null) {
+            result = put(Conversion.API_NAME, name, codegen.toApiName(name), modification);
+        }
+        return result;
+    }
+
+    public String sanitizeTag(String tag) {
+        final int modification = modifications.get();
+        String result = get(Conversion.SANITIZE_TAG, tag);
+        if (result == null) {
+            result = put(Conversion.SANITIZE_TAG, tag, codegen.sanitizeTag(tag), modification);
+        }
+        return result;
+    }
+
+    /**
+     * @param conversion the conversion
+     * @return hit and miss statistics of the conversion, empty if the cache is disabled
+     */
+    public CacheStats getStats(Conversion conversion) {
+        if (caches == null) {
+            return new CacheStats(0, 0, 0, 0, 0, 0);
+        }
+        return caches.get(conversion).stats();
+    }
+
+    /**
+     * @return hit and miss statistics of all conversions
+     */
+    public Map<Conversion, CacheStats> getStats() {
+        Map<Conversion, CacheStats> stats = new EnumMap<Conversion, CacheStats>(Conversion.class);
+        for (Conversion conversion : Conversion.values()) {
+            stats.put(conversion, getStats(conversion));
+        }
+        return stats;
+    }
+
+    /**
+     * Drop all results, e.g. after changing the settings the conversions depend on. The statistics are kept.
+     */
+    public void clear() {
+        modifications.incrementAndGet();
+        if (caches != null) {
+            for (Cache<String, String> cache : caches.values()) {
+                cache.invalidateAll();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (caches == null) {
+            return "NameCache{disabled}";
+        }
+        StringBuilder sb = new StringBuilder("NameCache{");
+        boolean first = true;
+        for (Map.Entry<Conversion, Cache<String, String>> entry : caches.entrySet()) {
+            CacheStats stats = entry.getValue().stats();
+            if (stats.requestCount() == 0) {
+                continue;
+            }
+            if (!first) {
+                sb.append(", ");
+            }
+            first = false;
+            sb.append(entry.getKey()).append("=").append(stats.hitCount()).append("/").append(stats.requestCount())
+                    .append(String.format(" (%.1f%%)", stats.hitRate() * 100));
+        }
+        return sb.append("}").toString();
+    }
+
+    // null names are not cached, so conversions keep their own handling of them
+
+    private String get(Conversion conversion, String name) {
+        if (caches == null || name == null) {
+            return null;
+        }
+        return caches.get(conversion).getIfPresent(name);
+    }
+
+    private String put(Conversion conversion, String name, String result, int modification) {
+        if (caches != null && name != null && result != null) {
+            caches.get(conversion).put(name, result);
+            if (modifications.get() != modification) {
+                // cleared while converting, the result may depend on the previous settings
+                caches.get(conversion).invalidate(name);
+            }
+        }
+        return result;
+    }
+}
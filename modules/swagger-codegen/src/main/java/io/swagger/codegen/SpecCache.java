@@ -0,0 +1,385 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.swagger.codegen.utils.ImplementationVersion;
+import io.swagger.models.Swagger;
+import io.swagger.models.auth.AuthorizationValue;
+import io.swagger.models.parameters.AbstractSerializableParameter;
+import io.swagger.parser.Swagger20Parser;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.parser.SwaggerResolver;
+import io.swagger.parser.util.RemoteUrl;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Parsed and resolved specs, so that generating several times from the same spec in a JVM, e.g. in the
+ * executions of a Maven build, parses the spec and resolves its {@code $ref}s once.
+ *
+ * Specs are keyed by a hash of their location, content, authorization values and resolve flag, and of
+ * the content of the local files they reference. Specs referencing remote documents, or read from a
+ * location other than a file or URL, are not cached. As generation modifies the spec, each read, the
+ * first one included, returns a new copy of the cached spec, see {@link SpecCopier}.
+ *
+ * The specs can also be kept in a directory, to be reused by later builds, as snapshots of the resolved
+ * spec in the Swagger JSON format, compressed. As the JSON format doesn't carry all of a parsed spec, e.g.
+ * the parent of a composed model, a snapshot is only written when it reads back to an equal spec.
+ */
+public class SpecCache {
+    public static final int DEFAULT_MAXIMUM_SIZE = 16;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecCache.class);
+    private static final SpecCache SHARED = new SpecCache(DEFAULT_MAXIMUM_SIZE);
+    // "$ref": "file.yaml#/definitions/Pet" in JSON, $ref: 'file.yaml#/definitions/Pet' in YAML
+    private static final Pattern REF = Pattern.compile("\\$ref[\"']?\\s*:\\s*[\"']?([^\"'\\s,}]*)");
+    private static final String SNAPSHOT_SUFFIX = ".json.gz";
+    private static final ObjectWriter SNAPSHOT_WRITER = Json.mapper().copy()
+            .addMixIn(AbstractSerializableParameter.class, ParameterMixIn.class)
+            .writer();
+
+    private final Cache<String, Swagger> specs;
+    private final File directory;
+
+    /**
+     * @param maximumSize maximum number of specs kept in memory
+     */
+    public SpecCache(int maximumSize) {
+        this(CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().<String, Swagger>build(), null);
+    }
+
+    private SpecCache(Cache<String, Swagger> specs, File directory) {
+        this.specs = specs;
+        this.directory = directory;
+    }
+
+    /**
+     * @return the cache shared by all generations in this JVM, in memory only
+     */
+    public static SpecCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * @param directory directory to keep the snapshots in, or null
+     * @return a cache sharing the specs in memory with this one, which also reads and writes the snapshots
+     * in the directory
+     */
+    public SpecCache withDirectory(File directory) {
+        return new SpecCache(specs, directory);
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Read a spec from a file or URL, as {@link SwaggerParser#read(String, List, boolean)} does. A spec
+     * read from a URL is downloaded once, to compute its key and to be parsed if it isn't cached.
+     *
+     * @param location file path or URL of the spec
+     * @param auths authorization values used to read remote documents, or null
+     * @param resolve whether to resolve the references to other documents
+     * @return the spec, or null if it can't be read
+     */
+    public Swagger read(String location, List<AuthorizationValue> auths, boolean resolve) {
+        if (!isUrl(location)) {
+            final String key = key(location, auths, resolve);
+            Swagger swagger = key != null ? restore(key) : null;
+            if (swagger == null) {
+                swagger = store(key, new SwaggerParser().read(location, auths, resolve));
+            }
+            return swagger;
+        }
+        final String content;
+        try {
+            content = RemoteUrl.urlToString(location, auths);
+        } catch (Exception e) {
+            LOGGER.debug("Not caching " + location + ": " + e.getMessage());
+            return new SwaggerParser().read(location, auths, resolve);
+        }
+        final String key = remoteKey(location, content, auths, resolve);
+        Swagger swagger = key != null ? restore(key) : null;
+        if (swagger == null) {
+            swagger = store(key, parse(location, content, auths, resolve));
+        }
+        return swagger;
+    }
+
+    /**
+     * Read a spec from its JSON tree, as {@link SwaggerParser#read(JsonNode, List, boolean)} does.
+     *
+     * @param node JSON tree of the spec
+     * @param auths authorization values used to read remote documents, or null
+     * @param resolve whether to resolve the references to other documents
+     * @return the spec, or null if it can't be read
+     */
+    public Swagger read(JsonNode node, List<AuthorizationValue> auths, boolean resolve) {
+        final byte[] content = node.toString().getBytes(StandardCharsets.UTF_8);
+        final Hasher hasher = newHasher(auths, resolve);
+        final String key = hashDocument(hasher, null, content, new HashSet<File>()) ? hasher.hash().toString() : null;
+        Swagger swagger = key != null ? restore(key) : null;
+        if (swagger == null) {
+            swagger = store(key, auths != null ? new SwaggerParser().read(node, auths, resolve) : new SwaggerParser().read(node, resolve));
+        }
+        return swagger;
+    }
+
+    /**
+     * @return hits and misses of the specs kept in memory
+     */
+    public CacheStats getStats() {
+        return specs.stats();
+    }
+
+    /**
+     * @return number of specs kept in memory
+     */
+    public long size() {
+        return specs.size();
+    }
+
+    /**
+     * Drop the specs kept in memory. Snapshots in the directory are kept.
+     */
+    public void clear() {
+        specs.invalidateAll();
+    }
+
+    @Override
+    public String toString() {
+        return "SpecCache{size=" + specs.size() + ", directory=" + directory + ", " + specs.stats() + "}";
+    }
+
+    /**
+     * @param location file path or URL of the spec
+     * @param auths authorization values used to read remote documents, or null
+     * @param resolve whether to resolve the references to other documents
+     * @return the key of the spec, which changes with its content and the local files it references, or
+     * null if the spec isn't cached
+     */
+    public static String key(String location, List<AuthorizationValue> auths, boolean resolve) {
+        return key(location, auths, resolve, new HashSet<File>());
+    }
+
+    /**
+     * @param location file path or URL of the spec
+     * @param auths authorization values used to read remote documents, or null
+     * @param resolve whether to resolve the references to other documents
+     * @param files receives the spec file and the local files it references
+     * @return the key of the spec, or null if the spec isn't cached
+     * @see #key(String, List, boolean)
+     */
+    public static String key(String location, List<AuthorizationValue> auths, boolean resolve, Set<File> files) {
+        try {
+            if (isUrl(location)) {
+                return remoteKey(location, RemoteUrl.urlToString(location, auths), auths, resolve);
+            }
+            File file = new File(location).getAbsoluteFile().toPath().normalize().toFile();
+            if (!file.isFile()) {
+                return null;
+            }
+            Hasher hasher = newHasher(auths, resolve).putString(location, StandardCharsets.UTF_8);
+            files.add(file);
+            return hashDocument(hasher, file, FileUtils.readFileToByteArray(file), files) ? hasher.hash().toString() : null;
+        } catch (Exception e) {
+            LOGGER.debug("Not caching " + location + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isUrl(String location) {
+        return location.toLowerCase().startsWith("http:") || location.toLowerCase().startsWith("https:");
+    }
+
+    private static String remoteKey(String location, String content, List<AuthorizationValue> auths, boolean resolve) {
+        Hasher hasher = newHasher(auths, resolve).putString(location, StandardCharsets.UTF_8);
+        return hashDocument(hasher, null, content.getBytes(StandardCharsets.UTF_8), new HashSet<File>()) ? hasher.hash().toString() : null;
+    }
+
+    // parse a downloaded spec as SwaggerParser#read does after downloading it
+    private static Swagger parse(String location, String content, List<AuthorizationValue> auths, boolean resolve) {
+        Swagger swagger;
+        try {
+            swagger = new Swagger20Parser().parse(content);
+        } catch (IOException | RuntimeException e) {
+            swagger = null;
+        }
+        if (swagger == null) {
+            // e.g. a spec in an older format, read by the extensions of the parser
+            return new SwaggerParser().read(location, auths, resolve);
+        }
+        return new SwaggerResolver(swagger, auths, location).resolve();
+    }
+
+    private static Hasher newHasher(List<AuthorizationValue> auths, boolean resolve) {
+        final Hasher hasher = Hashing.sha256().newHasher()
+                .putString(ImplementationVersion.read(), StandardCharsets.UTF_8)
+                .putBoolean(resolve);
+        if (auths != null) {
+            for (AuthorizationValue auth : auths) {
+                hasher.putString(String.valueOf(auth.getKeyName()), StandardCharsets.UTF_8)
+                        .putString(String.valueOf(auth.getValue()), StandardCharsets.UTF_8)
+                        .putString(String.valueOf(auth.getType()), StandardCharsets.UTF_8);
+            }
+        }
+        return hasher;
+    }
+
+    // hash a document and the local files it references, false if it references other documents
+    private static boolean hashDocument(Hasher hasher, File file, byte[] content, Set<File> visited) {
+        hasher.putInt(content.length).putBytes(content);
+        Matcher matcher = REF.matcher(new String(content, StandardCharsets.UTF_8));
+        while (matcher.find()) {
+            String ref = matcher.group(1);
+            int fragment = ref.indexOf('#');
+            String document = fragment >= 0 ? ref.substring(0, fragment) : ref;
+            if (document.isEmpty()) {
+                continue;
+            }
+            if (file == null || document.contains(":")) {
+                return false;
+            }
+            File referenced = new File(file.getParentFile(), document).getAbsoluteFile().toPath().normalize().toFile();
+            if (!referenced.isFile()) {
+                return false;
+            }
+            if (visited.add(referenced)) {
+                hasher.putString(document, StandardCharsets.UTF_8);
+                try {
+                    if (!hashDocument(hasher, referenced, FileUtils.readFileToByteArray(referenced), visited)) {
+                        return false;
+                    }
+                } catch (IOException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // a copy of the cached spec, or null if it isn't cached
+    private Swagger restore(String key) {
+        Swagger cached = specs.getIfPresent(key);
+        if (cached == null && directory != null) {
+            byte[] snapshot = readSnapshot(new File(directory, key + SNAPSHOT_SUFFIX));
+            if (snapshot != null) {
+                try {
+                    cached = Json.mapper().readValue(snapshot, Swagger.class);
+                    specs.put(key, cached);
+                } catch (IOException e) {
+                    LOGGER.warn("Can't restore the spec snapshot " + key, e);
+                }
+            }
+        }
+        return cached != null ? SpecCopier.copy(cached) : null;
+    }
+
+    // cache a parsed spec, returning a copy of it, or the spec itself if it can't be cached
+    private Swagger store(String key, Swagger swagger) {
+        if (key == null || swagger == null) {
+            return swagger;
+        }
+        final Swagger copy;
+        try {
+            copy = SpecCopier.copy(swagger);
+        } catch (IllegalArgumentException e) {
+            LOGGER.debug("Not caching the spec, it can't be copied: " + e.getMessage());
+            return swagger;
+        }
+        specs.put(key, swagger);
+        if (directory != null) {
+            writeSnapshot(key, swagger);
+        }
+        return copy;
+    }
+
+    private void writeSnapshot(String key, Swagger swagger) {
+        final byte[] snapshot;
+        try {
+            snapshot = SNAPSHOT_WRITER.writeValueAsBytes(swagger);
+        } catch (IOException e) {
+            LOGGER.debug("Not keeping the snapshot of the spec, it can't be written: " + e.getMessage());
+            return;
+        }
+        if (readsBack(swagger, snapshot)) {
+            writeSnapshot(new File(directory, key + SNAPSHOT_SUFFIX), snapshot);
+        }
+    }
+
+    // whether the snapshot reads back to the same spec
+    private static boolean readsBack(Swagger swagger, byte[] snapshot) {
+        try {
+            Swagger restored = Json.mapper().readValue(snapshot, Swagger.class);
+            if (restored.equals(swagger) && Arrays.equals(SNAPSHOT_WRITER.writeValueAsBytes(restored), snapshot)) {
+                return true;
+            }
+            LOGGER.debug("Not keeping the snapshot of the spec, it reads back to a different spec");
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Not keeping the snapshot of the spec, it can't be read back: " + e.getMessage());
+        }
+        return false;
+    }
+
+    private static byte[] readSnapshot(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(FileUtils.readFileToByteArray(file)))) {
+            return IOUtils.toByteArray(in);
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring unreadable spec snapshot " + file, e);
+            return null;
+        }
+    }
+
+    private static void writeSnapshot(File file, byte[] snapshot) {
+        try {
+            FileUtils.forceMkdir(file.getParentFile());
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(snapshot.length / 4);
+            try (OutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(snapshot);
+            }
+            // write then rename, so that concurrent builds never read a partial snapshot
+            File temp = File.createTempFile(file.getName(), ".tmp", file.getParentFile());
+            FileUtils.writeByteArrayToFile(temp, compressed.toByteArray());
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.warn("Can't write the spec snapshot " + file, e);
+        }
+    }
+
+    // setting the type of an array parameter without a collection format sets the default one, so
+    // the missing collection format is written, after the type, to be set back when reading
+    private abstract static class ParameterMixIn {
+        @JsonInclude(JsonInclude.Include.ALWAYS)
+        abstract String getCollectionFormat();
+    }
+}
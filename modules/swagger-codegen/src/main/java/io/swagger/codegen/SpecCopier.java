@@ -0,0 +1,178 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Copies a parsed spec field by field, so that the copy is exactly the spec the parser returned, including
+ * the state its JSON form doesn't carry, e.g. the parent of a composed model. Objects shared in the spec are
+ * shared in the copy.
+ *
+ * Only the classes of the Swagger models, of the JDK and Jackson trees are copied; a spec holding any
+ * other object can't be copied.
+ */
+class SpecCopier {
+    private static final ConcurrentHashMap<Class<?>, List<Field>> FIELDS = new ConcurrentHashMap<Class<?>, List<Field>>();
+
+    private final Map<Object, Object> copies = new IdentityHashMap<Object, Object>();
+
+    /**
+     * @param value spec, or any of its parts
+     * @return a copy of the value
+     * @throws IllegalArgumentException if the value holds an object that can't be copied
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T copy(T value) {
+        return (T) new SpecCopier().copyValue(value);
+    }
+
+    private Object copyValue(Object value) {
+        if (value == null || isImmutable(value)) {
+            return value;
+        }
+        Object copy = copies.get(value);
+        if (copy != null) {
+            return copy;
+        }
+        if (value instanceof JsonNode) {
+            copy = ((JsonNode) value).deepCopy();
+            copies.put(value, copy);
+        } else if (value instanceof Date) {
+            copy = ((Date) value).clone();
+            copies.put(value, copy);
+        } else if (value.getClass().isArray()) {
+            copy = copyArray(value);
+        } else if (value instanceof Map) {
+            copy = copyMap((Map<?, ?>) value);
+        } else if (value instanceof Collection) {
+            copy = copyCollection((Collection<?>) value);
+        } else if (value.getClass().getName().startsWith("io.swagger.")) {
+            copy = copyObject(value);
+        } else {
+            throw new IllegalArgumentException("Can't copy " + value.getClass().getName());
+        }
+        return copy;
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Boolean || value instanceof Character
+                || value instanceof Integer || value instanceof Long || value instanceof Double
+                || value instanceof Float || value instanceof Short || value instanceof Byte
+                || value instanceof BigDecimal || value instanceof BigInteger
+                || value instanceof Enum || value instanceof Class;
+    }
+
+    private Object copyArray(Object value) {
+        int length = Array.getLength(value);
+        Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+        copies.put(value, copy);
+        for (int i = 0; i < length; i++) {
+            Array.set(copy, i, copyValue(Array.get(value, i)));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copyMap(Map<?, ?> value) {
+        Map<Object, Object> copy;
+        if (value instanceof SortedMap) {
+            copy = new TreeMap<Object, Object>(((SortedMap<Object, ?>) value).comparator());
+        } else {
+            copy = (Map<Object, Object>) newCollection(value, LinkedHashMap.class);
+        }
+        copies.put(value, copy);
+        for (Map.Entry<?, ?> entry : value.entrySet()) {
+            copy.put(copyValue(entry.getKey()), copyValue(entry.getValue()));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copyCollection(Collection<?> value) {
+        Collection<Object> copy;
+        if (value instanceof SortedSet) {
+            copy = new TreeSet<Object>(((SortedSet<Object>) value).comparator());
+        } else {
+            copy = (Collection<Object>) newCollection(value, value instanceof Set ? LinkedHashSet.class : ArrayList.class);
+        }
+        copies.put(value, copy);
+        for (Object element : value) {
+            copy.add(copyValue(element));
+        }
+        return copy;
+    }
+
+    // a collection of the same class, or a modifiable one for e.g. the empty and unmodifiable collections
+    private static Object newCollection(Object value, Class<?> fallback) {
+        Class<?> type = value.getClass();
+        try {
+            if (type.getName().startsWith("java.util.") && Modifier.isPublic(type.getModifiers())) {
+                return type.getConstructor().newInstance();
+            }
+            return fallback.newInstance();
+        } catch (ReflectiveOperationException e) {
+            try {
+                return fallback.newInstance();
+            } catch (ReflectiveOperationException unexpected) {
+                throw new IllegalStateException(unexpected);
+            }
+        }
+    }
+
+    private Object copyObject(Object value) {
+        final Object copy;
+        try {
+            Constructor<?> constructor = value.getClass().getDeclaredConstructor();
+            constructor.setAccessible(true);
+            copy = constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Can't copy " + value.getClass().getName() + ", it has no default constructor", e);
+        }
+        copies.put(value, copy);
+        try {
+            for (Field field : getFields(value.getClass())) {
+                field.set(copy, copyValue(field.get(value)));
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Can't copy " + value.getClass().getName(), e);
+        }
+        return copy;
+    }
+
+    private static List<Field> getFields(Class<?> type) {
+        List<Field> fields = FIELDS.get(type);
+        if (fields == null) {
+            fields = new ArrayList<Field>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            FIELDS.putIfAbsent(type, fields);
+        }
+        return fields;
+    }
+}
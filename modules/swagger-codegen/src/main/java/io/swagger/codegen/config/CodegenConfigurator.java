@@ -8,10 +8,11 @@ import io.swagger.codegen.ClientOpts;
 import io.swagger.codegen.CodegenConfig;
 import io.swagger.codegen.CodegenConfigLoader;
 import io.swagger.codegen.CodegenConstants;
+import io.swagger.codegen.GeneratorProperties;
+import io.swagger.codegen.SpecCache;
 import io.swagger.codegen.auth.AuthParser;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
-import io.swagger.parser.SwaggerParser;
 import io.swagger.util.Json;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
@@ -57,6 +58,7 @@ public class CodegenConfigurator implements Serializable {
     private String artifactVersion;
     private String library;
     private String ignoreFileOverride;
+    private String specCacheDir;
     private Map<String, String> systemProperties = new HashMap<String, String>();
     private Map<String, String> instantiationTypes = new HashMap<String, String>();
     private Map<String, String> typeMappings = new HashMap<String, String>();
@@ -236,6 +238,14 @@ public class CodegenConfigurator implements Serializable {
         return this;
     }
 
+    /**
+     * Add a setting of the generation run, such as {@code models} or {@code apis}. The settings
+     * are carried by the {@link ClientOptInput} rather than set as JVM system properties.
+     *
+     * @param key name of the setting
+     * @param value value of the setting, or null to ignore the system property of the same name
+     * @return this configurator
+     */
     public CodegenConfigurator addSystemProperty(String key, String value) {
         this.systemProperties.put(key, value);
         return this;
@@ -379,16 +389,35 @@ public class CodegenConfigurator implements Serializable {
         return this;
     }
 
+    public String getSpecCacheDir() {
+        return specCacheDir;
+    }
+
+    /**
+     * Keep snapshots of the parsed spec in a directory, so that later builds reading the same spec skip
+     * parsing and resolving it. Within a JVM, parsed specs are always reused, see {@link SpecCache}.
+     *
+     * @param specCacheDir directory of the snapshots, or null to only reuse specs within the JVM
+     * @return this configurator
+     */
+    public CodegenConfigurator setSpecCacheDir(String specCacheDir) {
+        this.specCacheDir = specCacheDir;
+        return this;
+    }
+
     public ClientOptInput toClientOptInput() {
 
         Validate.notEmpty(lang, "language must be specified");
         Validate.notEmpty(inputSpec, "input spec must be specified");
 
-        setVerboseFlags();
-        setSystemProperties();
+        GeneratorProperties generatorProperties = new GeneratorProperties();
+        setVerboseFlags(generatorProperties);
+        generatorProperties.setAll(systemProperties);
 
         CodegenConfig config = CodegenConfigLoader.forName(lang);
 
+        config.setGeneratorProperties(generatorProperties);
+
         config.setInputSpec(inputSpec);
         config.setOutputDir(outputDir);
         config.setSkipOverwrite(skipOverwrite);
@@ -424,11 +453,16 @@ public class CodegenConfigurator implements Serializable {
         config.additionalProperties().putAll(additionalProperties);
 
         ClientOptInput input = new ClientOptInput()
-                .config(config);
+                .config(config)
+                .generatorProperties(generatorProperties);
 
         final List<AuthorizationValue> authorizationValues = AuthParser.parse(auth);
 
-        Swagger swagger = new SwaggerParser().read(inputSpec, authorizationValues, true);
+        SpecCache specCache = SpecCache.getShared();
+        if (isNotEmpty(specCacheDir)) {
+            specCache = specCache.withDirectory(new File(toAbsolutePathStr(specCacheDir)));
+        }
+        Swagger swagger = specCache.read(inputSpec, authorizationValues, true);
 
         input.opts(new ClientOpts())
                 .swagger(swagger);
@@ -459,7 +493,7 @@ public class CodegenConfigurator implements Serializable {
         }
     }
 
-    private void setVerboseFlags() {
+    private void setVerboseFlags(GeneratorProperties generatorProperties) {
         if (!verbose) {
             return;
         }
@@ -469,16 +503,10 @@ public class CodegenConfigurator implements Serializable {
                 "\n - [debugOperations] prints operations passed to the template engine" +
                 "\n - [debugSupportingFiles] prints additional data passed to the template engine");
 
-        System.setProperty("debugSwagger", "");
-        System.setProperty("debugModels", "");
-        System.setProperty("debugOperations", "");
-        System.setProperty("debugSupportingFiles", "");
-    }
-
-    private void setSystemProperties() {
-        for (Map.Entry<String, String> entry : systemProperties.entrySet()) {
-            System.setProperty(entry.getKey(), entry.getValue());
-        }
+        generatorProperties.set("debugSwagger", "");
+        generatorProperties.set("debugModels", "");
+        generatorProperties.set("debugOperations", "");
+        generatorProperties.set("debugSupportingFiles", "");
     }
 
     private static String toAbsolutePathStr(String path) {
@@ -0,0 +1,119 @@
+package io.swagger.codegen.examples;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.swagger.models.Model;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+
+import java.util.Map;
+
+/**
+ * Rendered JSON and XML examples of a generation run, so that operations returning or accepting the
+ * same shape, e.g. a page of orders, render its examples once rather than once per operation.
+ *
+ * Examples are keyed by the model name, or the shape of the property, and the media type. Only shapes
+ * made of references to models, arrays and maps are kept. Their examples don't change during a run:
+ * {@link ExampleGenerator} stores the example of a model on it the first time it is resolved, and
+ * starts its random numbers from the same seed for every operation.
+ *
+ * The cache is cleared when it is used with other definitions, i.e. for the spec of another run.
+ */
+public class ExampleCache {
+    public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private final Cache<String, String> examples;
+    private Map<String, Model> definitions;
+
+    /**
+     * @param maximumSize maximum number of examples kept
+     */
+    public ExampleCache(int maximumSize) {
+        this.examples = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().<String, String>build();
+    }
+
+    /**
+     * @param definitions definitions of the spec the examples are rendered from
+     * @return this cache, cleared if it kept the examples of other definitions
+     */
+    public synchronized ExampleCache forDefinitions(Map<String, Model> definitions) {
+        if (this.definitions != definitions) {
+            examples.invalidateAll();
+            this.definitions = definitions;
+        }
+        return this;
+    }
+
+    /**
+     * @param property property an example is rendered for
+     * @return the key of the shape of the property, or null if its examples aren't kept
+     */
+    public static String keyOf(Property property) {
+        if (property == null || property.getExample() != null) {
+            return null;
+        }
+        if (property instanceof RefProperty) {
+            return "#" + ((RefProperty) property).getSimpleRef();
+        }
+        if (property instanceof ArrayProperty) {
+            ArrayProperty array = (ArrayProperty) property;
+            String items = keyOf(array.getItems());
+            boolean wrapped = array.getXml() != null && Boolean.TRUE.equals(array.getXml().getWrapped());
+            return items != null ? "[" + array.getMaxItems() + (wrapped ? ",wrapped" : "") + "]" + items : null;
+        }
+        if (property instanceof MapProperty) {
+            String values = keyOf(((MapProperty) property).getAdditionalProperties());
+            return values != null ? "{" + property.getName() + "}" + values : null;
+        }
+        return null;
+    }
+
+    /**
+     * @param modelName name of a model an example is rendered for
+     * @return the key of the model
+     */
+    public static String keyOf(String modelName) {
+        return "model:" + modelName;
+    }
+
+    /**
+     * @param key key of the shape, see {@link #keyOf(Property)}
+     * @param mediaType media type of the example
+     * @return the rendered example, or null
+     */
+    public String get(String key, String mediaType) {
+        return examples.getIfPresent(mediaType + " " + key);
+    }
+
+    /**
+     * @param key key of the shape, see {@link #keyOf(Property)}
+     * @param mediaType media type of the example
+     * @param example the rendered example
+     */
+    public void put(String key, String mediaType, String example) {
+        examples.put(mediaType + " " + key, example);
+    }
+
+    /**
+     * @return hits and misses of the examples
+     */
+    public CacheStats getStats() {
+        return examples.stats();
+    }
+
+    public long size() {
+        return examples.size();
+    }
+
+    public void clear() {
+        examples.invalidateAll();
+    }
+
+    @Override
+    public String toString() {
+        return "ExampleCache{size=" + examples.size() + ", " + examples.stats() + "}";
+    }
+}
@@ -27,11 +27,21 @@ public class ExampleGenerator {
 
     protected Map<String, Model> examples;
     private Random random;
+    private final ExampleCache cache;
 
     public ExampleGenerator(Map<String, Model> examples) {
+        this(examples, null);
+    }
+
+    /**
+     * @param examples definitions of the spec
+     * @param cache examples rendered for other operations of the run, or null
+     */
+    public ExampleGenerator(Map<String, Model> examples, ExampleCache cache) {
         this.examples = examples;
         // use a fixed seed to make the "random" numbers reproducible.
         this.random = new Random("ExampleGenerator".hashCode());
+        this.cache = cache != null ? cache.forDefinitions(examples) : null;
     }
 
     public List<Map<String, String>> generate(Map<String, Object> examples, List<String> mediaTypes, Property property) {
@@ -42,19 +52,26 @@ public class ExampleGenerator {
                 // assume application/json for this
                 mediaTypes = Collections.singletonList(MIME_TYPE_JSON); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
             }
+            final String key = cache != null ? ExampleCache.keyOf(property) : null;
             for (String mediaType : mediaTypes) {
                 Map<String, String> kv = new HashMap<>();
                 kv.put(CONTENT_TYPE, mediaType);
-                if (property != null && mediaType.startsWith(MIME_TYPE_JSON)) {
+                String cached = getCached(key, mediaType);
+                if (cached != null) {
+                    kv.put(EXAMPLE, cached);
+                    output.add(kv);
+                } else if (property != null && mediaType.startsWith(MIME_TYPE_JSON)) {
                     String example = Json.pretty(resolvePropertyToExample("", mediaType, property, processedModels));
 
                     if (example != null) {
+                        putCached(key, mediaType, example);
                         kv.put(EXAMPLE, example);
                         output.add(kv);
                     }
                 } else if (property != null && mediaType.startsWith(MIME_TYPE_XML)) {
                     String example = new XmlExampleGenerator(this.examples).toXml(property);
                     if (example != null) {
+                        putCached(key, mediaType, example);
                         kv.put(EXAMPLE, example);
                         output.add(kv);
                     }
@@ -84,16 +101,22 @@ public class ExampleGenerator {
                 // assume application/json for this
                 mediaTypes = Collections.singletonList(MIME_TYPE_JSON); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
             }
+            final String key = cache != null && modelName != null ? ExampleCache.keyOf(modelName) : null;
             for (String mediaType : mediaTypes) {
                 Map<String, String> kv = new HashMap<>();
                 kv.put(CONTENT_TYPE, mediaType);
-                if (modelName != null && mediaType.startsWith(MIME_TYPE_JSON)) {
+                String cached = getCached(key, mediaType);
+                if (cached != null) {
+                    kv.put(EXAMPLE, cached);
+                    output.add(kv);
+                } else if (modelName != null && mediaType.startsWith(MIME_TYPE_JSON)) {
                     final Model model = this.examples.get(modelName);
                     if (model != null) {
 
                         String example = Json.pretty(resolveModelToExample(modelName, mediaType, model, processedModels));
 
                         if (example != null) {
+                            putCached(key, mediaType, example);
                             kv.put(EXAMPLE, example);
                             output.add(kv);
                         }
@@ -102,6 +125,7 @@ public class ExampleGenerator {
                     final Model model = this.examples.get(modelName);
                     String example = new XmlExampleGenerator(this.examples).toXml(model, 0, Collections.<String>emptySet());
                     if (example != null) {
+                        putCached(key, mediaType, example);
                         kv.put(EXAMPLE, example);
                         output.add(kv);
                     }
@@ -123,6 +147,16 @@ public class ExampleGenerator {
         return output;
     }
 
+    private String getCached(String key, String mediaType) {
+        return key != null ? cache.get(key, mediaType) : null;
+    }
+
+    private void putCached(String key, String mediaType, String example) {
+        if (key != null) {
+            cache.put(key, mediaType, example);
+        }
+    }
+
     private Object resolvePropertyToExample(String propertyName, String mediaType, Property property, Set<String> processedModels) {
         logger.debug("Resolving example for property {}...", property);
         if (property.getExample() != null) {
@@ -1,28 +1,39 @@
 package io.swagger.codegen.ignore;
 
 import com.google.common.collect.ImmutableList;
-import io.swagger.codegen.ignore.rules.DirectoryRule;
 import io.swagger.codegen.ignore.rules.Rule;
+import io.swagger.codegen.ignore.rules.RuleSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.net.URI;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Presents a processing utility for parsing and evaluating files containing common ignore patterns. (.swagger-codegen-ignore)
+ *
+ * The rules are compiled into a {@link RuleSet} on first use, and the decision for each path is cached.
  */
 public class CodegenIgnoreProcessor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CodegenIgnoreProcessor.class);
 
     private File ignoreFile = null;
+    private Path baseDirectory = null;
+    private URI baseDirectoryUri = null;
 
     private List<Rule> exclusionRules = new ArrayList<>();
     private List<Rule> inclusionRules = new ArrayList<>();
 
+    private volatile RuleSet ruleSet = null;
+    private final ConcurrentMap<String, Boolean> decisions = new ConcurrentHashMap<>();
+
     /**
      * Loads the default ignore file (.swagger-codegen-ignore) from the specified path.
      *
@@ -63,6 +74,8 @@ public class CodegenIgnoreProcessor {
             try {
                 loadCodegenRules(targetIgnoreFile);
                 this.ignoreFile = targetIgnoreFile;
+                this.baseDirectory = targetIgnoreFile.getAbsoluteFile().getParentFile().toPath().normalize();
+                this.baseDirectoryUri = targetIgnoreFile.getAbsoluteFile().getParentFile().toURI();
             } catch (IOException e) {
                 LOGGER.error(String.format("Could not process %s.", targetIgnoreFile.getName()), e.getMessage());
             }
@@ -96,6 +109,8 @@ public class CodegenIgnoreProcessor {
                 }
             }
         }
+        ruleSet = null;
+        decisions.clear();
     }
 
     /**
@@ -107,67 +122,35 @@ public class CodegenIgnoreProcessor {
      */
     public boolean allowsFile(final File targetFile) {
         if(this.ignoreFile == null) return true;
-
-        File file = new File(this.ignoreFile.getParentFile().toURI().relativize(targetFile.toURI()).getPath());
-        Boolean directoryExcluded = false;
-        Boolean exclude = false;
         if(exclusionRules.size() == 0 && inclusionRules.size() == 0) {
             return true;
         }
 
-        // NOTE: We *must* process all exclusion rules
-        for (int i = 0; i < exclusionRules.size(); i++) {
-            Rule current = exclusionRules.get(i);
-            Rule.Operation op = current.evaluate(file.getPath());
-
-            switch (op){
-                case EXCLUDE:
-                    exclude = true;
-
-                    // Include rule can't override rules that exclude a file by some parent directory.
-                    if(current instanceof DirectoryRule) {
-                        directoryExcluded = true;
-                    }
-                    break;
-                case INCLUDE:
-                    // This won't happen here.
-                    break;
-                case NOOP:
-                    break;
-                case EXCLUDE_AND_TERMINATE:
-                    i = exclusionRules.size();
-                    break;
-            }
+        String relativePath = relativize(targetFile);
+        Boolean allowed = decisions.get(relativePath);
+        if (allowed == null) {
+            allowed = !getRuleSet().excludes(relativePath);
+            decisions.put(relativePath, allowed);
         }
+        return allowed;
+    }
 
-        if(exclude) {
-            // Only need to process inclusion rules if we've been excluded
-            for (int i = 0; exclude && i < inclusionRules.size(); i++) {
-                Rule current = inclusionRules.get(i);
-                Rule.Operation op = current.evaluate(file.getPath());
-
-                // At this point exclude=true means the file should be ignored.
-                // op == INCLUDE means we have to flip that flag.
-                if(op.equals(Rule.Operation.INCLUDE)) {
-                    if(current instanceof DirectoryRule && directoryExcluded) {
-                        // e.g
-                        // baz/
-                        // !foo/bar/baz/
-                        // NOTE: Possibly surprising side effect:
-                        // foo/bar/baz/
-                        // !bar/
-                        exclude = false;
-                    } else if (!directoryExcluded) {
-                        // e.g.
-                        // **/*.log
-                        // !ISSUE_1234.log
-                        exclude = false;
-                    }
-                }
-            }
+    private RuleSet getRuleSet() {
+        RuleSet compiled = ruleSet;
+        if (compiled == null) {
+            compiled = new RuleSet(exclusionRules, inclusionRules);
+            ruleSet = compiled;
         }
+        return compiled;
+    }
 
-        return Boolean.FALSE.equals(exclude);
+    // path of the file relative to the folder of the ignore file, as URI#relativize gives it
+    private String relativize(final File targetFile) {
+        Path target = targetFile.toPath().toAbsolutePath().normalize();
+        if (target.startsWith(baseDirectory)) {
+            return new File(baseDirectory.relativize(target).toString()).getPath();
+        }
+        return new File(baseDirectoryUri.relativize(targetFile.toURI()).getPath()).getPath();
     }
 
     /**
@@ -0,0 +1,154 @@
+package io.swagger.codegen.ignore.rules;
+
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The exclusion and inclusion rules of an ignore file, compiled to decide whether a path is excluded
+ * without evaluating each rule in turn.
+ *
+ * The decision only depends on whether any exclusion rule, any exclusion {@link DirectoryRule}, any
+ * inclusion rule and any inclusion {@link DirectoryRule} matches the path, so the rules are split into
+ * these groups. In each group, rules without wildcards are looked up by path, or by parent directory for
+ * directory rules. The other rules are only evaluated when the path starts and ends with the literal
+ * text of their pattern.
+ */
+public class RuleSet {
+    // literal lookups assume the glob semantics of the default, '/' separated, file system
+    private static final boolean LITERAL_PATHS = File.separatorChar == '/'
+            && "/".equals(FileSystems.getDefault().getSeparator());
+    private static final String GLOB_CHARACTERS = "*?[]{}\\";
+
+    private final Group exclusionFiles = new Group();
+    private final Group exclusionDirectories = new Group();
+    private final Group inclusionFiles = new Group();
+    private final Group inclusionDirectories = new Group();
+
+    /**
+     * @param exclusionRules rules excluding files, in the order of the ignore file
+     * @param inclusionRules negated rules including excluded files again, in the order of the ignore file
+     */
+    public RuleSet(List<Rule> exclusionRules, List<Rule> inclusionRules) {
+        for (Rule rule : exclusionRules) {
+            if (rule instanceof EverythingRule) {
+                // terminates the evaluation of the exclusion rules
+                break;
+            }
+            add(rule, exclusionFiles, exclusionDirectories);
+        }
+        for (Rule rule : inclusionRules) {
+            add(rule, inclusionFiles, inclusionDirectories);
+        }
+    }
+
+    /**
+     * @param relativePath path relative to the ignore file
+     * @return {@code true} if the path is excluded and not included again by a negated rule
+     */
+    public boolean excludes(String relativePath) {
+        String path = LITERAL_PATHS ? FileSystems.getDefault().getPath(relativePath).toString() : relativePath;
+
+        boolean directoryExcluded = exclusionDirectories.matches(path, relativePath);
+        if (!directoryExcluded && !exclusionFiles.matches(path, relativePath)) {
+            return false;
+        }
+        // a file excluded by a parent directory can only be included again by a directory rule
+        if (inclusionDirectories.matches(path, relativePath)) {
+            return false;
+        }
+        return directoryExcluded || !inclusionFiles.matches(path, relativePath);
+    }
+
+    private static void add(Rule rule, Group files, Group directories) {
+        if (rule instanceof InvalidRule) {
+            return;
+        }
+        Group group = rule instanceof DirectoryRule ? directories : files;
+        if (rule instanceof EverythingRule) {
+            group.everything = true;
+            return;
+        }
+        String pattern = rule instanceof FileRule ? rule.getPattern() : null;
+        if (LITERAL_PATHS && pattern != null && isLiteral(pattern)) {
+            if (rule instanceof DirectoryRule) {
+                // matches the paths below the directory, see DirectoryRule
+                group.directories.add(pattern.endsWith("/") ? pattern.substring(0, pattern.length() - 1) : pattern);
+            } else {
+                group.files.add(pattern);
+            }
+            return;
+        }
+        group.candidates.add(new Candidate(rule, LITERAL_PATHS ? pattern : null));
+    }
+
+    private static boolean isLiteral(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if (GLOB_CHARACTERS.indexOf(pattern.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return !pattern.isEmpty();
+    }
+
+    private static class Group {
+        private final Set<String> files = new HashSet<>();
+        private final Set<String> directories = new HashSet<>();
+        private final List<Candidate> candidates = new ArrayList<>();
+        private boolean everything;
+
+        // path is the normalized relative path, as matched by the globs of the rules
+        boolean matches(String path, String relativePath) {
+            if (everything || files.contains(path)) {
+                return true;
+            }
+            if (!directories.isEmpty()) {
+                for (int i = path.indexOf('/'); i >= 0; i = path.indexOf('/', i + 1)) {
+                    if (directories.contains(path.substring(0, i))) {
+                        return true;
+                    }
+                }
+            }
+            for (Candidate candidate : candidates) {
+                if (candidate.matches(path, relativePath)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class Candidate {
+        private final Rule rule;
+        private final String prefix;
+        private final String suffix;
+
+        Candidate(Rule rule, String pattern) {
+            this.rule = rule;
+            if (pattern == null) {
+                prefix = "";
+                suffix = "";
+                return;
+            }
+            int first = pattern.length();
+            int last = -1;
+            for (int i = 0; i < pattern.length(); i++) {
+                if (GLOB_CHARACTERS.indexOf(pattern.charAt(i)) >= 0) {
+                    first = Math.min(first, i);
+                    last = i;
+                }
+            }
+            prefix = pattern.substring(0, first);
+            // the directory pattern only matches paths below the directory, whatever its last characters
+            suffix = rule instanceof DirectoryRule || last < 0 ? "" : pattern.substring(last + 1);
+        }
+
+        boolean matches(String path, String relativePath) {
+            return path.startsWith(prefix) && path.endsWith(suffix)
+                    && rule.evaluate(relativePath) != Rule.Operation.NOOP;
+        }
+    }
+}
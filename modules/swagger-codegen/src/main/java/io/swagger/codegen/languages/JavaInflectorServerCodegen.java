@@ -66,6 +66,14 @@ public class JavaInflectorServerCodegen extends AbstractJavaCodegen {
 
     @Override
     public void processOpts() {
+        // the constructor only sees the system properties, not the settings of the run
+        Map<String, String> runProperties = generatorProperties.asMap();
+        if (runProperties.get("swagger.codegen.inflector.apipackage") != null) {
+            apiPackage = runProperties.get("swagger.codegen.inflector.apipackage");
+        }
+        if (runProperties.get("swagger.codegen.inflector.modelpackage") != null) {
+            modelPackage = runProperties.get("swagger.codegen.inflector.modelpackage");
+        }
         super.processOpts();
 
         writeOptional(outputFolder, new SupportingFile("pom.mustache", "", "pom.xml"));
@@ -60,6 +60,14 @@ public class UndertowCodegen extends AbstractJavaCodegen {
 
     @Override
     public void processOpts() {
+        // the constructor only sees the system properties, not the settings of the run
+        Map<String, String> runProperties = generatorProperties.asMap();
+        if (runProperties.get("swagger.codegen.undertow.apipackage") != null) {
+            apiPackage = runProperties.get("swagger.codegen.undertow.apipackage");
+        }
+        if (runProperties.get("swagger.codegen.undertow.modelpackage") != null) {
+            modelPackage = runProperties.get("swagger.codegen.undertow.modelpackage");
+        }
         super.processOpts();
 
         apiTemplateFiles.remove("api.mustache");
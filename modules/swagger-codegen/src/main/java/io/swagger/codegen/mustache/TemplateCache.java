@@ -0,0 +1,368 @@
+package io.swagger.codegen.mustache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import io.swagger.codegen.AbstractGenerator;
+import io.swagger.codegen.CodegenConfig;
+
+import java.io.File;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds compiled mustache templates and the source of the templates and partials they include, so
+ * that each template is read and compiled once instead of once per generated file.
+ *
+ * Compiled templates are keyed by generator class, template folders, library and resolved
+ * template path, which makes a single cache safe to share between generators and between
+ * successive or concurrent runs in the same JVM. Lookups go through a {@link Run}, started by
+ * the generator for each run, which checks the file system once per template: template names are
+ * resolved again and templates read from the file system are recompiled when the file, or one of the
+ * partials the compiled template included, was modified or overridden since the previous run. At most {@link #DEFAULT_MAXIMUM_SIZE} templates and as many sources are
+ * held, the least recently used ones are dropped first.
+ *
+ * Generators overriding how templates are resolved or read, e.g. {@link AbstractGenerator#getTemplateReader},
+ * bypass the cache: their templates are compiled for each lookup, with partials loaded through the
+ * generator, as compiled templates outlive the generator that compiled them.
+ */
+public class TemplateCache {
+    public static final long DEFAULT_MAXIMUM_SIZE = 1000L;
+
+    private static final TemplateCache SHARED = new TemplateCache();
+    private static final ClassValue<Boolean> CUSTOMIZED = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> generatorClass) {
+            return isCustomized(generatorClass);
+        }
+    };
+
+    private final Cache<String, TemplateEntry> templates;
+    private final Cache<String, Entry<String>> sources;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong partialHits = new AtomicLong();
+    private final AtomicLong partialMisses = new AtomicLong();
+    private final AtomicLong resolveHits = new AtomicLong();
+    private final AtomicLong resolveMisses = new AtomicLong();
+
+    // stateless generator used to resolve and read partials, so cached templates keep no reference to a run
+    private final AbstractGenerator templateReader = new AbstractGenerator() {
+    };
+
+    public TemplateCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param maximumSize number of compiled templates, and of template sources, held at most
+     */
+    public TemplateCache(long maximumSize) {
+        this.templates = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+        this.sources = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * @return the cache shared by all generators in this JVM
+     */
+    public static TemplateCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Start a run, whose lookups check the file system again to pick up template files added,
+     * modified or removed since the previous runs. Called by the generator at the start of each run.
+     *
+     * @return the run to look templates up with
+     */
+    public Run startRun() {
+        return new Run();
+    }
+
+    /**
+     * @return number of template lookups served from the cache
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of template lookups that required compiling the template
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of partial lookups served from the cache
+     */
+    public long getPartialHitCount() {
+        return partialHits.get();
+    }
+
+    /**
+     * @return number of partial lookups that required reading the partial
+     */
+    public long getPartialMissCount() {
+        return partialMisses.get();
+    }
+
+    /**
+     * @return number of template paths served from the checks of the run
+     */
+    public long getResolveHitCount() {
+        return resolveHits.get();
+    }
+
+    /**
+     * @return number of template paths that required probing the template folders
+     */
+    public long getResolveMissCount() {
+        return resolveMisses.get();
+    }
+
+    /**
+     * @return number of compiled templates currently held
+     */
+    public int size() {
+        return (int) templates.size();
+    }
+
+    /**
+     * Drop all cached templates and sources, and reset the counters.
+     */
+    public void clear() {
+        templates.invalidateAll();
+        sources.invalidateAll();
+        hits.set(0);
+        misses.set(0);
+        partialHits.set(0);
+        partialMisses.set(0);
+        resolveHits.set(0);
+        resolveMisses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "TemplateCache{templates=" + templates.size() + ", hits=" + hits + ", misses=" + misses
+                + ", sources=" + sources.size() + ", partialHits=" + partialHits + ", partialMisses=" + partialMisses
+                + ", resolveHits=" + resolveHits + ", resolveMisses=" + resolveMisses + "}";
+    }
+
+    private static Template compile(CodegenConfig config, String source, Mustache.TemplateLoader loader) {
+        return config.processCompiler(Mustache.compiler())
+                .withLoader(loader)
+                .defaultValue("")
+                .compile(source);
+    }
+
+    // whether the generator class overrides one of the methods resolving or reading templates
+    private static boolean isCustomized(Class<?> generatorClass) {
+        try {
+            for (Method method : new Method[]{
+                    generatorClass.getMethod("getFullTemplateFile", CodegenConfig.class, String.class),
+                    generatorClass.getMethod("getFullTemplateFile", String.class, String.class, String.class, String.class),
+                    generatorClass.getMethod("readTemplate", String.class),
+                    generatorClass.getMethod("getTemplateReader", String.class),
+                    generatorClass.getMethod("embeddedTemplateExists", String.class),
+                    generatorClass.getMethod("getCPResourcePath", String.class)}) {
+                if (method.getDeclaringClass() != AbstractGenerator.class) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // source of a template or partial, read again only when the file was modified
+    private String getSource(AbstractGenerator generator, String templateFile, long lastModified) {
+        Entry<String> entry = sources.getIfPresent(templateFile);
+        if (entry == null || entry.lastModified != lastModified) {
+            entry = new Entry<String>(generator.readTemplate(templateFile), lastModified);
+            sources.put(templateFile, entry);
+        }
+        return entry.value;
+    }
+
+    private static long lastModified(String templateFile) {
+        File file = new File(templateFile);
+        return file.isFile() ? file.lastModified() : -1L;
+    }
+
+    /**
+     * Lookups of a generation run. The template folders are probed, and the template files checked
+     * for modifications, on the first lookup of each template in the run only; other runs, including
+     * concurrent ones, keep their own checks.
+     */
+    public class Run {
+        private final ConcurrentMap<String, String> resolved = new ConcurrentHashMap<String, String>();
+        private final ConcurrentMap<String, Long> lastModified = new ConcurrentHashMap<String, Long>();
+
+        Run() {
+        }
+
+        /**
+         * Get the template file path with template dir prepended, as {@link AbstractGenerator#getFullTemplateFile}
+         * does, probing the template folders only on the first lookup of the run.
+         *
+         * @param generator Generator used to resolve the template file
+         * @param config Codegen config
+         * @param templateFile Template file
+         * @return Full template file path
+         */
+        public String getFullTemplateFile(AbstractGenerator generator, CodegenConfig config, String templateFile) {
+            if (CUSTOMIZED.get(generator.getClass())) {
+                return generator.getFullTemplateFile(config, templateFile);
+            }
+            final String key = generator.getClass().getName() + "|" + config.templateDir() + "|" + config.embeddedTemplateDir()
+                    + "|" + config.getLibrary() + "|" + templateFile;
+            String fullTemplateFile = resolved.get(key);
+            if (fullTemplateFile != null) {
+                resolveHits.incrementAndGet();
+                return fullTemplateFile;
+            }
+            resolveMisses.incrementAndGet();
+            fullTemplateFile = generator.getFullTemplateFile(config, templateFile);
+            resolved.put(key, fullTemplateFile);
+            return fullTemplateFile;
+        }
+
+        /**
+         * Get the compiled template for an already resolved template file, compiling it on first use.
+         *
+         * @param generator Generator used to read the template source
+         * @param config Codegen config, used to configure the compiler and resolve partials
+         * @param templateFile Full template file path, as returned by {@link #getFullTemplateFile}
+         * @return Compiled template
+         */
+        public Template getTemplate(AbstractGenerator generator, CodegenConfig config, String templateFile) {
+            if (CUSTOMIZED.get(generator.getClass())) {
+                misses.incrementAndGet();
+                return compile(config, generator.readTemplate(templateFile), new GeneratorLoader(generator, config));
+            }
+            final String templateDir = config.templateDir();
+            final String embeddedTemplateDir = config.embeddedTemplateDir();
+            final String library = config.getLibrary();
+            final String key = config.getClass().getName() + "|" + templateDir + "|" + embeddedTemplateDir + "|" + library + "|" + templateFile;
+
+            final long modified = getLastModified(templateFile);
+            TemplateEntry entry = templates.getIfPresent(key);
+            if (entry != null && entry.lastModified == modified && arePartialsCurrent(entry, templateDir, embeddedTemplateDir, library)) {
+                hits.incrementAndGet();
+                return entry.value;
+            }
+            misses.incrementAndGet();
+
+            String source = getSource(generator, templateFile, modified);
+            ConcurrentMap<String, Entry<String>> partials = new ConcurrentHashMap<String, Entry<String>>();
+            Template template = compile(config, source, new PartialLoader(templateDir, embeddedTemplateDir, library, partials));
+            templates.put(key, new TemplateEntry(template, modified, partials));
+            return template;
+        }
+
+        // the compiled template keeps the partials it included, which must resolve to the same unmodified files
+        private boolean arePartialsCurrent(TemplateEntry entry, String templateDir, String embeddedTemplateDir, String library) {
+            for (Map.Entry<String, Entry<String>> partial : entry.partials.entrySet()) {
+                final String key = "partial|" + templateDir + "|" + embeddedTemplateDir + "|" + library + "|" + partial.getKey();
+                String partialFile = resolved.get(key);
+                if (partialFile == null) {
+                    resolveMisses.incrementAndGet();
+                    partialFile = templateReader.getFullTemplateFile(templateDir, embeddedTemplateDir, library, partial.getKey() + ".mustache");
+                    resolved.put(key, partialFile);
+                } else {
+                    resolveHits.incrementAndGet();
+                }
+                if (!Objects.equals(partialFile, partial.getValue().value)
+                        || getLastModified(partialFile) != partial.getValue().lastModified) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long getLastModified(String templateFile) {
+            Long modified = lastModified.get(templateFile);
+            if (modified == null) {
+                modified = lastModified(templateFile);
+                lastModified.put(templateFile, modified);
+            }
+            return modified;
+        }
+    }
+
+    // loads partials when the compiled template first includes them, which may be in a later run, and
+    // records the file and modification time of each, as the compiled template keeps them for good
+    private class PartialLoader implements Mustache.TemplateLoader {
+        private final String templateDir;
+        private final String embeddedTemplateDir;
+        private final String library;
+        private final ConcurrentMap<String, Entry<String>> partials;
+
+        PartialLoader(String templateDir, String embeddedTemplateDir, String library, ConcurrentMap<String, Entry<String>> partials) {
+            this.templateDir = templateDir;
+            this.embeddedTemplateDir = embeddedTemplateDir;
+            this.library = library;
+            this.partials = partials;
+        }
+
+        @Override
+        public Reader getTemplate(String name) {
+            final String templateFile = templateReader.getFullTemplateFile(templateDir, embeddedTemplateDir, library, name + ".mustache");
+            final long modified = lastModified(templateFile);
+            partials.put(name, new Entry<String>(templateFile, modified));
+            Entry<String> entry = sources.getIfPresent(templateFile);
+            if (entry != null && entry.lastModified == modified) {
+                partialHits.incrementAndGet();
+                return new StringReader(entry.value);
+            }
+            partialMisses.incrementAndGet();
+            return new StringReader(getSource(templateReader, templateFile, modified));
+        }
+    }
+
+    // loads partials through a generator overriding the template resolution, as the generator itself did
+    private static class GeneratorLoader implements Mustache.TemplateLoader {
+        private final AbstractGenerator generator;
+        private final CodegenConfig config;
+
+        GeneratorLoader(AbstractGenerator generator, CodegenConfig config) {
+            this.generator = generator;
+            this.config = config;
+        }
+
+        @Override
+        public Reader getTemplate(String name) {
+            return generator.getTemplateReader(generator.getFullTemplateFile(config, name + ".mustache"));
+        }
+    }
+
+    private static class Entry<T> {
+        final T value;
+        final long lastModified;
+
+        Entry(T value, long lastModified) {
+            this.value = value;
+            this.lastModified = lastModified;
+        }
+    }
+
+    // a compiled template, with the file and modification time of the partials it included, by name
+    private static class TemplateEntry extends Entry<Template> {
+        private final ConcurrentMap<String, Entry<String>> partials;
+
+        TemplateEntry(Template value, long lastModified, ConcurrentMap<String, Entry<String>> partials) {
+            super(value, lastModified);
+            this.partials = partials;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package io.swagger.codegen.output;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes files below a folder of the file system. This is the default output of a generator.
+ *
+ * Like {@link PathOutput}, files are replaced only once they are completely written.
+ */
+public class FileSystemOutput implements GeneratorOutput {
+    private final File root;
+    private final PathOutput files;
+
+    public FileSystemOutput(File root) {
+        this.root = root;
+        this.files = new PathOutput(root.toPath());
+    }
+
+    public File getRoot() {
+        return root;
+    }
+
+    /**
+     * @param path Relative path of the file
+     * @return The file the path refers to
+     */
+    public File toFile(String path) {
+        return new File(root, path.replace('/', File.separatorChar));
+    }
+
+    @Override
+    public OutputStream newOutputStream(String path) throws IOException {
+        return files.newOutputStream(path);
+    }
+
+    @Override
+    public boolean exists(String path) {
+        return toFile(path).exists();
+    }
+
+    @Override
+    public void discard(String path) {
+        files.discard(path);
+    }
+}
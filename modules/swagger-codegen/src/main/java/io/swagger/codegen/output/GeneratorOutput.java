@@ -0,0 +1,39 @@
+package io.swagger.codegen.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Destination of the files produced by a generator.
+ *
+ * Paths are relative to the output folder of the generator and use '/' as separator. Files may
+ * be written concurrently when rendering in parallel, so implementations must be thread-safe.
+ */
+public interface GeneratorOutput {
+
+    /**
+     * Open a stream to write a file, replacing any previous contents.
+     * Implementations writing to a file system create the missing parent folders of the file.
+     *
+     * @param path Relative path of the file
+     * @return Stream to the file, which completes the file when closed
+     * @throws IOException if the file cannot be opened
+     */
+    OutputStream newOutputStream(String path) throws IOException;
+
+    /**
+     * @param path Relative path of the file
+     * @return {@code true} if the file exists, so that files which must not be overwritten can be skipped
+     */
+    boolean exists(String path);
+
+    /**
+     * Drop a file whose contents could not be completely written. When called while the stream
+     * of the file is still open, closing the stream no longer completes the file, and outputs
+     * that can keep the previous version of the file do so. Outputs that cannot take back what
+     * they wrote may ignore this.
+     *
+     * @param path Relative path of the file
+     */
+    void discard(String path);
+}
@@ -0,0 +1,79 @@
+package io.swagger.codegen.output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Keeps generated files in memory, by relative path, e.g. to embed the generator or to test
+ * generators without touching the disk.
+ */
+public class InMemoryOutput implements GeneratorOutput {
+    private final ConcurrentSkipListMap<String, byte[]> files = new ConcurrentSkipListMap<String, byte[]>();
+    private final ConcurrentMap<String, OutputStream> pending = new ConcurrentHashMap<String, OutputStream>();
+
+    @Override
+    public OutputStream newOutputStream(final String path) throws IOException {
+        OutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() throws IOException {
+                if (pending.remove(path, this)) {
+                    files.put(path, toByteArray());
+                }
+            }
+        };
+        pending.put(path, out);
+        return out;
+    }
+
+    @Override
+    public boolean exists(String path) {
+        return files.containsKey(path);
+    }
+
+    @Override
+    public void discard(String path) {
+        // a file discarded while it is written keeps its previous contents
+        if (pending.remove(path) == null) {
+            files.remove(path);
+        }
+    }
+
+    /**
+     * @return The generated files by relative path, sorted by path
+     */
+    public SortedMap<String, byte[]> getFiles() {
+        return Collections.unmodifiableSortedMap(files);
+    }
+
+    /**
+     * @param path Relative path of the file
+     * @return The contents of the file, or {@code null} if it was not generated
+     */
+    public byte[] getContents(String path) {
+        return files.get(path);
+    }
+
+    /**
+     * @param path Relative path of the file
+     * @return The contents of the file decoded as UTF-8, or {@code null} if it was not generated
+     */
+    public String getContentsAsString(String path) {
+        byte[] contents = files.get(path);
+        return contents == null ? null : new String(contents, StandardCharsets.UTF_8);
+    }
+
+    public int size() {
+        return files.size();
+    }
+
+    public void clear() {
+        files.clear();
+    }
+}
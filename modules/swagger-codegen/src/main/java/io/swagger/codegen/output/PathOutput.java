@@ -0,0 +1,109 @@
+package io.swagger.codegen.output;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Writes files below a {@link Path}, which may belong to any {@link java.nio.file.FileSystem},
+ * e.g. an in-memory file system such as jimfs, or a zip file system.
+ *
+ * Files are written to a temporary file next to them, which replaces the file once its stream is
+ * closed, so a file that fails to render keeps its previous contents.
+ */
+public class PathOutput implements GeneratorOutput {
+    private final Path root;
+    private final ConcurrentMap<String, OutputStream> pending = new ConcurrentHashMap<String, OutputStream>();
+
+    public PathOutput(Path root) {
+        this.root = root;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * @param path Relative path of the file
+     * @return The path of the file in the file system of the root
+     */
+    public Path resolve(String path) {
+        Path resolved = root;
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                resolved = resolved.resolve(segment);
+            }
+        }
+        return resolved;
+    }
+
+    @Override
+    public OutputStream newOutputStream(final String path) throws IOException {
+        final Path file = resolve(path);
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final Path temp = Files.createTempFile(parent, "." + file.getFileName(), ".tmp");
+        OutputStream out = new FilterOutputStream(new BufferedOutputStream(Files.newOutputStream(temp))) {
+            private boolean closed;
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                try {
+                    super.close();
+                    if (pending.remove(path, this)) {
+                        replace(temp, file);
+                    }
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        };
+        pending.put(path, out);
+        return out;
+    }
+
+    @Override
+    public boolean exists(String path) {
+        return Files.exists(resolve(path));
+    }
+
+    /**
+     * Drop a file. While the stream of the file is open, the file keeps its previous contents and
+     * closing the stream no longer replaces it.
+     */
+    @Override
+    public void discard(String path) {
+        if (pending.remove(path) != null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(resolve(path));
+        } catch (IOException e) {
+            // nothing more can be done about the incomplete file
+        }
+    }
+
+    private static void replace(Path temp, Path file) throws IOException {
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.swagger.codegen.output;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes files as entries of a zip stream, e.g. to a bundle file or straight into an HTTP
+ * response, without writing the files to disk first.
+ *
+ * Each file is buffered until its stream is closed and then added as a whole, so files may be
+ * written from several threads, and a file discarded before its stream is closed is left out. {@link #close()} finishes the zip stream.
+ */
+public class ZipOutput implements GeneratorOutput {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ZipOutput.class);
+
+    private final ZipOutputStream zip;
+    private final String prefix;
+    private final Set<String> entries = Collections.synchronizedSet(new HashSet<String>());
+    private final ConcurrentMap<String, OutputStream> pending = new ConcurrentHashMap<String, OutputStream>();
+
+    /**
+     * @param out Stream the zip is written to
+     */
+    public ZipOutput(OutputStream out) {
+        this(out, null);
+    }
+
+    /**
+     * @param out Stream the zip is written to
+     * @param folder Folder in the zip the files are written to, or {@code null} for the root of the zip
+     */
+    public ZipOutput(OutputStream out, String folder) {
+        this.zip = new ZipOutputStream(out);
+        this.prefix = folder == null || folder.isEmpty() ? "" : folder + "/";
+    }
+
+    @Override
+    public OutputStream newOutputStream(final String path) throws IOException {
+        OutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() throws IOException {
+                if (pending.remove(path, this)) {
+                    addEntry(path, buf, count);
+                }
+            }
+        };
+        pending.put(path, out);
+        return out;
+    }
+
+    @Override
+    public boolean exists(String path) {
+        return entries.contains(path);
+    }
+
+    @Override
+    public void discard(String path) {
+        // the file is not added when its stream is closed, but added entries cannot be removed from a zip stream
+        pending.remove(path);
+    }
+
+    /**
+     * Finish the zip and close the underlying stream.
+     *
+     * @throws IOException if the zip cannot be written
+     */
+    public void close() throws IOException {
+        synchronized (zip) {
+            zip.close();
+        }
+    }
+
+    private void addEntry(String path, byte[] contents, int length) throws IOException {
+        synchronized (zip) {
+            if (!entries.add(path)) {
+                // a zip cannot hold the same entry twice, keep the first version
+                LOGGER.warn("Skipped writing " + path + " to the zip again");
+                return;
+            }
+            zip.putNextEntry(new ZipEntry(prefix + path));
+            zip.write(contents, 0, length);
+            zip.closeEntry();
+        }
+    }
+}
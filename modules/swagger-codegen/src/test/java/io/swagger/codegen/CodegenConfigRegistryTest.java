@@ -0,0 +1,149 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.languages.JavaClientCodegen;
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class CodegenConfigRegistryTest {
+
+    public static class IndexedCodegen extends DefaultCodegen implements CodegenConfig {
+        static int instances;
+
+        public IndexedCodegen() {
+            instances++;
+        }
+
+        @Override
+        public String getName() {
+            return "indexed";
+        }
+
+        @Override
+        public String getHelp() {
+            return "";
+        }
+
+        @Override
+        public CodegenType getTag() {
+            return CodegenType.CLIENT;
+        }
+    }
+
+    public static class UnindexedCodegen extends DefaultCodegen implements CodegenConfig {
+        static int instances;
+
+        public UnindexedCodegen() {
+            instances++;
+        }
+
+        @Override
+        public String getName() {
+            return "unindexed";
+        }
+
+        @Override
+        public String getHelp() {
+            return "";
+        }
+
+        @Override
+        public CodegenType getTag() {
+            return CodegenType.SERVER;
+        }
+    }
+
+    @Test(description = "the generated index lists all registered generators")
+    public void indexIsUpToDateTest() throws IOException {
+        // without index files, the registry instantiates every generator to get its name and type
+        ClassLoader withoutIndex = new ResourceClassLoader(CodegenConfigRegistry.INDEX_RESOURCE, null);
+        StringBuilder expected = new StringBuilder();
+        new CodegenConfigRegistry(withoutIndex).writeIndex(expected);
+
+        StringBuilder actual = new StringBuilder();
+        new CodegenConfigRegistry(getClass().getClassLoader()).writeIndex(actual);
+        assertEquals(actual.toString(), expected.toString(),
+                CodegenConfigRegistry.INDEX_RESOURCE + " is out of date, rebuild the module");
+
+        List<String> indexLines = new ArrayList<String>();
+        for (String line : IOUtils.readLines(getClass().getClassLoader().getResourceAsStream(CodegenConfigRegistry.INDEX_RESOURCE), StandardCharsets.UTF_8)) {
+            if (!line.startsWith("#")) {
+                indexLines.add(line);
+            }
+        }
+        assertEquals(indexLines, Arrays.asList(expected.toString().split("\n")));
+    }
+
+    @Test(description = "lookups only instantiate the requested generator")
+    public void lookupTest() {
+        ClassLoader classLoader = new ResourceClassLoader(CodegenConfigRegistry.SERVICES_RESOURCE, "registry/services");
+        IndexedCodegen.instances = 0;
+        UnindexedCodegen.instances = 0;
+
+        CodegenConfigRegistry registry = new CodegenConfigRegistry(classLoader);
+        // the unindexed generator is instantiated once to get its name
+        assertEquals(IndexedCodegen.instances, 0);
+        assertEquals(UnindexedCodegen.instances, 1);
+        assertEquals(registry.getNames(), Arrays.asList("indexed", "unindexed"));
+        assertEquals(registry.getEntry("indexed").getType(), CodegenType.CLIENT);
+        assertEquals(registry.getEntry("unindexed").getType(), CodegenType.SERVER);
+
+        CodegenConfig first = registry.newInstance("indexed");
+        CodegenConfig second = registry.newInstance("indexed");
+        assertTrue(first instanceof IndexedCodegen);
+        assertNotSame(first, second);
+        assertEquals(IndexedCodegen.instances, 2);
+        assertEquals(UnindexedCodegen.instances, 1);
+        assertNull(registry.newInstance("missing"));
+    }
+
+    @Test(description = "the loader finds generators by name or class name")
+    public void loaderTest() {
+        assertTrue(CodegenConfigRegistry.getInstance().getNames().contains("java"));
+        assertSame(CodegenConfigRegistry.getInstance(), CodegenConfigRegistry.getInstance());
+
+        CodegenConfig config = CodegenConfigLoader.forName("java");
+        assertTrue(config instanceof JavaClientCodegen);
+        assertNotSame(CodegenConfigLoader.forName("java"), config);
+        assertTrue(CodegenConfigLoader.forName(JavaClientCodegen.class.getName()) instanceof JavaClientCodegen);
+        try {
+            CodegenConfigLoader.forName("missing");
+            fail("missing generator loaded");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("java\n"));
+        }
+    }
+
+    // serves the index of the registry test folder, and the given services file or none
+    private static class ResourceClassLoader extends ClassLoader {
+        private final String resource;
+        private final String replacement;
+
+        ResourceClassLoader(String resource, String replacement) {
+            super(CodegenConfigRegistryTest.class.getClassLoader());
+            this.resource = resource;
+            this.replacement = replacement;
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            if (name.equals(resource)) {
+                return replacement == null ? Collections.<URL>emptyEnumeration() : super.getResources(replacement);
+            }
+            if (name.equals(CodegenConfigRegistry.INDEX_RESOURCE) && replacement != null) {
+                return super.getResources("registry/generators.index");
+            }
+            return super.getResources(name);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package io.swagger.codegen;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Differential tests of the name transformers of {@link DefaultCodegen} against the regular
+ * expression based implementations they replaced, which are kept below as they were.
+ */
+public class DefaultCodegenNamingTest {
+
+    private static final List<String> NAMES = Arrays.asList(
+            "", "a", "A", "_", "-", ".", "/", "$", " ", "[]", "()", "__", "--", "..", "//",
+            "pet", "Pet", "petId", "PetId", "pet_id", "PET_ID", "pet-id", "pet id", "pet.id", "pet/id",
+            "io.swagger.model.Pet", "io/swagger/model/Pet", "io.swagger.model.Pet$Category",
+            "_underscore", "underscore_", "__double__", "-hyphen", "hyphen-", "--double--",
+            "UPPERCASE", "lowercase", "mixedCASEName", "HTTPServer", "getHTTPResponseCode", "XMLHttpRequest",
+            "ABCd", "AbC", "ABcDEf", "AAbBc", "ABCdEf", "ABCD", "v1", "v1Api", "api_v2_pets", "version2beta",
+            "status", "status2", "myName100", "name0", "9", "0009", "999999999",
+            "input[]", "input[a][b]", "input(a)(b)", "[[]]", "a[]b", "a[[b]]", "input name and age",
+            "$php_variable", "$ref", "@type", "#hash", "x-rate-limit", "X-Rate-Limit", "Content-Type",
+            "user.name", "user-name", "user name", "user/name", "_links", "self_link", "_1", "1_a",
+            "i", "I", "_i", "-i", "id", "ink", "big_i", "big-i", "title", "ıi", "İstanbul",
+            "straße", "ǅemal", "ﬃ", "ŉ", "µ", "ÿ", "ǰ", "ß_ß", "a_ß", "a-ß", "a_ǆ", "a-ǆ",
+            "café", "naïve", "日本語", "名前_名前", "Привет_мир", "привет-мир", "ελληνικά.όνομα",
+            "a_1", "a_A", "a__b", "a___b", "a_-b", "a-_b", "a-.b", "a._b", "a/_b", "a_/b", "a/-b",
+            "a.b.c", "a..b", ".a", "a.", "/a", "a/", "a$", "$a", "a$b", "a_$", "a_$b",
+            "a\tb", "a_\tb", "a-\tb", "a.\tb", "a/\tb", "a b", "a_ b", "a​b", "a\u0000b",
+            "a\nb", "a_\nb", "a-\nb", "a/\nb", "a\rb", "a\r\nb", "a\u0085b", "a b", "a b", "a\n",
+            "a\\b", "a_\\b", "a-\\b", "a/\\b", "a.\\b", "\\", "a\\", "\\n",
+            "/$", "a/$", "a-$", "a-$b", "-$", "$-a", "$/a",
+            "😀", "a_😀", "a-😀", "𐐨", "a_𐐨", "a-𐐨"
+    );
+
+    private static final char[] ALPHABET = ("aAbBiIzZ09_-./$ []()" + "\\\t\n\r\u0085 "
+            + "ßǆǅıİéµÿŉǰﬃσф日😀").toCharArray();
+
+    private static final Locale[] LOCALES = {Locale.ENGLISH, new Locale("tr", "TR"), new Locale("lt"), Locale.GERMAN};
+
+    @Test(description = "camelize gives the same result as the regular expression based implementation")
+    public void camelizeTest() {
+        for (Locale locale : LOCALES) {
+            Locale defaultLocale = Locale.getDefault();
+            Locale.setDefault(locale);
+            try {
+                for (String name : corpus()) {
+                    assertSame("camelize", name, camelizeResult(name, false), legacyCamelizeResult(name, false));
+                    assertSame("camelize", name, camelizeResult(name, true), legacyCamelizeResult(name, true));
+                }
+            } finally {
+                Locale.setDefault(defaultLocale);
+            }
+        }
+    }
+
+    @Test(description = "underscore gives the same result as the regular expression based implementation")
+    public void underscoreTest() {
+        for (String name : corpus()) {
+            assertSame("underscore", name, DefaultCodegen.underscore(name), legacyUnderscore(name));
+        }
+    }
+
+    @Test(description = "sanitizeName gives the same result as the regular expression based implementation")
+    public void sanitizeNameTest() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        for (boolean allowUnicodeIdentifiers : new boolean[]{false, true}) {
+            codegen.setAllowUnicodeIdentifiers(allowUnicodeIdentifiers);
+            for (String name : corpus()) {
+                assertSame("sanitizeName", name, codegen.sanitizeName(name), legacySanitizeName(name, allowUnicodeIdentifiers));
+            }
+        }
+        assertEquals(codegen.sanitizeName(null), "ERROR_UNKNOWN");
+    }
+
+    @Test(description = "generateNextName gives the same result as the regular expression based implementation")
+    public void generateNextNameTest() {
+        for (String name : corpus()) {
+            assertSame("generateNextName", name, nextNameResult(name), legacyNextNameResult(name));
+        }
+        assertEquals(DefaultCodegen.generateNextName("status"), "status2");
+        assertEquals(DefaultCodegen.generateNextName("status2"), "status3");
+        assertEquals(DefaultCodegen.generateNextName("myName100"), "myName101");
+        assertEquals(DefaultCodegen.generateNextName("name0009"), "name10");
+    }
+
+    private static List<String> corpus() {
+        List<String> corpus = new ArrayList<String>(NAMES);
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder name = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                name.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+            }
+            corpus.add(name.toString());
+        }
+        return corpus;
+    }
+
+    private static void assertSame(String method, String name, String actual, String expected) {
+        assertEquals(actual, expected, method + "(\"" + escape(name) + "\")");
+    }
+
+    private static String escape(String name) {
+        StringBuilder sb = new StringBuilder();
+        for (char c : name.toCharArray()) {
+            if (c < 0x20 || c > 0x7e) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // the legacy implementations throw on some inputs, e.g. "a-$", so compare the exception as well
+
+    private static String camelizeResult(String name, boolean lowercaseFirstLetter) {
+        try {
+            return DefaultCodegen.camelize(name, lowercaseFirstLetter);
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static String legacyCamelizeResult(String name, boolean lowercaseFirstLetter) {
+        try {
+            return legacyCamelize(name, lowercaseFirstLetter);
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static String nextNameResult(String name) {
+        try {
+            return DefaultCodegen.generateNextName(name);
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static String legacyNextNameResult(String name) {
+        try {
+            return legacyGenerateNextName(name);
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static String legacyUnderscore(String word) {
+        String firstPattern = "([A-Z]+)([A-Z][a-z])";
+        String secondPattern = "([a-z\\d])([A-Z])";
+        String replacementPattern = "$1_$2";
+        // Replace package separator with slash.
+        word = word.replaceAll("\\.", "/");
+        // Replace $ with two underscores for inner classes.
+        word = word.replaceAll("\\$", "__");
+        // Replace capital letter with _ plus lowercase letter.
+        word = word.replaceAll(firstPattern, replacementPattern);
+        word = word.replaceAll(secondPattern, replacementPattern);
+        word = word.replace('-', '_');
+        // replace space with underscore
+        word = word.replace(' ', '_');
+        word = word.toLowerCase();
+        return word;
+    }
+
+    private static String legacyGenerateNextName(String name) {
+        Pattern pattern = Pattern.compile("\\d+\\z");
+        Matcher matcher = pattern.matcher(name);
+        if (matcher.find()) {
+            String numStr = matcher.group();
+            int num = Integer.parseInt(numStr) + 1;
+            return name.substring(0, name.length() - numStr.length()) + num;
+        } else {
+            return name + "2";
+        }
+    }
+
+    private static String legacyCamelize(String word, boolean lowercaseFirstLetter) {
+        // Replace all slashes with dots (package separator)
+        Pattern p = Pattern.compile("\\/(.?)");
+        Matcher m = p.matcher(word);
+        while (m.find()) {
+            word = m.replaceFirst("." + m.group(1)/*.toUpperCase()*/);
+            m = p.matcher(word);
+        }
+
+        // case out dots
+        String[] parts = word.split("\\.");
+        StringBuilder f = new StringBuilder();
+        for (String z : parts) {
+            if (z.length() > 0) {
+                f.append(Character.toUpperCase(z.charAt(0))).append(z.substring(1));
+            }
+        }
+        word = f.toString();
+
+        m = p.matcher(word);
+        while (m.find()) {
+            word = m.replaceFirst("" + Character.toUpperCase(m.group(1).charAt(0)) + m.group(1).substring(1)/*.toUpperCase()*/);
+            m = p.matcher(word);
+        }
+
+        // Uppercase the class name.
+        p = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
+        m = p.matcher(word);
+        if (m.find()) {
+            String rep = m.group(1) + m.group(2).toUpperCase() + m.group(3);
+            rep = rep.replaceAll("\\$", "\\\\\\$");
+            word = m.replaceAll(rep);
+        }
+
+        // Remove all underscores (underscore_case to camelCase)
+        p = Pattern.compile("(_)(.)");
+        m = p.matcher(word);
+        while (m.find()) {
+            String original = m.group(2);
+            String upperCase = original.toUpperCase();
+            if (original.equals(upperCase)) {
+                word = word.replaceFirst("_", "");
+            } else {
+                word = m.replaceFirst(upperCase);
+            }
+            m = p.matcher(word);
+        }
+
+        // Remove all hyphens (hyphen-case to camelCase)
+        p = Pattern.compile("(-)(.)");
+        m = p.matcher(word);
+        while (m.find()) {
+            word = m.replaceFirst(m.group(2).toUpperCase());
+            m = p.matcher(word);
+        }
+
+        if (lowercaseFirstLetter && word.length() > 0) {
+            word = word.substring(0, 1).toLowerCase() + word.substring(1);
+        }
+
+        return word;
+    }
+
+    private static String legacySanitizeName(String name, boolean allowUnicodeIdentifiers) {
+        if (name == null) {
+            return "ERROR_UNKNOWN";
+        }
+
+        if ("$".equals(name)) {
+            return "value";
+        }
+
+        name = name.replaceAll("\\[\\]", "");
+        name = name.replaceAll("\\[", "_");
+        name = name.replaceAll("\\]", "");
+        name = name.replaceAll("\\(", "_");
+        name = name.replaceAll("\\)", "");
+        name = name.replaceAll("\\.", "_");
+        name = name.replaceAll("-", "_");
+        name = name.replaceAll(" ", "_");
+
+        if (allowUnicodeIdentifiers) {
+            name = Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS).matcher(name).replaceAll("");
+        } else {
+            name = name.replaceAll("\\W", "");
+        }
+
+        return name;
+    }
+}
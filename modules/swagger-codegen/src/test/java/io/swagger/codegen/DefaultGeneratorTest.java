@@ -1,11 +1,18 @@
 package io.swagger.codegen;
 
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
 import io.swagger.codegen.languages.JavaClientCodegen;
+import io.swagger.codegen.output.GeneratorOutput;
+import io.swagger.codegen.output.InMemoryOutput;
+import io.swagger.codegen.output.PathOutput;
+import io.swagger.codegen.output.ZipOutput;
 import io.swagger.models.ExternalDocs;
 import io.swagger.models.Swagger;
 import io.swagger.models.Tag;
 import io.swagger.parser.SwaggerParser;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.rules.TemporaryFolder;
 import org.testng.annotations.AfterMethod;
@@ -13,10 +20,19 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.io.*;
+import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static io.swagger.codegen.CodegenConstants.TEMPLATE_DIR;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -481,6 +497,451 @@ public class DefaultGeneratorTest {
         }
     }
 
+    @Test
+    public void testParallelRenderingMatchesSequential() throws Exception {
+        final File sequentialOutput = new File(folder.getRoot(), "sequential");
+        final File parallelOutput = new File(folder.getRoot(), "parallel");
+
+        List<File> sequential = generatePetstore(sequentialOutput, null, null);
+        List<File> parallel = generatePetstore(parallelOutput, "4", null);
+
+        assertEquals(parallel.size(), sequential.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            String relativePath = sequentialOutput.toURI().relativize(sequential.get(i).toURI()).getPath();
+            assertEquals(parallelOutput.toURI().relativize(parallel.get(i).toURI()).getPath(), relativePath);
+            assertEquals(FileUtils.readFileToString(parallel.get(i), UTF_8),
+                    FileUtils.readFileToString(sequential.get(i), UTF_8), relativePath);
+        }
+    }
+
+    @Test
+    public void testZipOutput() throws Exception {
+        final File fileOutput = new File(folder.getRoot(), "files");
+        final File zipOutput = new File(folder.getRoot(), "zip");
+
+        List<File> files = generatePetstore(fileOutput, null, null);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ZipOutput zip = new ZipOutput(bytes, "petstore");
+        List<File> zipped = generatePetstore(zipOutput, "4", zip);
+        zip.close();
+
+        assertFalse(zipOutput.exists());
+        assertEquals(zipped.size(), files.size());
+        Map<String, String> entries = new HashMap<String, String>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                entries.put(entry.getName(), IOUtils.toString(in, UTF_8));
+            }
+        }
+        assertEquals(entries.size(), files.size());
+        for (File file : files) {
+            String relativePath = fileOutput.toURI().relativize(file.toURI()).getPath();
+            assertEquals(entries.get("petstore/" + relativePath), FileUtils.readFileToString(file, UTF_8), relativePath);
+        }
+    }
+
+    @Test
+    public void testZipOutputLeavesOutDiscardedFiles() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ZipOutput zip = new ZipOutput(bytes);
+        OutputStream failed = zip.newOutputStream("failed.txt");
+        failed.write("trunc".getBytes(UTF_8));
+        zip.discard("failed.txt");
+        failed.close();
+        OutputStream written = zip.newOutputStream("written.txt");
+        written.write("complete".getBytes(UTF_8));
+        written.close();
+        zip.close();
+
+        assertFalse(zip.exists("failed.txt"));
+        List<String> names = new ArrayList<String>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                names.add(entry.getName());
+            }
+        }
+        assertEquals(names, Collections.singletonList("written.txt"));
+    }
+
+    @Test
+    public void testInMemoryOutput() throws Exception {
+        final File fileOutput = new File(folder.getRoot(), "files");
+        final File memoryOutput = new File(folder.getRoot(), "memory");
+
+        List<File> files = generatePetstore(fileOutput, null, null);
+        InMemoryOutput memory = new InMemoryOutput();
+        generatePetstore(memoryOutput, null, memory);
+
+        assertFalse(memoryOutput.exists());
+        assertEquals(memory.size(), files.size());
+        for (File file : files) {
+            String relativePath = fileOutput.toURI().relativize(file.toURI()).getPath();
+            assertEquals(memory.getContentsAsString(relativePath), FileUtils.readFileToString(file, UTF_8), relativePath);
+        }
+    }
+
+    @Test
+    public void testPathOutput() throws Exception {
+        final File fileOutput = new File(folder.getRoot(), "files");
+        final File zipFile = new File(folder.getRoot(), "petstore.zip");
+
+        List<File> files = generatePetstore(fileOutput, null, null);
+        // any file system will do, the zip file system ships with the JDK
+        URI uri = URI.create("jar:" + zipFile.toURI());
+        try (FileSystem fileSystem = FileSystems.newFileSystem(uri, Collections.singletonMap("create", "true"))) {
+            generatePetstore(new File(folder.getRoot(), "unused"), "4", new PathOutput(fileSystem.getPath("/petstore")));
+            for (File file : files) {
+                String relativePath = fileOutput.toURI().relativize(file.toURI()).getPath();
+                java.nio.file.Path path = fileSystem.getPath("/petstore", relativePath);
+                assertEquals(new String(Files.readAllBytes(path), UTF_8), FileUtils.readFileToString(file, UTF_8), relativePath);
+            }
+        }
+        assertFalse(new File(folder.getRoot(), "unused").exists());
+    }
+
+    @Test
+    public void testWriteToFileOverride() throws Exception {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(folder.getRoot().getAbsolutePath());
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+
+        final Map<String, String> written = new HashMap<String, String>();
+        DefaultGenerator generator = new DefaultGenerator() {
+            @Override
+            public File writeToFile(String filename, String contents) throws IOException {
+                written.put(filename, contents);
+                return super.writeToFile(filename, "// checked\n" + contents);
+            }
+        };
+        generator.opts(clientOptInput).generate();
+
+        final File order = new File(folder.getRoot(), MODEL_ORDER_FILE);
+        assertTrue(written.get(order.getPath()).contains("public class Order"));
+        assertTrue(FileUtils.readFileToString(order, UTF_8).startsWith("// checked\n"));
+        assertTrue(written.containsKey(new File(folder.getRoot(), API_CLIENT_FILE).getPath()));
+    }
+
+    @Test
+    public void testFailedRunReleasesOutput() throws Exception {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(new File(folder.getRoot(), "unused").getAbsolutePath());
+        final List<String> opened = new ArrayList<String>();
+        GeneratorOutput failing = new GeneratorOutput() {
+            @Override
+            public OutputStream newOutputStream(String path) throws IOException {
+                opened.add(path);
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public boolean exists(String path) {
+                return false;
+            }
+
+            @Override
+            public void discard(String path) {
+            }
+        };
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig)
+                .output(failing);
+
+        DefaultGenerator generator = new DefaultGenerator();
+        try {
+            generator.opts(clientOptInput).generate();
+            fail("the output is failing");
+        } catch (RuntimeException e) {
+            assertEquals(opened.size(), 1);
+        }
+
+        File file = new File(folder.getRoot(), "after/failure.txt");
+        generator.writeToFile(file.getAbsolutePath(), "written");
+        assertEquals(FileUtils.readFileToString(file, UTF_8), "written");
+        assertEquals(opened.size(), 1);
+    }
+
+    @Test
+    public void testFailedRenderKeepsPreviousFile() throws Exception {
+        final File output = folder.getRoot();
+        generatePetstore(output, null, null);
+        final File models = new File(output, MODEL_ORDER_FILE).getParentFile();
+        final Map<String, String> generated = new HashMap<String, String>();
+        for (File model : models.listFiles()) {
+            generated.put(model.getName(), FileUtils.readFileToString(model, UTF_8));
+        }
+
+        File templates = folder.newFolder("templates");
+        FileUtils.writeStringToFile(new File(templates, "model.mustache"), "partial {{#fail}}{{/fail}}", UTF_8);
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        codegenConfig.additionalProperties().put(TEMPLATE_DIR, templates.getAbsolutePath());
+        codegenConfig.additionalProperties().put("fail", new Mustache.Lambda() {
+            @Override
+            public void execute(Template.Fragment frag, Writer out) throws IOException {
+                throw new IOException("render failed");
+            }
+        });
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+        try {
+            new DefaultGenerator().opts(clientOptInput).generate();
+            fail("the model template fails");
+        } catch (RuntimeException e) {
+            // expected
+        }
+
+        // the first model fails to render, all models keep the contents of the first run
+        assertEquals(models.list().length, generated.size());
+        for (File model : models.listFiles()) {
+            assertEquals(FileUtils.readFileToString(model, UTF_8), generated.get(model.getName()));
+        }
+    }
+
+    @Test
+    public void testReachableModels() throws Exception {
+        InMemoryOutput output = generateSelection("getOrderById");
+        assertEquals(modelFiles(output), new HashSet<String>(Arrays.asList("Order.java")));
+        assertTrue(output.getFiles().containsKey("src/main/java/io/swagger/client/api/StoreApi.java"));
+        assertFalse(output.getContentsAsString("src/main/java/io/swagger/client/api/StoreApi.java").contains("placeOrder"));
+
+        output = generateSelection("addPet,getInventory");
+        assertEquals(modelFiles(output), new HashSet<String>(Arrays.asList("Pet.java", "Category.java", "Tag.java")));
+
+        output = generateSelection(null, new GeneratorProperties().set(CodegenConstants.APIS, "User"));
+        assertEquals(modelFiles(output), new HashSet<String>(Arrays.asList("User.java")));
+        assertTrue(output.getFiles().containsKey("src/main/java/io/swagger/client/api/UserApi.java"));
+        assertFalse(output.getFiles().containsKey("src/main/java/io/swagger/client/api/PetApi.java"));
+
+        // apis are selected by the groups of the generator, here the first segment of the path
+        CodegenConfig byPath = new JavaClientCodegen() {
+            @Override
+            public void addOperationToGroup(String tag, String resourcePath, io.swagger.models.Operation operation,
+                                            CodegenOperation co, Map<String, List<CodegenOperation>> operations) {
+                super.addOperationToGroup(resourcePath.split("/")[1], resourcePath, operation, co, operations);
+            }
+        };
+        output = generateSelection(byPath, null, new GeneratorProperties().set(CodegenConstants.APIS, "store"));
+        assertEquals(modelFiles(output), new HashSet<String>(Arrays.asList("Order.java")));
+        assertTrue(output.getFiles().containsKey("src/main/java/io/swagger/client/api/StoreApi.java"));
+    }
+
+    @Test
+    public void testOperationConvertedOnceForAllTags() throws Exception {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        swagger.getPath("/pet/{petId}").getGet().tag("store").tag("undeclared");
+        swagger.getPath("/pet").getPost().tag("store");
+        final Tag store = new Tag().name("store").description("Access to Petstore orders");
+        swagger.tag(store);
+        final int[] conversions = new int[1];
+        CodegenConfig codegenConfig = new JavaClientCodegen() {
+            @Override
+            public CodegenOperation fromOperation(String path, String httpMethod, io.swagger.models.Operation operation,
+                                                  Map<String, io.swagger.models.Model> definitions, Swagger swagger) {
+                conversions[0]++;
+                return super.fromOperation(path, httpMethod, operation, definitions, swagger);
+            }
+        };
+
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+        DefaultGenerator gen = new DefaultGenerator();
+        gen.opts(clientOptInput);
+        Map<String, List<CodegenOperation>> paths = gen.processPaths(swagger.getPaths());
+
+        assertEquals(conversions[0], 20);
+        CodegenOperation inPet = findCodegenOperationByOperationId(Collections.singletonMap("Pet", paths.get("Pet")), "getPetById");
+        CodegenOperation inStore = findCodegenOperationByOperationId(Collections.singletonMap("Store", paths.get("Store")), "getPetById");
+        CodegenOperation inUndeclared = findCodegenOperationByOperationId(Collections.singletonMap("Undeclared", paths.get("Undeclared")), "getPetById");
+        assertNotNull(inPet);
+        assertNotSame(inPet, inStore);
+        assertNotSame(inStore, inUndeclared);
+        // each copy is grouped on its own, but otherwise converted the same
+        assertEquals(inPet.baseName, "Pet");
+        assertEquals(inStore.baseName, "Store");
+        assertEquals(inUndeclared.allParams, inPet.allParams);
+        assertEquals(inStore.allParams, inPet.allParams);
+        assertEquals(inStore.responses, inPet.responses);
+        assertEquals(inStore.returnType, inPet.returnType);
+        assertNotSame(inStore.allParams.get(0), inPet.allParams.get(0));
+        assertSame(inPet.tags.get(1), store);
+        assertEquals(inPet.tags.get(2).getName(), "undeclared");
+        assertEquals(inStore.authMethods.size(), 2);
+
+        CodegenOperation addPet = findCodegenOperationByOperationId(Collections.singletonMap("Store", paths.get("Store")), "addPet");
+        assertSame(addPet.bodyParam, addPet.allParams.get(0));
+        assertNotSame(addPet.bodyParam, findCodegenOperationByOperationId(paths, "addPet").bodyParam);
+    }
+
+    @Test
+    public void testConcurrentRunsWithOwnProperties() throws Exception {
+        final String[] selections = {"Pet", "Order", "User", "Category"};
+        ExecutorService executor = Executors.newFixedThreadPool(selections.length);
+        try {
+            List<Future<InMemoryOutput>> outputs = new ArrayList<Future<InMemoryOutput>>();
+            for (int i = 0; i < 3; i++) {
+                for (final String model : selections) {
+                    outputs.add(executor.submit(new Callable<InMemoryOutput>() {
+                        @Override
+                        public InMemoryOutput call() {
+                            return generateModels(GeneratorProperties.isolated()
+                                    .set(CodegenConstants.MODELS, model)
+                                    .set(CodegenConstants.MODEL_DOCS, "false"));
+                        }
+                    }));
+                }
+            }
+            for (int i = 0; i < outputs.size(); i++) {
+                InMemoryOutput output = outputs.get(i).get();
+                String model = selections[i % selections.length];
+                assertEquals(modelFiles(output), Collections.singleton(model + ".java"));
+                assertFalse(output.getFiles().containsKey("docs/" + model + ".md"));
+                assertFalse(output.getFiles().containsKey("pom.xml"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertNull(System.getProperty(CodegenConstants.MODELS));
+    }
+
+    private static InMemoryOutput generateModels(GeneratorProperties generatorProperties) {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir("generated-code/concurrent");
+        InMemoryOutput output = new InMemoryOutput();
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig)
+                .output(output).generatorProperties(generatorProperties);
+        new DefaultGenerator().opts(clientOptInput).generate();
+        return output;
+    }
+
+    private static InMemoryOutput generateSelection(String operations) {
+        return generateSelection(operations, null);
+    }
+
+    private static InMemoryOutput generateSelection(String operations, GeneratorProperties generatorProperties) {
+        return generateSelection(new JavaClientCodegen(), operations, generatorProperties);
+    }
+
+    private static InMemoryOutput generateSelection(CodegenConfig codegenConfig, String operations,
+                                                    GeneratorProperties generatorProperties) {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        codegenConfig.setOutputDir("generated-code/selection");
+        InMemoryOutput output = new InMemoryOutput();
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig)
+                .output(output).generatorProperties(generatorProperties);
+
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.setGeneratorPropertyDefault(CodegenConstants.APIS, "true");
+        generator.setGeneratorPropertyDefault(CodegenConstants.REACHABLE_MODELS, "true");
+        if (operations != null) {
+            generator.setGeneratorPropertyDefault(CodegenConstants.OPERATIONS, operations);
+        }
+        generator.opts(clientOptInput).generate();
+        return output;
+    }
+
+    private static Set<String> modelFiles(InMemoryOutput output) {
+        final String modelFolder = "src/main/java/io/swagger/client/model/";
+        Set<String> models = new HashSet<String>();
+        for (String file : output.getFiles().keySet()) {
+            if (file.startsWith(modelFolder)) {
+                models.add(file.substring(modelFolder.length()));
+            }
+        }
+        return models;
+    }
+
+    @Test
+    public void testIncrementalGeneration() throws Exception {
+        final File output = folder.getRoot();
+        final File order = new File(output, MODEL_ORDER_FILE);
+
+        DefaultGenerator generator = generateIncremental(output, new SwaggerParser().read("src/test/resources/petstore.json"));
+        GenerationManifest manifest = generator.getGenerationManifest();
+        assertTrue(manifest.getWrittenCount() > 0);
+        assertEquals(manifest.getUnchangedCount(), 0);
+        assertTrue(new File(output, GenerationManifest.MANIFEST_FILE).isFile());
+        final int fileCount = manifest.getWrittenCount();
+
+        // nothing changed, so nothing is written
+        assertTrue(order.setLastModified(order.lastModified() - 60000));
+        final long lastModified = order.lastModified();
+        generator = generateIncremental(output, new SwaggerParser().read("src/test/resources/petstore.json"));
+        manifest = generator.getGenerationManifest();
+        assertEquals(manifest.getWrittenCount(), 0);
+        // existing test files are never overwritten, so they are not counted as unchanged
+        assertTrue(manifest.getUnchangedCount() > 0 && manifest.getUnchangedCount() < fileCount);
+        assertEquals(order.lastModified(), lastModified);
+
+        // files modified outside the generator are rewritten
+        changeContent(order);
+        generator = generateIncremental(output, new SwaggerParser().read("src/test/resources/petstore.json"));
+        manifest = generator.getGenerationManifest();
+        assertEquals(manifest.getWrittenCount(), 1);
+        assertNotEquals(FileUtils.readFileToString(order, UTF_8), TEST_SKIP_OVERWRITE);
+
+        // files no longer produced by the spec are removed
+        Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        swagger.getDefinitions().remove("Order");
+        generator = generateIncremental(output, swagger);
+        manifest = generator.getGenerationManifest();
+        assertFalse(order.exists());
+        assertFalse(new File(output, "docs/Order.md").exists());
+        assertTrue(manifest.getDeletedCount() >= 2);
+        assertTrue(new File(output, "/src/main/java/io/swagger/client/model/Pet.java").exists());
+    }
+
+    @Test
+    public void testIncrementalGenerationRehashesRacyFiles() throws Exception {
+        final File output = folder.getRoot();
+        final File file = new File(output, "file.txt");
+        GenerationManifest manifest = new GenerationManifest(output.getPath());
+        assertTrue(manifest.write(file, "first".getBytes(UTF_8)));
+        manifest.save();
+
+        // the file is changed again within the tick in which it was recorded and the manifest saved
+        final long lastModified = file.lastModified();
+        FileUtils.writeStringToFile(file, "other", UTF_8);
+        assertTrue(file.setLastModified(lastModified));
+        assertTrue(manifest.getManifestFile().setLastModified(lastModified));
+
+        manifest = new GenerationManifest(output.getPath());
+        assertTrue(manifest.write(file, "first".getBytes(UTF_8)));
+        assertEquals(FileUtils.readFileToString(file, UTF_8), "first");
+    }
+
+    private static DefaultGenerator generateIncremental(File output, Swagger swagger) {
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        codegenConfig.additionalProperties().put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.setGeneratorPropertyDefault(CodegenConstants.INCREMENTAL, "true");
+        generator.setGeneratorPropertyDefault(CodegenConstants.PRUNE_STALE_FILES, "true");
+        generator.opts(clientOptInput).generate();
+        return generator;
+    }
+
+    private static List<File> generatePetstore(File output, String workers, GeneratorOutput generatorOutput) {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        codegenConfig.additionalProperties().put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig)
+                .output(generatorOutput);
+
+        DefaultGenerator generator = new DefaultGenerator();
+        if (workers != null) {
+            generator.setGeneratorPropertyDefault(CodegenConstants.WORKERS, workers);
+        }
+        return generator.opts(clientOptInput).generate();
+    }
+
     private void assertOperationHasTags(CodegenOperation op, List<Tag> expectedTags) {
         assertNotNull(op.tags);
         assertEquals(op.tags.size(), expectedTags.size());
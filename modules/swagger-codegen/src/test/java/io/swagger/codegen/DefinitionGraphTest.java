@@ -0,0 +1,102 @@
+package io.swagger.codegen;
+
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.RefModel;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.parser.SwaggerParser;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class DefinitionGraphTest {
+
+    @Test(description = "indexes inheritance and composition of allOf definitions")
+    public void compositionTest() {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/2_0/allOfTest.yaml");
+        final DefinitionGraph graph = new DefinitionGraph(swagger.getDefinitions());
+
+        assertEquals(graph.getNames(), swagger.getDefinitions().keySet());
+        assertEquals(graph.getReferences("SimpleComposition"), new HashSet<String>(Arrays.asList("ModelOne", "ModelTwo")));
+        assertEquals(graph.getReferences("CompositionOfSimpleComposition"), new HashSet<String>(Arrays.asList("SimpleComposition", "ModelThree")));
+
+        // the first interface is the parent when there is no explicit one
+        assertEquals(graph.getParent("SimpleComposition"), "ModelOne");
+        assertNull(graph.getParent("ModelOne"));
+        assertEquals(graph.getInheritanceDepth("ModelOne"), 0);
+        assertEquals(graph.getInheritanceDepth("SimpleComposition"), 1);
+        assertEquals(graph.getInheritanceDepth("CompositionOfSimpleComposition"), 2);
+        assertTrue(graph.getReachable(Collections.singleton("ModelOne"), true).contains("SimpleComposition"));
+        assertFalse(graph.getReachable(Collections.singleton("ModelOne")).contains("SimpleComposition"));
+    }
+
+    @Test(description = "indexes property references and answers reachability queries")
+    public void propertyReferencesTest() {
+        Map<String, Model> definitions = new LinkedHashMap<String, Model>();
+        definitions.put("Pet", new ModelImpl()
+                .property("category", new RefProperty("Category"))
+                .property("tags", new ArrayProperty(new RefProperty("Tag")))
+                .property("attributes", new MapProperty(new RefProperty("Attribute")))
+                .property("owner", new ObjectProperty().property("address", new RefProperty("Address")))
+                .property("missing", new RefProperty("Missing"))
+                .property("name", new StringProperty()));
+        definitions.put("Category", new ModelImpl().property("parent", new RefProperty("Category")));
+        definitions.put("Tag", new ModelImpl().property("pet", new RefProperty("Pet")));
+        definitions.put("Attribute", new ModelImpl());
+        definitions.put("Address", new ModelImpl());
+        definitions.put("Unused", new ModelImpl());
+        definitions.put("Tags", new ModelImpl().additionalProperties(new RefProperty("Tag")));
+        ComposedModel dog = new ComposedModel();
+        dog.parent(new RefModel("Pet"));
+        dog.child(new ModelImpl().property("bark", new StringProperty()));
+        definitions.put("Dog", dog);
+
+        final DefinitionGraph graph = new DefinitionGraph(definitions);
+
+        assertEquals(graph.getPropertyReferences("Pet"), new HashSet<String>(Arrays.asList("Category", "Tag", "Attribute", "Address")));
+        assertEquals(graph.getParent("Dog"), "Pet");
+        assertEquals(graph.getInheritanceDepth("Dog"), 1);
+        assertEquals(graph.getReferences("Dog"), Collections.singleton("Pet"));
+        assertEquals(graph.getPropertyReferences("Tags"), Collections.singleton("Tag"));
+
+        assertEquals(graph.getReachable(Collections.singleton("Tag")),
+                new HashSet<String>(Arrays.asList("Tag", "Pet", "Category", "Attribute", "Address")));
+        assertEquals(graph.getReachable(Arrays.asList("Unused", "Missing")), Collections.singleton("Unused"));
+        assertTrue(graph.isReachable("Dog", "Address"));
+        assertFalse(graph.isReachable("Pet", "Dog"));
+        assertFalse(graph.isReachable("Pet", "Missing"));
+        assertTrue(graph.getReachable(Collections.singleton("Pet"), true).contains("Dog"));
+
+        Operation operation = new Operation()
+                .parameter(new BodyParameter().schema(new RefModel("Tag")))
+                .response(200, new Response().schema(new ArrayProperty(new RefProperty("Address"))))
+                .response(404, new Response().description("not found"));
+        List<Parameter> pathParameters = Collections.<Parameter>singletonList(new BodyParameter().schema(new RefModel("Missing")));
+        assertEquals(graph.getOperationReferences(operation, pathParameters), new HashSet<String>(Arrays.asList("Tag", "Address")));
+    }
+
+    @Test(description = "an empty or missing set of definitions gives an empty graph")
+    public void emptyTest() {
+        final DefinitionGraph graph = new DefinitionGraph(null);
+        assertTrue(graph.getNames().isEmpty());
+        assertTrue(graph.getReferences("Pet").isEmpty());
+        assertEquals(graph.getInheritanceDepth("Pet"), 0);
+    }
+}
@@ -1,10 +1,14 @@
 package io.swagger.codegen;
 
+import io.swagger.codegen.examples.ExampleCache;
 import io.swagger.codegen.examples.ExampleGenerator;
 import io.swagger.models.Model;
 import io.swagger.models.ModelImpl;
 import io.swagger.models.Xml;
 import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.DoubleProperty;
+import io.swagger.models.properties.IntegerProperty;
+import io.swagger.models.properties.Property;
 import io.swagger.models.properties.RefProperty;
 import io.swagger.models.properties.StringProperty;
 
@@ -14,6 +18,7 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -70,4 +75,40 @@ public class ExampleGeneratorTest {
         Assert.assertEqualsNoOrder(types.toArray(new String[types.size()]),
                 expectedTypes.toArray(new String[expectedTypes.size()]));
     }
+
+    @Test(description = "examples rendered once per shape and media type are the ones rendered for every operation")
+    public void cachedExamplesTest() {
+        final List<String> mediaTypes = Arrays.asList("application/json", "application/xml");
+        final List<Property> shapes = Arrays.<Property>asList(new RefProperty("Page"), new ArrayProperty(new RefProperty("Order")),
+                new RefProperty("Order"), new IntegerProperty(), new RefProperty("Page"), new ArrayProperty(new RefProperty("Order")));
+
+        // each run has its own spec, as examples are stored on the models
+        final ExampleCache cache = new ExampleCache(ExampleCache.DEFAULT_MAXIMUM_SIZE);
+        final Map<String, Model> cachedDefinitions = definitions();
+        final Map<String, Model> definitions = definitions();
+        for (int operation = 0; operation < 3; operation++) {
+            for (Property shape : shapes) {
+                Assert.assertEquals(new ExampleGenerator(cachedDefinitions, cache).generate(null, mediaTypes, shape),
+                        new ExampleGenerator(definitions).generate(null, mediaTypes, shape));
+            }
+            Assert.assertEquals(new ExampleGenerator(cachedDefinitions, cache).generate(null, mediaTypes, "Order"),
+                    new ExampleGenerator(definitions).generate(null, mediaTypes, "Order"));
+        }
+        // Page, Order[], Order and the Order model, in JSON and XML
+        Assert.assertEquals(cache.size(), 8);
+        Assert.assertEquals(cache.getStats().missCount(), 8);
+
+        // another spec
+        new ExampleGenerator(definitions(), cache);
+        Assert.assertEquals(cache.size(), 0);
+    }
+
+    private static Map<String, Model> definitions() {
+        final Map<String, Model> definitions = new HashMap<String, Model>();
+        definitions.put("Order", new ModelImpl().name("Order").property("id", new IntegerProperty())
+                .property("price", new DoubleProperty()).property("status", new StringProperty()));
+        definitions.put("Page", new ModelImpl().name("Page").property("total", new IntegerProperty())
+                .property("items", new ArrayProperty(new RefProperty("Order"))));
+        return definitions;
+    }
 }
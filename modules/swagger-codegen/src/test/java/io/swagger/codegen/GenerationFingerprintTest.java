@@ -0,0 +1,109 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.config.CodegenConfigurator;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class GenerationFingerprintTest {
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File spec;
+    private File templates;
+    private File output;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+        spec = folder.newFile("spec.yaml");
+        FileUtils.writeStringToFile(spec, "swagger: '2.0'\ninfo:\n  title: test\n  version: 1.0.0\npaths: {}\n"
+                + "definitions:\n  Pet:\n    $ref: './pet.yaml'\n", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(folder.newFile("pet.yaml"), "type: object\n", StandardCharsets.UTF_8);
+        templates = folder.newFolder("templates");
+        FileUtils.writeStringToFile(new File(templates, "model.mustache"), "{{classname}}", StandardCharsets.UTF_8);
+        output = new File(folder.getRoot(), "output");
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test(description = "the run is up to date until an input changes")
+    public void upToDateTest() throws Exception {
+        assertFalse(fingerprint("java").isUpToDate(output));
+        fingerprint("java").save(output);
+        assertTrue(new File(output, GenerationFingerprint.FINGERPRINT_FILE).isFile());
+        assertTrue(fingerprint("java").isUpToDate(output));
+
+        assertFalse(fingerprint("jaxrs").isUpToDate(output));
+        FileUtils.writeStringToFile(new File(templates, "model.mustache"), "{{name}}", StandardCharsets.UTF_8);
+        assertFalse(fingerprint("java").isUpToDate(output));
+        fingerprint("java").save(output);
+        assertTrue(fingerprint("java").isUpToDate(output));
+        FileUtils.writeStringToFile(new File(folder.getRoot(), "pet.yaml"), "type: string\n", StandardCharsets.UTF_8);
+        assertFalse(fingerprint("java").isUpToDate(output));
+    }
+
+    @Test(description = "the run is out of date when a jar of the class path is rebuilt")
+    public void classpathTest() throws Exception {
+        final File jar = folder.newFile("generator.jar");
+        FileUtils.writeStringToFile(jar, "generator", StandardCharsets.UTF_8);
+        fingerprint("java").putClasspath("plugin", Collections.singletonList(jar)).save(output);
+        assertTrue(fingerprint("java").putClasspath("plugin", Collections.singletonList(jar)).isUpToDate(output));
+        assertFalse(fingerprint("java").isUpToDate(output));
+
+        assertTrue(jar.setLastModified(jar.lastModified() - 60000));
+        assertFalse(fingerprint("java").putClasspath("plugin", Collections.singletonList(jar)).isUpToDate(output));
+    }
+
+    @Test(description = "the settings are compared on their own, listing the input files of the previous run")
+    public void settingsTest() throws Exception {
+        assertNull(fingerprint("java").getUnchangedSettingsFiles(output));
+        fingerprint("java").save(output);
+
+        final List<File> files = fingerprint("java").getUnchangedSettingsFiles(output);
+        assertEquals(files, Arrays.asList(spec.getAbsoluteFile(), new File(folder.getRoot(), "pet.yaml").getAbsoluteFile(),
+                templates.getAbsoluteFile()));
+        assertNull(fingerprint("jaxrs").getUnchangedSettingsFiles(output));
+        // the input files aren't hashed for the comparison
+        FileUtils.writeStringToFile(new File(templates, "model.mustache"), "{{name}}", StandardCharsets.UTF_8);
+        assertNotNull(fingerprint("java").getUnchangedSettingsFiles(output));
+        assertFalse(fingerprint("java").isUpToDate(output));
+    }
+
+    @Test(description = "a run whose inputs can't all be hashed is never up to date")
+    public void unknownTest() throws Exception {
+        fingerprint("java").save(output);
+        GenerationFingerprint fingerprint = fingerprint("java").putSpec("http://localhost:1/spec.yaml", null);
+        assertNull(fingerprint.getValue());
+        assertFalse(fingerprint.isUpToDate(output));
+        fingerprint.save(output);
+        assertFalse(new File(output, GenerationFingerprint.FINGERPRINT_FILE).exists());
+    }
+
+    private GenerationFingerprint fingerprint(String lang) {
+        CodegenConfigurator configurator = new CodegenConfigurator()
+                .setLang(lang)
+                .setInputSpec(spec.getAbsolutePath())
+                .setTemplateDir(templates.getAbsolutePath())
+                .setOutputDir(output.getAbsolutePath())
+                .addAdditionalProperty("b", "2")
+                .addAdditionalProperty("a", "1");
+        return new GenerationFingerprint()
+                .putSettings("configurator", configurator)
+                .putSpec(configurator.getInputSpec(), null)
+                .putFile("templates", templates);
+    }
+}
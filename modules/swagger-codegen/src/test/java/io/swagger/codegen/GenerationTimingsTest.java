@@ -0,0 +1,105 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.codegen.languages.JavaClientCodegen;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+
+import static org.testng.Assert.*;
+
+public class GenerationTimingsTest {
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test(description = "the phases of a run are written to the report of the timings property")
+    public void reportTest() throws Exception {
+        File report = new File(folder.getRoot(), "timings/report.json");
+        DefaultGenerator generator = generate(new GeneratorProperties()
+                .set(CodegenConstants.TIMINGS, report.getAbsolutePath()));
+
+        GenerationTimings timings = generator.getTimings();
+        assertTrue(timings.isEnabled());
+        assertEquals(timings.getCount(GenerationTimings.GENERATE), 1);
+        assertEquals(timings.getCount(GenerationTimings.FROM_MODEL), 6);
+        assertEquals(timings.getCount(GenerationTimings.FROM_OPERATION), 20);
+        assertTrue(timings.getItems(GenerationTimings.FROM_MODEL).contains("Pet"));
+        assertTrue(timings.getItems(GenerationTimings.FROM_OPERATION).contains("getPetById"));
+        assertTrue(timings.getItems(GenerationTimings.RENDER).contains("model.mustache"));
+        assertTrue(timings.getCount(GenerationTimings.WRITE) > 0);
+        assertTrue(timings.getCount(GenerationTimings.IGNORE_CHECK) >= timings.getCount(GenerationTimings.RENDER));
+        assertTrue(timings.getNanos(GenerationTimings.GENERATE) >= timings.getNanos(GenerationTimings.PROCESS_MODELS));
+
+        JsonNode json = Json.mapper().readTree(report);
+        assertEquals(json.get("generator").asText(), "java");
+        assertEquals(json.get("phases").get(0).get("name").asText(), GenerationTimings.CONFIGURE);
+        for (JsonNode phase : json.get("phases")) {
+            if (GenerationTimings.FROM_MODEL.equals(phase.get("name").asText())) {
+                assertEquals(phase.get("count").asLong(), 6);
+                assertEquals(phase.get("items").size(), 6);
+                long first = phase.get("items").get(0).get("nanos").asLong();
+                long last = phase.get("items").get(5).get("nanos").asLong();
+                assertTrue(first >= last, "the slowest model comes first");
+                assertEquals(phase.has("allocatedBytes"), GenerationTimings.isAllocationSupported());
+            }
+        }
+    }
+
+    @Test(description = "each run is measured by new timings, unless the timings were set")
+    public void perRunTest() throws Exception {
+        File report = new File(folder.getRoot(), "report.json");
+        DefaultGenerator generator = new DefaultGenerator();
+        ClientOptInput input = input(new GeneratorProperties().set(CodegenConstants.TIMINGS, report.getAbsolutePath()));
+        generator.opts(input).generate();
+        GenerationTimings first = generator.getTimings();
+        generator.opts(input).generate();
+        assertNotSame(generator.getTimings(), first);
+        assertEquals(generator.getTimings().getCount(GenerationTimings.GENERATE), 1);
+        assertEquals(first.getCount(GenerationTimings.GENERATE), 1);
+
+        GenerationTimings timings = new GenerationTimings();
+        generator.setTimings(timings);
+        generator.opts(input).generate();
+        generator.opts(input).generate();
+        assertSame(generator.getTimings(), timings);
+        assertEquals(timings.getCount(GenerationTimings.GENERATE), 2);
+    }
+
+    @Test(description = "runs aren't measured by default")
+    public void disabledTest() throws Exception {
+        DefaultGenerator generator = generate(GeneratorProperties.isolated());
+
+        assertFalse(generator.getTimings().isEnabled());
+        assertEquals(generator.getTimings().getCount(GenerationTimings.GENERATE), 0);
+    }
+
+    private DefaultGenerator generate(GeneratorProperties properties) {
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(input(properties)).generate();
+        return generator;
+    }
+
+    private ClientOptInput input(GeneratorProperties properties) {
+        Swagger swagger = new SwaggerParser().read("src/test/resources/2_0/petstore.yaml");
+        CodegenConfig config = new JavaClientCodegen();
+        config.setOutputDir(new File(folder.getRoot(), "output").getAbsolutePath());
+        return new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(config)
+                .generatorProperties(properties);
+    }
+}
@@ -0,0 +1,48 @@
+package io.swagger.codegen;
+
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+
+import static org.testng.Assert.*;
+
+public class GeneratorPropertiesTest {
+    private static final String KEY = "generatorPropertiesTest";
+
+    @Test(description = "settings of the run take precedence over the system properties")
+    public void fallbackTest() {
+        System.setProperty(KEY, "system");
+        try {
+            GeneratorProperties properties = new GeneratorProperties();
+            assertEquals(properties.get(KEY), "system");
+            assertTrue(properties.isSet(KEY));
+
+            properties.set(KEY, "run");
+            assertEquals(properties.get(KEY), "run");
+            assertEquals(System.getProperty(KEY), "system");
+
+            // null hides the system property, reset falls back to it again
+            properties.set(KEY, null);
+            assertNull(properties.get(KEY));
+            assertFalse(properties.isSet(KEY));
+            assertEquals(properties.get(KEY, "default"), "default");
+            properties.reset(KEY);
+            assertEquals(properties.get(KEY), "system");
+
+            assertNull(GeneratorProperties.isolated().get(KEY));
+            assertFalse(GeneratorProperties.isolated().isSystemPropertiesFallback());
+        } finally {
+            System.clearProperty(KEY);
+        }
+    }
+
+    @Test(description = "settings can be given and listed as a map")
+    public void mapTest() {
+        GeneratorProperties properties = new GeneratorProperties(Collections.singletonMap(CodegenConstants.MODELS, "Pet"))
+                .set("debugModels", "");
+        assertEquals(properties.get(CodegenConstants.MODELS), "Pet");
+        assertEquals(properties.asMap().size(), 2);
+        assertEquals(properties.asMap().get("debugModels"), "");
+        assertNull(properties.get("undefined"));
+    }
+}
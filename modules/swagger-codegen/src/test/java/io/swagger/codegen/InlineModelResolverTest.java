@@ -988,5 +988,39 @@ public class InlineModelResolverTest {
         assertTrue(inlineProp instanceof ObjectProperty);
         ObjectProperty op = (ObjectProperty) inlineProp;
         assertNull(op.getProperties());
-    }    
+    }
+
+    @Test
+    public void testFingerprintMatchesJson() {
+        Model address = new ModelImpl()
+                .property("street", new StringProperty())
+                .property("city", new StringProperty());
+        Model sameAddress = new ModelImpl()
+                .property("street", new StringProperty())
+                .property("city", new StringProperty());
+        Model reordered = new ModelImpl()
+                .property("city", new StringProperty())
+                .property("street", new StringProperty());
+        Model described = new ModelImpl()
+                .description("an address")
+                .property("street", new StringProperty())
+                .property("city", new StringProperty());
+
+        Model[] models = {address, sameAddress, reordered, described, new ArrayModel().items(new StringProperty())};
+        for (Model a : models) {
+            for (Model b : models) {
+                assertEquals(Json.pretty(a).equals(Json.pretty(b)),
+                        InlineModelResolver.fingerprint(a).equals(InlineModelResolver.fingerprint(b)));
+            }
+        }
+
+        InlineModelResolver resolver = new InlineModelResolver();
+        resolver.addGenerated("Address", address);
+        assertEquals("Address", resolver.matchGenerated(sameAddress));
+        assertNull(resolver.matchGenerated(reordered));
+        assertNull(resolver.matchGenerated(described));
+
+        resolver.setSkipMatches(true);
+        assertNull(resolver.matchGenerated(sameAddress));
+    }
 }
@@ -0,0 +1,110 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.languages.JavaClientCodegen;
+import io.swagger.codegen.output.InMemoryOutput;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class NameCacheTest {
+
+    @Test(description = "conversions are memoized per conversion, with their own statistics")
+    public void memoizesConversionsTest() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        final NameCache cache = new NameCache(codegen, 100);
+        codegen.setNameCache(cache);
+        assertTrue(cache.isEnabled());
+
+        final String modelName = codegen.toModelName("pet_category");
+        assertEquals(cache.toModelName("pet_category"), modelName);
+        assertEquals(cache.toModelName("pet_category"), modelName);
+        assertEquals(cache.toVarName("pet_category"), codegen.toVarName("pet_category"));
+
+        assertEquals(cache.getStats(NameCache.Conversion.MODEL_NAME).hitCount(), 1);
+        assertEquals(cache.getStats(NameCache.Conversion.MODEL_NAME).missCount(), 1);
+        assertEquals(cache.getStats(NameCache.Conversion.VAR_NAME).missCount(), 1);
+        assertEquals(cache.getStats(NameCache.Conversion.API_NAME).requestCount(), 0);
+        assertEquals(cache.getStats().size(), NameCache.Conversion.values().length);
+    }
+
+    @Test(description = "results are dropped when the options they depend on change")
+    public void clearsOnOptionChangeTest() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        codegen.setNameCache(new NameCache(codegen, 100));
+
+        final String modelName = codegen.getNameCache().toModelName("pet");
+        codegen.setModelNamePrefix("My");
+        final String prefixed = codegen.getNameCache().toModelName("pet");
+        assertNotEquals(prefixed, modelName);
+        assertEquals(prefixed, codegen.toModelName("pet"));
+        codegen.setModelNameSuffix("Dto");
+        assertNotEquals(codegen.getNameCache().toModelName("pet"), prefixed);
+        assertEquals(codegen.getNameCache().toModelName("pet"), codegen.toModelName("pet"));
+    }
+
+    @Test(description = "results are kept until the cache is cleared after changing the import mappings or reserved words")
+    public void clearsOnSettingChangeTest() {
+        final JavaClientCodegen codegen = new JavaClientCodegen();
+
+        assertEquals(codegen.getNameCache().toModelName("pet"), "Pet");
+        codegen.importMapping().put("pet", "com.example.Pet");
+        assertEquals(codegen.getNameCache().toModelName("pet"), "Pet");
+        codegen.getNameCache().clear();
+        assertEquals(codegen.getNameCache().toModelName("pet"), "com.example.Pet");
+        codegen.importMapping().remove("pet");
+        codegen.getNameCache().clear();
+        assertEquals(codegen.getNameCache().toModelName("pet"), "Pet");
+
+        assertEquals(codegen.getNameCache().toModelName("animal"), "Animal");
+        codegen.reservedWords().add("animal");
+        codegen.getNameCache().clear();
+        assertEquals(codegen.getNameCache().toModelName("animal"), "ModelAnimal");
+    }
+
+    @Test(description = "a result converted while the cache is cleared isn't kept")
+    public void clearWhileConvertingTest() {
+        final DefaultCodegen codegen = new DefaultCodegen() {
+            @Override
+            public String toModelName(String name) {
+                String result = super.toModelName(name);
+                getNameCache().clear();
+                return result;
+            }
+        };
+        codegen.setNameCache(new NameCache(codegen, 100));
+
+        assertEquals(codegen.getNameCache().toModelName("pet"), "Pet");
+        assertEquals(codegen.getNameCache().toModelName("pet"), "Pet");
+        assertEquals(codegen.getNameCache().getStats(NameCache.Conversion.MODEL_NAME).hitCount(), 0);
+    }
+
+    @Test(description = "a disabled cache calls the generator every time")
+    public void disabledTest() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        final NameCache cache = codegen.getNameCache();
+        assertFalse(cache.isEnabled());
+
+        assertEquals(cache.toModelName("pet"), "Pet");
+        assertEquals(cache.toModelName("pet"), "Pet");
+        assertEquals(cache.getStats(NameCache.Conversion.MODEL_NAME).requestCount(), 0);
+    }
+
+    @Test(description = "the java generator opts in and reuses its names during generation")
+    public void generateTest() {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        final JavaClientCodegen codegen = new JavaClientCodegen();
+        codegen.setOutputDir("generated-code/name-cache");
+        assertTrue(codegen.getNameCache().isEnabled());
+
+        ClientOptInput input = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegen)
+                .output(new InMemoryOutput());
+        new DefaultGenerator().opts(input).generate();
+
+        NameCache cache = codegen.getNameCache();
+        assertTrue(cache.getStats(NameCache.Conversion.MODEL_NAME).hitCount() > 0);
+        assertTrue(cache.getStats(NameCache.Conversion.VAR_NAME).hitCount() > 0);
+        assertTrue(cache.getStats(NameCache.Conversion.API_NAME).requestCount() > 0);
+    }
+}
@@ -0,0 +1,194 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.swagger.codegen.languages.JavaClientCodegen;
+import io.swagger.codegen.languages.TypeScriptAngularClientCodegen;
+import io.swagger.codegen.output.InMemoryOutput;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.testng.Assert.*;
+
+public class SpecCacheTest {
+
+    private static final String PET = "type: object\nproperties:\n  name:\n    type: string\n";
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test(description = "a spec read again is a copy restored from the cache, which generates the same files")
+    public void restoresCopiesTest() throws Exception {
+        final SpecCache cache = new SpecCache(SpecCache.DEFAULT_MAXIMUM_SIZE);
+        final String location = "src/test/resources/2_0/petstore-with-fake-endpoints-models-for-testing.yaml";
+
+        Swagger first = cache.read(location, null, true);
+        Swagger second = cache.read(location, null, true);
+        assertEquals(cache.getStats().missCount(), 1);
+        assertEquals(cache.getStats().hitCount(), 1);
+        assertNotSame(second, first);
+        assertEquals(Json.pretty(second), Json.pretty(new SwaggerParser().read(location, null, true)));
+
+        // generating changes the spec, e.g. inline models are added to its definitions, not the cached one
+        InMemoryOutput expected = generate(new SwaggerParser().read(location, null, true));
+        for (Swagger swagger : Arrays.asList(first, second, cache.read(location, null, true))) {
+            InMemoryOutput output = generate(swagger);
+            assertEquals(output.getFiles().keySet(), expected.getFiles().keySet());
+            for (String path : expected.getFiles().keySet()) {
+                assertEquals(output.getContentsAsString(path), expected.getContentsAsString(path), path);
+            }
+        }
+    }
+
+    @Test(description = "composed models read again generate the same files as the parsed spec")
+    public void composedModelsTest() throws Exception {
+        final File directory = new File(folder.getRoot(), "snapshots");
+        final SpecCache cache = new SpecCache(SpecCache.DEFAULT_MAXIMUM_SIZE).withDirectory(directory);
+        final String location = "src/test/resources/2_0/allOfTest.yaml";
+
+        for (CodegenConfig config : Arrays.<CodegenConfig>asList(new JavaClientCodegen(), new TypeScriptAngularClientCodegen())) {
+            InMemoryOutput expected = generate(new SwaggerParser().read(location, null, true), config);
+            for (int i = 0; i < 2; i++) {
+                InMemoryOutput output = generate(cache.read(location, null, true), config);
+                assertEquals(output.getFiles().keySet(), expected.getFiles().keySet());
+                for (String path : expected.getFiles().keySet()) {
+                    assertEquals(output.getContentsAsString(path), expected.getContentsAsString(path), path);
+                }
+            }
+        }
+        assertEquals(cache.getStats().missCount(), 1);
+        // the JSON format doesn't keep the parents of the composed models
+        assertFalse(directory.exists());
+    }
+
+    @Test(description = "a spec is parsed again when it or a local file it references changes")
+    public void keyedByContentTest() throws Exception {
+        final SpecCache cache = new SpecCache(SpecCache.DEFAULT_MAXIMUM_SIZE);
+        final File spec = folder.newFile("spec.yaml");
+        final File pet = folder.newFile("pet.yaml");
+        writeSpec(spec, "1.0.0", "./pet.yaml");
+        FileUtils.writeStringToFile(pet, PET, StandardCharsets.UTF_8);
+
+        assertTrue(cache.read(spec.getPath(), null, true).getDefinitions().get("Pet").getProperties().containsKey("name"));
+        cache.read(spec.getPath(), null, true);
+        assertEquals(cache.getStats().hitCount(), 1);
+
+        FileUtils.writeStringToFile(pet, PET + "  tag:\n    type: string\n", StandardCharsets.UTF_8);
+        assertTrue(cache.read(spec.getPath(), null, true).getDefinitions().get("Pet").getProperties().containsKey("tag"));
+        writeSpec(spec, "2.0.0", "./pet.yaml");
+        assertEquals(cache.read(spec.getPath(), null, true).getInfo().getVersion(), "2.0.0");
+        assertEquals(cache.getStats().hitCount(), 1);
+        assertEquals(cache.getStats().missCount(), 3);
+
+        // remote documents may change without notice, the spec is read each time
+        writeSpec(spec, "3.0.0", "http://localhost:1/pet.yaml");
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.read(spec.getPath(), null, true);
+                fail("the remote document was not read");
+            } catch (RuntimeException e) {
+                assertTrue(e.getMessage().contains("http://localhost:1/pet.yaml"), e.getMessage());
+            }
+        }
+        assertEquals(cache.getStats().requestCount(), 4);
+        assertEquals(cache.size(), 3);
+    }
+
+    @Test(description = "snapshots kept in a directory are used by other caches")
+    public void directoryTest() throws Exception {
+        final File directory = new File(folder.getRoot(), "snapshots");
+        final String location = "src/test/resources/petstore.json";
+
+        Swagger parsed = new SpecCache(1).withDirectory(directory).read(location, null, true);
+        assertEquals(directory.listFiles().length, 1);
+        // the snapshot is the spec in the Swagger format
+        try (InputStream in = new GZIPInputStream(new FileInputStream(directory.listFiles()[0]))) {
+            JsonNode snapshot = Json.mapper().readTree(in);
+            assertEquals(snapshot.get("swagger").asText(), "2.0");
+            assertEquals(snapshot.get("info").get("title").asText(), parsed.getInfo().getTitle());
+        }
+
+        SpecCache cache = new SpecCache(1).withDirectory(directory);
+        Swagger restored = cache.read(location, null, true);
+        assertEquals(cache.getStats().hitCount(), 0);
+        assertEquals(Json.pretty(restored), Json.pretty(parsed));
+        cache.read(location, null, true);
+        assertEquals(cache.getStats().hitCount(), 1);
+    }
+
+    @Test(description = "a remote spec is downloaded once per read")
+    public void remoteTest() throws Exception {
+        final byte[] spec = FileUtils.readFileToByteArray(new File("src/test/resources/petstore.json"));
+        final AtomicInteger requests = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/petstore.json", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                requests.incrementAndGet();
+                exchange.sendResponseHeaders(200, spec.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(spec);
+                }
+            }
+        });
+        server.start();
+        try {
+            final String location = "http://localhost:" + server.getAddress().getPort() + "/petstore.json";
+            final SpecCache cache = new SpecCache(SpecCache.DEFAULT_MAXIMUM_SIZE);
+            Swagger first = cache.read(location, null, true);
+            assertEquals(requests.get(), 1);
+            Swagger second = cache.read(location, null, true);
+            assertEquals(requests.get(), 2);
+            assertEquals(cache.getStats().hitCount(), 1);
+            assertEquals(Json.pretty(second), Json.pretty(first));
+            assertEquals(Json.pretty(first), Json.pretty(new SwaggerParser().read(location, null, true)));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static void writeSpec(File spec, String version, String petLocation) throws Exception {
+        FileUtils.writeStringToFile(spec, "swagger: '2.0'\ninfo:\n  title: test\n  version: " + version + "\npaths: {}\n"
+                + "definitions:\n  Pet:\n    $ref: '" + petLocation + "'\n", StandardCharsets.UTF_8);
+    }
+
+    private static InMemoryOutput generate(Swagger swagger) {
+        return generate(swagger, new JavaClientCodegen());
+    }
+
+    private static InMemoryOutput generate(Swagger swagger, CodegenConfig config) {
+        config.additionalProperties().put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+        config.setOutputDir("out");
+        InMemoryOutput output = new InMemoryOutput();
+        new DefaultGenerator().opts(new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(config).output(output)).generate();
+        return output;
+    }
+}
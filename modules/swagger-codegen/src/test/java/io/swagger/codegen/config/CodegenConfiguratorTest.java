@@ -4,12 +4,12 @@ import io.swagger.codegen.ClientOptInput;
 import io.swagger.codegen.CodegenConfig;
 import io.swagger.codegen.CodegenConfigLoader;
 import io.swagger.codegen.CodegenConstants;
+import io.swagger.codegen.GeneratorProperties;
 import io.swagger.codegen.auth.AuthParser;
 import io.swagger.codegen.languages.JavaClientCodegen;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
 import io.swagger.parser.SwaggerParser;
-import mockit.Expectations;
 import mockit.FullVerifications;
 import mockit.Injectable;
 import mockit.Mocked;
@@ -24,6 +24,8 @@ import java.util.Map;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 @SuppressWarnings("static-method")
@@ -47,24 +49,19 @@ public class CodegenConfiguratorTest {
     @Tested
     CodegenConfigurator configurator;
 
-    @SuppressWarnings("unused")
     @Test
     public void testVerbose() throws Exception {
 
         configurator.setVerbose(true);
 
-        new StrictExpectations(System.class) {{
-            System.setProperty("debugSwagger", "");
-            times = 1;
-            System.setProperty("debugModels", "");
-            times = 1;
-            System.setProperty("debugOperations", "");
-            times = 1;
-            System.setProperty("debugSupportingFiles", "");
-            times = 1;
-        }};
+        final ClientOptInput clientOptInput = setupAndRunGenericTest(configurator);
 
-        setupAndRunGenericTest(configurator);
+        final GeneratorProperties generatorProperties = clientOptInput.getGeneratorProperties();
+        assertEquals(generatorProperties.get("debugSwagger"), "");
+        assertEquals(generatorProperties.get("debugModels"), "");
+        assertEquals(generatorProperties.get("debugOperations"), "");
+        assertEquals(generatorProperties.get("debugSupportingFiles"), "");
+        assertNull(System.getProperty("debugModels"));
     }
 
     @Test
@@ -78,21 +75,20 @@ public class CodegenConfiguratorTest {
         assertValueInMap(clientOptInput.getConfig().additionalProperties(), CodegenConstants.TEMPLATE_DIR, toAbsolutePathDir(templateDir));
     }
 
-    @SuppressWarnings("unused")
     @Test
     public void testSystemProperties() throws Exception {
 
         configurator.addSystemProperty("hello", "world")
                 .addSystemProperty("foo", "bar");
 
-        new Expectations(System.class) {{
-            System.setProperty("hello", "world");
-            times = 1;
-            System.setProperty("foo", "bar");
-            times = 1;
-        }};
+        final ClientOptInput clientOptInput = setupAndRunGenericTest(configurator);
 
-        setupAndRunGenericTest(configurator);
+        // the properties are settings of the run, shared by the input and the config, not system properties
+        assertEquals(clientOptInput.getGeneratorProperties().get("hello"), "world");
+        assertEquals(clientOptInput.getGeneratorProperties().get("foo"), "bar");
+        assertSame(clientOptInput.getConfig().getGeneratorProperties(), clientOptInput.getGeneratorProperties());
+        assertNull(System.getProperty("hello"));
+        assertNull(System.getProperty("foo"));
     }
 
     @Test
@@ -0,0 +1,114 @@
+package io.swagger.codegen.ignore.rules;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+public class RuleSetTest {
+
+    private static final List<String> DEFINITIONS = Arrays.asList(
+            "build.sh", "/build.sh", "*.sh", "**/*.sh", "/*.md", "README.md", "docs/", "/docs/", "**/docs/",
+            "src/main/", "src/**/model/", "**/test/*", "src/main/java/io/Pet.java", "*.java", "**/Pet*.java",
+            "src/properly escaped.txt", "**/improperly\\ escaped.txt", "\\!important.txt", "lib/*/",
+            "**/[Aa]pi?.java", "**/*.{js,ts}", "..invalid", ".");
+
+    private static final List<String> NEGATIONS = Arrays.asList(
+            "!build.sh", "!/build.sh", "!src/main/java/io/Pet.java", "!docs/api/", "!**/*.md", "!src/main/",
+            "!**/model/", "!test/", "!lib/a/");
+
+    private static final List<String> PATHS = Arrays.asList(
+            "build.sh", "src/build.sh", "README.md", "docs/README.md", "docs/api/Pet.md", "docs", "a/docs/b.md",
+            "src/main/java/io/Pet.java", "src/main/java/io/PetApi.java", "src/test/java/io/PetTest.java",
+            "src/main/java/io/model/Pet.java", "test/Pet.java", "src/properly escaped.txt",
+            "src/improperly escaped.txt", "!important.txt", "lib/a/b.js", "lib/b/c.ts", "Api1.java",
+            "src/Api1.java", "src/api.java", ".travis.yml", "x/y/z/model/Order.java", "");
+
+    @Test(description = "the compiled rules decide as the rules evaluated one by one")
+    public void matchesRuleByRuleTest() {
+        // every exclusion rule on its own, pairs of exclusion rules, and with each negation
+        for (String definition : DEFINITIONS) {
+            assertSameDecisions(Arrays.asList(definition));
+            for (String other : DEFINITIONS) {
+                assertSameDecisions(Arrays.asList(definition, other));
+            }
+            for (String negation : NEGATIONS) {
+                assertSameDecisions(Arrays.asList(definition, negation));
+                assertSameDecisions(Arrays.asList(negation, definition, "**/docs/"));
+            }
+        }
+        List<String> all = new ArrayList<>(DEFINITIONS);
+        all.addAll(NEGATIONS);
+        assertSameDecisions(all);
+    }
+
+    @Test(description = "a file excluded by a parent directory is only included again by a directory rule")
+    public void directoryPrecedenceTest() {
+        RuleSet ruleSet = ruleSet(Arrays.asList("docs/", "!docs/api/", "!**/*.md", "*.md", "!README.md"));
+        assertTrue(ruleSet.excludes("docs/README.md"));
+        assertFalse(ruleSet.excludes("docs/api/Pet.md"));
+        assertFalse(ruleSet.excludes("README.md"));
+        // **/*.md only matches files in a folder
+        assertTrue(ruleSet.excludes("CHANGELOG.md"));
+        assertFalse(ruleSet.excludes("docs"));
+    }
+
+    private static void assertSameDecisions(List<String> definitions) {
+        List<Rule> exclusionRules = new ArrayList<>();
+        List<Rule> inclusionRules = new ArrayList<>();
+        split(definitions, exclusionRules, inclusionRules);
+        RuleSet ruleSet = new RuleSet(exclusionRules, inclusionRules);
+        for (String path : PATHS) {
+            assertEquals(ruleSet.excludes(path), excludesRuleByRule(exclusionRules, inclusionRules, path),
+                    path + " with " + definitions);
+        }
+    }
+
+    private static RuleSet ruleSet(List<String> definitions) {
+        List<Rule> exclusionRules = new ArrayList<>();
+        List<Rule> inclusionRules = new ArrayList<>();
+        split(definitions, exclusionRules, inclusionRules);
+        return new RuleSet(exclusionRules, inclusionRules);
+    }
+
+    private static void split(List<String> definitions, List<Rule> exclusionRules, List<Rule> inclusionRules) {
+        for (String definition : definitions) {
+            Rule rule = Rule.create(definition);
+            if (rule != null) {
+                (Boolean.TRUE.equals(rule.getNegated()) ? inclusionRules : exclusionRules).add(rule);
+            }
+        }
+    }
+
+    // the evaluation CodegenIgnoreProcessor did before the rules were compiled
+    private static boolean excludesRuleByRule(List<Rule> exclusionRules, List<Rule> inclusionRules, String path) {
+        boolean directoryExcluded = false;
+        boolean exclude = false;
+        for (int i = 0; i < exclusionRules.size(); i++) {
+            Rule current = exclusionRules.get(i);
+            Rule.Operation op = current.evaluate(path);
+            if (op == Rule.Operation.EXCLUDE) {
+                exclude = true;
+                if (current instanceof DirectoryRule) {
+                    directoryExcluded = true;
+                }
+            } else if (op == Rule.Operation.EXCLUDE_AND_TERMINATE) {
+                i = exclusionRules.size();
+            }
+        }
+        for (int i = 0; exclude && i < inclusionRules.size(); i++) {
+            Rule current = inclusionRules.get(i);
+            if (current.evaluate(path) == Rule.Operation.INCLUDE) {
+                if (current instanceof DirectoryRule && directoryExcluded) {
+                    exclude = false;
+                } else if (!directoryExcluded) {
+                    exclude = false;
+                }
+            }
+        }
+        return exclude;
+    }
+}
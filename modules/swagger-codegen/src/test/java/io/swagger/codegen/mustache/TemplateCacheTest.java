@@ -0,0 +1,191 @@
+package io.swagger.codegen.mustache;
+
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.ClientOpts;
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConstants;
+import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.languages.JavaClientCodegen;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.*;
+
+public class TemplateCacheTest {
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test(description = "templates are compiled once and reused across files and generator runs")
+    public void reusesCompiledTemplatesTest() throws Exception {
+        final TemplateCache cache = new TemplateCache();
+
+        generate(cache, new File(folder.getRoot(), "first"));
+        final long misses = cache.getMissCount();
+        final long hits = cache.getHitCount();
+        assertTrue(misses > 0);
+        // model.mustache, api.mustache etc. are used for more than one file
+        assertTrue(hits > 0);
+        assertEquals(cache.size(), misses);
+        assertTrue(cache.getPartialMissCount() > 0);
+
+        generate(cache, new File(folder.getRoot(), "second"));
+        assertEquals(cache.getMissCount(), misses);
+        assertEquals(cache.getHitCount(), hits * 2 + misses);
+
+        final String order = "src/main/java/io/swagger/client/model/Order.java";
+        assertEquals(FileUtils.readFileToString(new File(folder.getRoot(), "second/" + order), StandardCharsets.UTF_8),
+                FileUtils.readFileToString(new File(folder.getRoot(), "first/" + order), StandardCharsets.UTF_8));
+
+        cache.clear();
+        assertEquals(cache.size(), 0);
+        assertEquals(cache.getHitCount(), 0);
+        assertEquals(cache.getMissCount(), 0);
+    }
+
+    @Test(description = "templates compiled for different libraries are kept apart")
+    public void separatesLibrariesTest() throws Exception {
+        final TemplateCache cache = new TemplateCache();
+        final DefaultGenerator generator = new DefaultGenerator();
+
+        CodegenConfig jersey1 = new JavaClientCodegen();
+        jersey1.setLibrary("jersey1");
+        CodegenConfig jersey2 = new JavaClientCodegen();
+        jersey2.setLibrary("jersey2");
+
+        final TemplateCache.Run run = cache.startRun();
+        String template1 = run.getFullTemplateFile(generator, jersey1, "ApiClient.mustache");
+        String template2 = run.getFullTemplateFile(generator, jersey2, "ApiClient.mustache");
+        assertNotSame(run.getTemplate(generator, jersey1, template1), run.getTemplate(generator, jersey2, template2));
+        assertSame(run.getTemplate(generator, jersey1, template1), run.getTemplate(generator, jersey1, template1));
+        assertEquals(cache.size(), 2);
+    }
+
+    @Test(description = "a run keeps its checks of the file system when other runs start")
+    public void keepsChecksPerRunTest() throws Exception {
+        final TemplateCache cache = new TemplateCache();
+        final DefaultGenerator generator = new DefaultGenerator();
+        final CodegenConfig config = new JavaClientCodegen();
+
+        final TemplateCache.Run first = cache.startRun();
+        final String templateFile = first.getFullTemplateFile(generator, config, "model.mustache");
+        assertEquals(cache.getResolveMissCount(), 1);
+
+        final TemplateCache.Run second = cache.startRun();
+        assertEquals(second.getFullTemplateFile(generator, config, "model.mustache"), templateFile);
+        assertEquals(cache.getResolveMissCount(), 2);
+        assertEquals(first.getFullTemplateFile(generator, config, "model.mustache"), templateFile);
+        assertEquals(cache.getResolveHitCount(), 1);
+        assertSame(second.getTemplate(generator, config, templateFile), first.getTemplate(generator, config, templateFile));
+    }
+
+    @Test(description = "the least recently used templates are dropped beyond the maximum size")
+    public void boundedTest() throws Exception {
+        final TemplateCache cache = new TemplateCache(2);
+        final DefaultGenerator generator = new DefaultGenerator();
+        final CodegenConfig config = new JavaClientCodegen();
+
+        final TemplateCache.Run run = cache.startRun();
+        for (String name : new String[]{"model.mustache", "api.mustache", "pojo.mustache", "README.mustache"}) {
+            run.getTemplate(generator, config, run.getFullTemplateFile(generator, config, name));
+        }
+        assertEquals(cache.getMissCount(), 4);
+        assertTrue(cache.size() <= 2);
+    }
+
+    @Test(description = "template folders are probed once per template and run, and templates added between runs are used")
+    public void resolvesOncePerRunTest() throws Exception {
+        final TemplateCache cache = new TemplateCache();
+        final File templates = folder.newFolder("templates");
+
+        generate(cache, new File(folder.getRoot(), "first"), templates);
+        final long resolveMisses = cache.getResolveMissCount();
+        assertTrue(resolveMisses > 0);
+        // model.mustache and the other templates used for several files are only resolved once
+        assertTrue(cache.getResolveHitCount() > 0);
+
+        // a partial overridden, then modified, is seen by the templates compiled before
+        final File license = new File(templates, "licenseInfo.mustache");
+        FileUtils.writeStringToFile(license, "/* first license */", StandardCharsets.UTF_8);
+        generate(cache, new File(folder.getRoot(), "second"), templates);
+        FileUtils.writeStringToFile(license, "/* other license */", StandardCharsets.UTF_8);
+        license.setLastModified(license.lastModified() + 2000L);
+        generate(cache, new File(folder.getRoot(), "third"), templates);
+
+        FileUtils.writeStringToFile(new File(templates, "model.mustache"),
+                "custom {{#models}}{{#model}}{{classname}}{{/model}}{{/models}}", StandardCharsets.UTF_8);
+        final long misses = cache.getResolveMissCount();
+        generate(cache, new File(folder.getRoot(), "fourth"), templates);
+        // paths are resolved again on the next run
+        assertTrue(cache.getResolveMissCount() > misses);
+        assertTrue(cache.getResolveMissCount() <= misses + resolveMisses * 2);
+
+        final String order = "src/main/java/io/swagger/client/model/Order.java";
+        assertTrue(FileUtils.readFileToString(new File(folder.getRoot(), "first/" + order), StandardCharsets.UTF_8).contains("public class Order"));
+        assertTrue(FileUtils.readFileToString(new File(folder.getRoot(), "second/" + order), StandardCharsets.UTF_8).contains("/* first license */"));
+        assertTrue(FileUtils.readFileToString(new File(folder.getRoot(), "third/" + order), StandardCharsets.UTF_8).contains("/* other license */"));
+        assertEquals(FileUtils.readFileToString(new File(folder.getRoot(), "fourth/" + order), StandardCharsets.UTF_8), "custom Order");
+    }
+
+    @Test(description = "generators overriding how templates are read load their templates and partials themselves")
+    public void honorsGeneratorOverridesTest() throws Exception {
+        final TemplateCache cache = new TemplateCache();
+        final DefaultGenerator generator = new DefaultGenerator() {
+            @Override
+            public Reader getTemplateReader(String name) {
+                if (name.endsWith("licenseInfo.mustache")) {
+                    return new StringReader("/* custom license */");
+                }
+                return super.getTemplateReader(name);
+            }
+        };
+
+        generate(cache, new File(folder.getRoot(), "custom"), null, generator);
+        assertEquals(cache.size(), 0);
+        final String order = "src/main/java/io/swagger/client/model/Order.java";
+        assertTrue(FileUtils.readFileToString(new File(folder.getRoot(), "custom/" + order), StandardCharsets.UTF_8)
+                .contains("/* custom license */"));
+    }
+
+    private void generate(TemplateCache cache, File output) {
+        generate(cache, output, null);
+    }
+
+    private void generate(TemplateCache cache, File output, File templateDir) {
+        generate(cache, output, templateDir, new DefaultGenerator());
+    }
+
+    private void generate(TemplateCache cache, File output, File templateDir, DefaultGenerator generator) {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        if (templateDir != null) {
+            codegenConfig.additionalProperties().put(CodegenConstants.TEMPLATE_DIR, templateDir.getAbsolutePath());
+        }
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        codegenConfig.additionalProperties().put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+
+        generator.setTemplateCache(cache);
+        generator.opts(clientOptInput).generate();
+    }
+}
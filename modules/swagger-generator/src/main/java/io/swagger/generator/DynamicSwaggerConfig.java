@@ -1,7 +1,6 @@
 package io.swagger.generator;
 
-import io.swagger.codegen.Codegen;
-import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigRegistry;
 import io.swagger.codegen.CodegenType;
 import io.swagger.jaxrs.config.BeanConfig;
 import io.swagger.models.Operation;
@@ -19,13 +18,12 @@ public class DynamicSwaggerConfig extends BeanConfig {
     static List<String> servers = new ArrayList<String>();
 
     static {
-        List<CodegenConfig> extensions = Codegen.getExtensions();
-        for (CodegenConfig config : extensions) {
-            if (config.getTag().equals(CodegenType.CLIENT)
-                    || config.getTag().equals(CodegenType.DOCUMENTATION)) {
-                clients.add(config.getName());
-            } else if (config.getTag().equals(CodegenType.SERVER)) {
-                servers.add(config.getName());
+        for (CodegenConfigRegistry.Entry entry : CodegenConfigRegistry.getInstance().getEntries()) {
+            if (entry.getType().equals(CodegenType.CLIENT)
+                    || entry.getType().equals(CodegenType.DOCUMENTATION)) {
+                clients.add(entry.getName());
+            } else if (entry.getType().equals(CodegenType.SERVER)) {
+                servers.add(entry.getName());
             }
         }
         Collections.sort(clients, String.CASE_INSENSITIVE_ORDER);
@@ -0,0 +1,130 @@
+package io.swagger.generator.job;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A generation submitted to {@link GenerationJobs}. The job is queued, then running, and ends in
+ * exactly one of the final states; the first of the generation, its cancellation or its timeout
+ * to finish it wins.
+ */
+public class GenerationJob {
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED, TIMED_OUT;
+
+        public boolean isDone() {
+            return this != QUEUED && this != RUNNING;
+        }
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final long submitted = System.currentTimeMillis();
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    private State state = State.QUEUED;
+    private Long started;
+    private Long finished;
+    private String code;
+    private Throwable error;
+    private Thread runner;
+    private Future<?> timeout;
+    Runnable task;
+
+    public String getId() {
+        return id;
+    }
+
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized Long getStarted() {
+        return started;
+    }
+
+    public synchronized Long getFinished() {
+        return finished;
+    }
+
+    /**
+     * @return download code of the generated bundle, once the job succeeded
+     */
+    public synchronized String getCode() {
+        return code;
+    }
+
+    /**
+     * @return why the job failed, once it failed
+     */
+    public synchronized Throwable getError() {
+        return error;
+    }
+
+    /**
+     * Wait for the job to finish.
+     *
+     * @return whether the job finished within the given time
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        return done.await(timeout, unit);
+    }
+
+    synchronized boolean start() {
+        if (state != State.QUEUED) {
+            return false;
+        }
+        state = State.RUNNING;
+        started = System.currentTimeMillis();
+        runner = Thread.currentThread();
+        return true;
+    }
+
+    /**
+     * Move the job to a final state, interrupting the generation if it's still running.
+     *
+     * @return false if the job already finished
+     */
+    synchronized boolean finish(State state, String code, Throwable error) {
+        if (this.state.isDone()) {
+            return false;
+        }
+        if (runner != null && runner != Thread.currentThread()) {
+            runner.interrupt();
+        }
+        this.state = state;
+        this.code = code;
+        this.error = error;
+        finished = System.currentTimeMillis();
+        done.countDown();
+        if (timeout != null) {
+            timeout.cancel(false);
+        }
+        return true;
+    }
+
+    /**
+     * Keep the scheduled timeout of the job, cancelled once the job finishes. The job may have
+     * finished before its timeout was scheduled.
+     */
+    synchronized void setTimeout(Future<?> timeout) {
+        this.timeout = timeout;
+        if (state.isDone()) {
+            timeout.cancel(false);
+        }
+    }
+
+    /**
+     * Called by the runner once the generation returned, so that it's no longer interrupted for the
+     * job, e.g. while running the next one.
+     */
+    synchronized void release() {
+        runner = null;
+    }
+}
@@ -0,0 +1,265 @@
+package io.swagger.generator.job;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.swagger.generator.exception.ApiException;
+import io.swagger.generator.exception.TooManyRequestsException;
+import io.swagger.generator.store.ArtifactStore;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs generations on a bounded pool of workers. At most {@code queueSize} jobs wait for a worker,
+ * further submissions are rejected with a {@link TooManyRequestsException} rather than piling up.
+ *
+ * Jobs time out {@code timeout} after their submission, whether still queued or running, and are
+ * kept for their status and result {@code timeToLive} after their submission. A timed out or
+ * cancelled generation is interrupted, and stops at the next model, operation or template.
+ */
+public class GenerationJobs {
+    public static final String JOB_THREADS = "GENERATOR_JOB_THREADS";
+    public static final String JOB_QUEUE_SIZE = "GENERATOR_JOB_QUEUE_SIZE";
+    public static final String JOB_TIMEOUT_SECONDS = "GENERATOR_JOB_TIMEOUT_SECONDS";
+    public static final String JOB_TTL_MINUTES = "GENERATOR_JOB_TTL_MINUTES";
+
+    public static final int DEFAULT_QUEUE_SIZE = 100;
+    public static final long DEFAULT_TIMEOUT_SECONDS = 300L;
+    public static final long DEFAULT_TTL_MINUTES = 60L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationJobs.class);
+    private static final long RETRY_AFTER_SECONDS = 5L;
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor timeouts;
+    private final Cache<String, GenerationJob> jobs;
+    private final long timeoutMillis;
+
+    /**
+     * @param threads number of generations running at once
+     * @param queueSize number of jobs waiting for a worker
+     * @param timeout time after which a job times out
+     * @param timeToLive time after which a job is forgotten
+     * @param unit unit of {@code timeout} and {@code timeToLive}
+     */
+    public GenerationJobs(int threads, int queueSize, long timeout, long timeToLive, TimeUnit unit) {
+        this.timeoutMillis = unit.toMillis(timeout);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueSize), new DaemonThreadFactory("generator-job-"));
+        this.timeouts = new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("generator-job-timeout-"));
+        // the timeouts of finished jobs don't wait in the queue until they're due
+        this.timeouts.setRemoveOnCancelPolicy(true);
+        this.jobs = CacheBuilder.newBuilder()
+                .expireAfterWrite(timeToLive, unit)
+                .build();
+    }
+
+    /**
+     * Create the jobs configured by the environment: {@value #JOB_THREADS} workers, defaulting to the
+     * number of processors, {@value #JOB_QUEUE_SIZE}, {@value #JOB_TIMEOUT_SECONDS} and
+     * {@value #JOB_TTL_MINUTES}.
+     *
+     * @return The generation jobs
+     */
+    public static GenerationJobs fromEnvironment() {
+        int threads = (int) getLong(JOB_THREADS, Runtime.getRuntime().availableProcessors());
+        int queueSize = (int) getLong(JOB_QUEUE_SIZE, DEFAULT_QUEUE_SIZE);
+        long timeout = getLong(JOB_TIMEOUT_SECONDS, DEFAULT_TIMEOUT_SECONDS);
+        long timeToLive = TimeUnit.MINUTES.toSeconds(getLong(JOB_TTL_MINUTES, DEFAULT_TTL_MINUTES));
+        return new GenerationJobs(threads, queueSize, timeout, timeToLive, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Queue a generation.
+     *
+     * @param generation generation returning the download code of its bundle
+     * @return the queued job
+     * @throws TooManyRequestsException if the queue is full
+     */
+    public GenerationJob submit(Callable<String> generation) throws TooManyRequestsException {
+        return submit(generation, null);
+    }
+
+    /**
+     * Queue a generation storing its bundle in an artifact store. A bundle stored after its job
+     * was cancelled or timed out is removed from the store again, as nobody gets its code.
+     *
+     * @param generation generation returning the download code of its bundle
+     * @param artifacts store the generation puts its bundle in, or null
+     * @return the queued job
+     * @throws TooManyRequestsException if the queue is full
+     */
+    public GenerationJob submit(Callable<String> generation, ArtifactStore artifacts) throws TooManyRequestsException {
+        final GenerationJob job = new GenerationJob();
+        job.task = new Task(job, generation, artifacts);
+        try {
+            executor.execute(job.task);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Too many generations are queued, try again later",
+                    RETRY_AFTER_SECONDS);
+        }
+        jobs.put(job.getId(), job);
+        job.setTimeout(timeouts.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (job.finish(GenerationJob.State.TIMED_OUT, null, null)) {
+                    executor.remove(job.task);
+                    LOGGER.warn("Generation job " + job.getId() + " timed out");
+                }
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS));
+        return job;
+    }
+
+    /**
+     * @param id job id
+     * @return the job, or null if unknown or forgotten
+     */
+    public GenerationJob get(String id) {
+        return id != null ? jobs.getIfPresent(id) : null;
+    }
+
+    /**
+     * Cancel a job, removing it from the queue or interrupting its generation.
+     *
+     * @param id job id
+     * @return the job, or null if unknown or forgotten
+     */
+    public GenerationJob cancel(String id) {
+        GenerationJob job = get(id);
+        if (job != null && job.finish(GenerationJob.State.CANCELLED, null, null)) {
+            executor.remove(job.task);
+        }
+        return job;
+    }
+
+    /**
+     * Wait for a job to finish, for the callers generating synchronously.
+     *
+     * @param job submitted job
+     * @return download code of the generated bundle
+     * @throws ApiException the error of the generation if it failed, or if it was cancelled or timed out
+     */
+    public String await(GenerationJob job) throws ApiException {
+        try {
+            // the job times out before then, unless the timeout thread was stalled
+            if (!job.await(timeoutMillis + TimeUnit.SECONDS.toMillis(1), TimeUnit.MILLISECONDS)) {
+                job.finish(GenerationJob.State.TIMED_OUT, null, null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(GenerationJob.State.CANCELLED, null, null);
+        }
+        switch (job.getState()) {
+            case SUCCEEDED:
+                return job.getCode();
+            case FAILED:
+                Throwable error = job.getError();
+                if (error instanceof ApiException) {
+                    throw (ApiException) error;
+                } else if (error instanceof RuntimeException) {
+                    throw (RuntimeException) error;
+                } else if (error instanceof Error) {
+                    throw (Error) error;
+                }
+                throw new RuntimeException(error);
+            case TIMED_OUT:
+                throw new ApiException(504, "Generation timed out after " + timeoutMillis / 1000 + " seconds");
+            default:
+                throw new ApiException(409, "Generation was cancelled");
+        }
+    }
+
+    /**
+     * @return number of jobs waiting for a worker
+     */
+    public int getQueued() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return number of scheduled timeouts, of the jobs not finished yet
+     */
+    int getScheduledTimeouts() {
+        return timeouts.getQueue().size();
+    }
+
+    /**
+     * Stop the workers, interrupting the running generations.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        timeouts.shutdownNow();
+    }
+
+    private static long getLong(String name, long defaultValue) {
+        String value = System.getenv(name);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + name + ": " + value, e);
+        }
+    }
+
+    private static class Task implements Runnable {
+        private final GenerationJob job;
+        private final Callable<String> generation;
+        private final ArtifactStore artifacts;
+
+        Task(GenerationJob job, Callable<String> generation, ArtifactStore artifacts) {
+            this.job = job;
+            this.generation = generation;
+            this.artifacts = artifacts;
+        }
+
+        @Override
+        public void run() {
+            if (!job.start()) {
+                return;
+            }
+            try {
+                String code = generation.call();
+                if (!job.finish(GenerationJob.State.SUCCEEDED, code, null) && code != null && artifacts != null) {
+                    // the job was cancelled or timed out while the bundle was stored
+                    artifacts.remove(code);
+                }
+            } catch (Throwable e) {
+                if (job.finish(GenerationJob.State.FAILED, null, e)) {
+                    LOGGER.debug("Generation job " + job.getId() + " failed", e);
+                }
+            } finally {
+                job.release();
+                // clear the interrupt of a cancelled or timed out job, the worker runs the next one
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        DaemonThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
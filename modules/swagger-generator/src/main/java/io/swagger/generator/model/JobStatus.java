@@ -0,0 +1,90 @@
+package io.swagger.generator.model;
+
+import io.swagger.annotations.ApiModelProperty;
+
+public class JobStatus {
+    private String id;
+    private String state;
+    private String message;
+    private String code;
+    private String link;
+    private Long submitted;
+    private Long started;
+    private Long finished;
+
+    @ApiModelProperty(value = "Job id", example = "5b0e4c52-3b56-4b9e-9f7b-2f1d3a0c9e11")
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @ApiModelProperty(value = "State of the job",
+            allowableValues = "QUEUED,RUNNING,SUCCEEDED,FAILED,CANCELLED,TIMED_OUT")
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    @ApiModelProperty(value = "Why the job failed")
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @ApiModelProperty(value = "File download code, once the job succeeded",
+            example = "d40029be-eda6-4d62-b1ef-d05e2e91a72a")
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    @ApiModelProperty(
+            value = "URL for fetching the generated files, once the job succeeded",
+            example = "http://generator.swagger.io:80/api/gen/download/d40029be-eda6-4d62-b1ef-d05e2e91a72a")
+    public String getLink() {
+        return link;
+    }
+
+    public void setLink(String link) {
+        this.link = link;
+    }
+
+    @ApiModelProperty(value = "Time the job was submitted, in milliseconds since the epoch")
+    public Long getSubmitted() {
+        return submitted;
+    }
+
+    public void setSubmitted(Long submitted) {
+        this.submitted = submitted;
+    }
+
+    @ApiModelProperty(value = "Time the job started, in milliseconds since the epoch")
+    public Long getStarted() {
+        return started;
+    }
+
+    public void setStarted(Long started) {
+        this.started = started;
+    }
+
+    @ApiModelProperty(value = "Time the job finished, in milliseconds since the epoch")
+    public Long getFinished() {
+        return finished;
+    }
+
+    public void setFinished(Long finished) {
+        this.finished = finished;
+    }
+}
@@ -2,19 +2,24 @@ package io.swagger.generator.online;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.codegen.*;
+import io.swagger.codegen.output.ZipOutput;
 import io.swagger.generator.exception.ApiException;
 import io.swagger.generator.exception.BadRequestException;
 import io.swagger.generator.model.GeneratorInput;
 import io.swagger.generator.model.InputOption;
-import io.swagger.generator.util.ZipUtil;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
-import io.swagger.parser.SwaggerParser;
 import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -79,11 +84,9 @@ public class Generator {
                             new ArrayList<AuthorizationValue>();
                     authorizationValues.add(opts.getAuthorizationValue());
 
-                    swagger =
-                            new SwaggerParser().read(opts.getSwaggerUrl(), authorizationValues,
-                                    true);
+                    swagger = SpecCache.getShared().read(opts.getSwaggerUrl(), authorizationValues, true);
                 } else {
-                    swagger = new SwaggerParser().read(opts.getSwaggerUrl());
+                    swagger = SpecCache.getShared().read(opts.getSwaggerUrl(), null, true);
                 }
             } else {
                 throw new BadRequestException("No swagger specification was supplied");
@@ -91,9 +94,9 @@ public class Generator {
         } else if (opts.getAuthorizationValue() != null) {
             List<AuthorizationValue> authorizationValues = new ArrayList<AuthorizationValue>();
             authorizationValues.add(opts.getAuthorizationValue());
-            swagger = new SwaggerParser().read(node, authorizationValues, true);
+            swagger = SpecCache.getShared().read(node, authorizationValues, true);
         } else {
-            swagger = new SwaggerParser().read(node, true);
+            swagger = SpecCache.getShared().read(node, null, true);
         }
         if (swagger == null) {
             throw new BadRequestException("The swagger specification supplied was not valid");
@@ -110,9 +113,6 @@ public class Generator {
 
         ClientOptInput clientOptInput = new ClientOptInput();
         ClientOpts clientOpts = new ClientOpts();
-        String outputFolder = getTmpFolder().getAbsolutePath() + File.separator + destPath;
-        String outputFilename = outputFolder + "-bundle.zip";
-
         clientOptInput.opts(clientOpts).swagger(swagger);
 
         CodegenConfig codegenConfig = null;
@@ -127,38 +127,36 @@ public class Generator {
             codegenConfig.additionalProperties().put("swagger", swagger);
         }
 
+        File tmpFolder = getTmpFolder();
+        String outputFolder = tmpFolder.getAbsolutePath() + File.separator + destPath;
+        String outputFilename = outputFolder + "-bundle.zip";
         codegenConfig.setOutputDir(outputFolder);
 
         LOGGER.debug(Json.pretty(clientOpts));
 
         clientOptInput.setConfig(codegenConfig);
 
+        File outputDir = new File(outputFolder);
         try {
-            List<File> files = new Codegen().opts(clientOptInput).generate();
-            if (files.size() > 0) {
-                List<File> filesToAdd = new ArrayList<File>();
-                LOGGER.debug("adding to " + outputFolder);
-                filesToAdd.add(new File(outputFolder));
-                ZipUtil zip = new ZipUtil();
-                zip.compressFiles(filesToAdd, outputFilename);
-            } else {
+            // stream the generated files straight into the bundle instead of zipping the output folder
+            List<File> files;
+            ZipOutput zip = new ZipOutput(new BufferedOutputStream(new FileOutputStream(outputFilename)), outputDir.getName());
+            try {
+                files = new Codegen().opts(clientOptInput.output(zip)).generate();
+                addFolderToZip(zip, outputDir, "");
+            } finally {
+                zip.close();
+            }
+            if (files.isEmpty()) {
                 throw new BadRequestException(
                         "A target generation was attempted, but no files were created!");
             }
-            for (File file : files) {
-                try {
-                    file.delete();
-                } catch (Exception e) {
-                    LOGGER.error("unable to delete file " + file.getAbsolutePath());
-                }
-            }
-            try {
-                new File(outputFolder).delete();
-            } catch (Exception e) {
-                LOGGER.error("unable to delete output folder " + outputFolder);
-            }
         } catch (Exception e) {
+            deleteQuietly(tmpFolder);
             throw new BadRequestException("Unable to build target: " + e.getMessage());
+        } finally {
+            // only the bundle is kept, it is deleted by the artifact store
+            deleteQuietly(outputDir);
         }
         return outputFilename;
     }
@@ -171,12 +169,42 @@ public class Generator {
         return null;
     }
 
+    /**
+     * Add the files some generators write straight to the output folder, e.g. swagger.json,
+     * rather than through the generator output.
+     */
+    private static void addFolderToZip(ZipOutput zip, File folder, String path) throws IOException {
+        File[] children = folder.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File child : children) {
+            String childPath = path + child.getName();
+            if (child.isDirectory()) {
+                addFolderToZip(zip, child, childPath + "/");
+            } else if (!zip.exists(childPath)) {
+                try (OutputStream out = zip.newOutputStream(childPath)) {
+                    FileUtils.copyFile(child, out);
+                }
+            }
+        }
+    }
+
+    private static void deleteQuietly(File file) {
+        try {
+            FileUtils.forceDelete(file);
+        } catch (FileNotFoundException e) {
+            // nothing to delete
+        } catch (Exception e) {
+            LOGGER.error("unable to delete " + file.getAbsolutePath());
+        }
+    }
+
     protected static File getTmpFolder() {
         try {
             File outputFolder = File.createTempFile("codegen-", "-tmp");
             outputFolder.delete();
             outputFolder.mkdir();
-            outputFolder.deleteOnExit();
             return outputFolder;
         } catch (Exception e) {
             e.printStackTrace();
@@ -3,6 +3,7 @@ package io.swagger.generator.resource;
 import io.swagger.generator.exception.ApiException;
 import io.swagger.generator.exception.BadRequestException;
 import io.swagger.generator.exception.NotFoundException;
+import io.swagger.generator.exception.TooManyRequestsException;
 import io.swagger.generator.model.ApiResponse;
 import io.swagger.generator.util.ValidationException;
 
@@ -31,8 +32,13 @@ public class ExceptionWriter implements ExceptionMapper<Exception> {
         } else if (exception instanceof BadRequestException) {
             return Response.status(Status.BAD_REQUEST)
                     .entity(new ApiResponse(ApiResponse.ERROR, exception.getMessage())).build();
+        } else if (exception instanceof TooManyRequestsException) {
+            TooManyRequestsException e = (TooManyRequestsException) exception;
+            return Response.status(e.getCode())
+                    .header("Retry-After", e.getRetryAfterSeconds())
+                    .entity(new ApiResponse(ApiResponse.ERROR, exception.getMessage())).build();
         } else if (exception instanceof ApiException) {
-            return Response.status(Status.BAD_REQUEST)
+            return Response.status(((ApiException) exception).getCode())
                     .entity(new ApiResponse(ApiResponse.ERROR, exception.getMessage())).build();
         } else {
             return Response.status(500).entity(new ApiResponse(500, "something bad happened"))
@@ -4,41 +4,51 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.codegen.CliOption;
-import io.swagger.codegen.Codegen;
-import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigRegistry;
 import io.swagger.codegen.CodegenType;
 import io.swagger.generator.exception.BadRequestException;
+import io.swagger.generator.exception.TooManyRequestsException;
+import io.swagger.generator.job.GenerationJob;
+import io.swagger.generator.job.GenerationJobs;
 import io.swagger.generator.model.Generated;
 import io.swagger.generator.model.GeneratorInput;
+import io.swagger.generator.model.JobStatus;
 import io.swagger.generator.model.ResponseCode;
 import io.swagger.generator.online.Generator;
-import org.apache.commons.io.FileUtils;
+import io.swagger.generator.store.ArtifactStore;
+import io.swagger.generator.store.ArtifactStoreStats;
+import io.swagger.generator.store.ArtifactStores;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
-import java.io.File;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
 import java.util.*;
+import java.util.concurrent.Callable;
 
 @Path("/gen")
 @Api(value = "/gen", description = "Resource for generating swagger components")
 @SuppressWarnings("static-method")
 public class SwaggerResource {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SwaggerResource.class);
     static List<String> clients = new ArrayList<String>();
     static List<String> servers = new ArrayList<String>();
-    private static Map<String, Generated> fileMap = new HashMap<String, Generated>();
+    private static volatile ArtifactStore artifactStore = ArtifactStores.fromEnvironment();
+    private static volatile GenerationJobs jobs = GenerationJobs.fromEnvironment();
 
     static {
-        List<CodegenConfig> extensions = Codegen.getExtensions();
-        for (CodegenConfig config : extensions) {
-            if (config.getTag().equals(CodegenType.CLIENT)
-                    || config.getTag().equals(CodegenType.DOCUMENTATION)) {
-                clients.add(config.getName());
-            } else if (config.getTag().equals(CodegenType.SERVER)) {
-                servers.add(config.getName());
+        for (CodegenConfigRegistry.Entry entry : CodegenConfigRegistry.getInstance().getEntries()) {
+            if (entry.getType().equals(CodegenType.CLIENT)
+                    || entry.getType().equals(CodegenType.DOCUMENTATION)) {
+                clients.add(entry.getName());
+            } else if (entry.getType().equals(CodegenType.SERVER)) {
+                servers.add(entry.getName());
             }
         }
 
@@ -46,6 +56,22 @@ public class SwaggerResource {
         Collections.sort(servers, String.CASE_INSENSITIVE_ORDER);
     }
 
+    public static ArtifactStore getArtifactStore() {
+        return artifactStore;
+    }
+
+    public static void setArtifactStore(ArtifactStore artifactStore) {
+        SwaggerResource.artifactStore = artifactStore;
+    }
+
+    public static GenerationJobs getJobs() {
+        return jobs;
+    }
+
+    public static void setJobs(GenerationJobs jobs) {
+        SwaggerResource.jobs = jobs;
+    }
+
     @GET
     @Path("/download/{fileId}")
     @Produces({MediaType.APPLICATION_OCTET_STREAM})
@@ -55,19 +81,12 @@ public class SwaggerResource {
                     + "operations.  The fileId code can be used just once, after which a new `fileId` will need to "
                     + "be requested.", response = String.class, tags = {"clients", "servers"})
     public Response downloadFile(@PathParam("fileId") String fileId) throws Exception {
-        Generated g = fileMap.get(fileId);
-        System.out.println("looking for fileId " + fileId);
-        System.out.println("got filename " + g.getFilename());
-        if (g.getFilename() != null) {
-            File file = new java.io.File(g.getFilename());
-            byte[] bytes = org.apache.commons.io.FileUtils.readFileToByteArray(file);
-
-            try {
-                FileUtils.deleteDirectory(file.getParentFile());
-            } catch (Exception e) {
-                System.out.println("failed to delete file " + file.getAbsolutePath());
-            }
-
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // the code can be used just once, taking the bundle deletes it
+        Generated g = artifactStore.take(fileId, out);
+        LOGGER.debug("looking for fileId " + fileId + ": " + (g != null ? g.getFilename() : "not found"));
+        if (g != null) {
+            byte[] bytes = out.toByteArray();
             return Response
                     .ok(bytes, "application/zip")
                     .header("Content-Disposition",
@@ -78,6 +97,15 @@ public class SwaggerResource {
         }
     }
 
+    @GET
+    @Path("/artifacts")
+    @Produces({MediaType.APPLICATION_JSON})
+    @ApiOperation(value = "Returns statistics of the pre-generated file store", response = ArtifactStoreStats.class,
+            hidden = true)
+    public Response downloadStats() {
+        return Response.ok().entity(artifactStore.getStats()).build();
+    }
+
     @POST
     @Path("/clients/{language}")
     @ApiOperation(
@@ -90,28 +118,10 @@ public class SwaggerResource {
             @ApiParam(value = "Configuration for building the client library", required = true) GeneratorInput opts)
             throws Exception {
 
-        String filename = Generator.generateClient(language, opts);
-        String host = System.getenv("GENERATOR_HOST");
-
-        if (StringUtils.isBlank(host)) {
-            String scheme = request.getHeader("X-SSL");
-            String port = "";
-            if ("1".equals(scheme)) {
-                scheme = "https";
-            } else {
-                scheme = request.getScheme();
-                port = ":" + request.getServerPort();
-            }
-            host = scheme + "://" + request.getServerName() + port;
-        }
+        String code = jobs.await(submit(language, opts, Generator.Type.CLIENT));
+        String host = getHost(request);
 
-        if (filename != null) {
-            String code = String.valueOf(UUID.randomUUID().toString());
-            Generated g = new Generated();
-            g.setFilename(filename);
-            g.setFriendlyName(language + "-client");
-            fileMap.put(code, g);
-            System.out.println(code + ", " + filename);
+        if (code != null) {
             String link = host + "/api/gen/download/" + code;
             return Response.ok().entity(new ResponseCode(code, link)).build();
         } else {
@@ -189,24 +199,171 @@ public class SwaggerResource {
         if (framework == null) {
             throw new BadRequestException("Framework is required");
         }
-        String filename = Generator.generateServer(framework, opts);
-        System.out.println("generated name: " + filename);
+        String code = jobs.await(submit(framework, opts, Generator.Type.SERVER));
 
         String host =
                 request.getScheme() + "://" + request.getServerName() + ":"
                         + request.getServerPort();
 
-        if (filename != null) {
-            String code = String.valueOf(UUID.randomUUID().toString());
-            Generated g = new Generated();
-            g.setFilename(filename);
-            g.setFriendlyName(framework + "-server");
-            fileMap.put(code, g);
-            System.out.println(code + ", " + filename);
+        if (code != null) {
             String link = host + "/api/gen/download/" + code;
             return Response.ok().entity(new ResponseCode(code, link)).build();
         } else {
             return Response.status(500).build();
         }
     }
+
+    @POST
+    @Path("/jobs/clients/{language}")
+    @Produces({MediaType.APPLICATION_JSON})
+    @ApiOperation(
+            value = "Queues the generation of a client library",
+            notes = "Accepts a `GeneratorInput` options map for spec location and generation options. Returns "
+                    + "the queued job, see `/jobs/{jobId}`, or 429 when too many generations are queued.",
+            response = JobStatus.class, code = 202, tags = {"clients", "jobs"})
+    public Response submitClient(
+            @Context HttpServletRequest request,
+            @ApiParam(value = "The target language for the client library", required = true) @PathParam("language") String language,
+            @ApiParam(value = "Configuration for building the client library", required = true) GeneratorInput opts)
+            throws Exception {
+        return submitted(request, submit(language, opts, Generator.Type.CLIENT));
+    }
+
+    @POST
+    @Path("/jobs/servers/{framework}")
+    @Produces({MediaType.APPLICATION_JSON})
+    @ApiOperation(
+            value = "Queues the generation of a server library",
+            notes = "Accepts a `GeneratorInput` options map for spec location and generation options. Returns "
+                    + "the queued job, see `/jobs/{jobId}`, or 429 when too many generations are queued.",
+            response = JobStatus.class, code = 202, tags = {"servers", "jobs"})
+    public Response submitServer(
+            @Context HttpServletRequest request,
+            @ApiParam(value = "framework", required = true) @PathParam("framework") String framework,
+            @ApiParam(value = "parameters", required = true) GeneratorInput opts) throws Exception {
+        return submitted(request, submit(framework, opts, Generator.Type.SERVER));
+    }
+
+    @GET
+    @Path("/jobs/{jobId}")
+    @Produces({MediaType.APPLICATION_JSON})
+    @ApiOperation(value = "Returns the status of a generation job", response = JobStatus.class, tags = "jobs")
+    public Response getJob(@Context HttpServletRequest request, @PathParam("jobId") String jobId) {
+        GenerationJob job = jobs.get(jobId);
+        if (job == null) {
+            return Response.status(404).build();
+        }
+        return Response.ok().entity(toStatus(request, job)).build();
+    }
+
+    @GET
+    @Path("/jobs/{jobId}/result")
+    @Produces({MediaType.APPLICATION_OCTET_STREAM, MediaType.APPLICATION_JSON})
+    @ApiOperation(
+            value = "Downloads the file generated by a job",
+            notes = "Returns 202 and the status of the job while it's queued or running, and 409 if it failed, was "
+                    + "cancelled or timed out. Like its `fileId`, the result can be downloaded just once.",
+            response = String.class, tags = "jobs")
+    public Response getJobResult(@Context HttpServletRequest request, @PathParam("jobId") String jobId)
+            throws Exception {
+        GenerationJob job = jobs.get(jobId);
+        if (job == null) {
+            return Response.status(404).build();
+        }
+        GenerationJob.State state = job.getState();
+        if (!state.isDone()) {
+            return Response.status(202).type(MediaType.APPLICATION_JSON).entity(toStatus(request, job)).build();
+        } else if (state != GenerationJob.State.SUCCEEDED || job.getCode() == null) {
+            return Response.status(409).type(MediaType.APPLICATION_JSON).entity(toStatus(request, job)).build();
+        }
+        return downloadFile(job.getCode());
+    }
+
+    @DELETE
+    @Path("/jobs/{jobId}")
+    @Produces({MediaType.APPLICATION_JSON})
+    @ApiOperation(value = "Cancels a generation job", notes = "A finished job is left as it is.",
+            response = JobStatus.class, tags = "jobs")
+    public Response cancelJob(@Context HttpServletRequest request, @PathParam("jobId") String jobId) {
+        GenerationJob job = jobs.cancel(jobId);
+        if (job == null) {
+            return Response.status(404).build();
+        }
+        return Response.ok().entity(toStatus(request, job)).build();
+    }
+
+    /**
+     * @return the generation of a job, storing its bundle and returning its download code
+     */
+    private static GenerationJob submit(String language, GeneratorInput opts, Generator.Type type) throws TooManyRequestsException {
+        ArtifactStore store = artifactStore;
+        return jobs.submit(generation(store, language, opts, type), store);
+    }
+
+    private static Callable<String> generation(final ArtifactStore store, final String language,
+            final GeneratorInput opts, final Generator.Type type) {
+        return new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                String filename;
+                Generated g = new Generated();
+                if (type == Generator.Type.CLIENT) {
+                    filename = Generator.generateClient(language, opts);
+                    g.setFriendlyName(language + "-client");
+                } else {
+                    filename = Generator.generateServer(language, opts);
+                    g.setFriendlyName(language + "-server");
+                }
+                LOGGER.debug("generated name: " + filename);
+                if (filename == null) {
+                    return null;
+                }
+                g.setFilename(filename);
+                String code = store.put(g);
+                LOGGER.debug(code + ", " + filename);
+                return code;
+            }
+        };
+    }
+
+    private static Response submitted(HttpServletRequest request, GenerationJob job) {
+        return Response.status(202)
+                .location(URI.create(getHost(request) + "/api/gen/jobs/" + job.getId()))
+                .entity(toStatus(request, job))
+                .build();
+    }
+
+    private static JobStatus toStatus(HttpServletRequest request, GenerationJob job) {
+        JobStatus status = new JobStatus();
+        status.setId(job.getId());
+        status.setState(job.getState().name());
+        status.setSubmitted(job.getSubmitted());
+        status.setStarted(job.getStarted());
+        status.setFinished(job.getFinished());
+        if (job.getError() != null) {
+            status.setMessage(job.getError().getMessage());
+        }
+        if (job.getCode() != null) {
+            status.setCode(job.getCode());
+            status.setLink(getHost(request) + "/api/gen/download/" + job.getCode());
+        }
+        return status;
+    }
+
+    private static String getHost(HttpServletRequest request) {
+        String host = System.getenv("GENERATOR_HOST");
+
+        if (StringUtils.isBlank(host)) {
+            String scheme = request.getHeader("X-SSL");
+            String port = "";
+            if ("1".equals(scheme)) {
+                scheme = "https";
+            } else {
+                scheme = request.getScheme();
+                port = ":" + request.getServerPort();
+            }
+            host = scheme + "://" + request.getServerName() + port;
+        }
+        return host;
+    }
 }
@@ -0,0 +1,57 @@
+package io.swagger.generator.store;
+
+import io.swagger.generator.model.Generated;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Holds the bundles produced by the online generator until they are downloaded.
+ *
+ * Implementations bound the number of bundles they hold and how long they hold them, and delete
+ * the bundle from disk when it leaves the store.
+ */
+public interface ArtifactStore {
+
+    /**
+     * Take ownership of a generated bundle.
+     *
+     * @param generated The generated bundle
+     * @return The code under which the bundle can be fetched
+     */
+    String put(Generated generated);
+
+    /**
+     * @param code The code returned by {@link #put(Generated)}
+     * @return The bundle, or {@code null} if the code is unknown, was removed or has expired
+     */
+    Generated get(String code);
+
+    /**
+     * Remove a bundle, copying it out before it's deleted from disk. Of concurrent calls for the
+     * same code, only one gets the bundle, which makes each code single-use.
+     *
+     * @param code The code returned by {@link #put(Generated)}
+     * @param out Stream the bundle is copied to
+     * @return The bundle, or {@code null} if the code is unknown, was taken or has expired
+     * @throws IOException if the bundle cannot be read
+     */
+    Generated take(String code, OutputStream out) throws IOException;
+
+    /**
+     * Remove a bundle, deleting it from disk.
+     *
+     * @param code The code returned by {@link #put(Generated)}
+     */
+    void remove(String code);
+
+    /**
+     * Evict expired bundles now instead of waiting for the next access.
+     */
+    void cleanUp();
+
+    /**
+     * @return Size, hit and eviction counts of the store
+     */
+    ArtifactStoreStats getStats();
+}
@@ -0,0 +1,83 @@
+package io.swagger.generator.store;
+
+public class ArtifactStoreStats {
+    private long size;
+    private long maximumSize;
+    private long hitCount;
+    private long missCount;
+    private long downloadCount;
+    private long expiredCount;
+    private long evictedCount;
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    /**
+     * @return number of bundles removed explicitly, i.e. once downloaded
+     */
+    public long getDownloadCount() {
+        return downloadCount;
+    }
+
+    public void setDownloadCount(long downloadCount) {
+        this.downloadCount = downloadCount;
+    }
+
+    /**
+     * @return number of bundles removed because they were not downloaded in time
+     */
+    public long getExpiredCount() {
+        return expiredCount;
+    }
+
+    public void setExpiredCount(long expiredCount) {
+        this.expiredCount = expiredCount;
+    }
+
+    /**
+     * @return number of bundles removed to keep the store within its maximum size
+     */
+    public long getEvictedCount() {
+        return evictedCount;
+    }
+
+    public void setEvictedCount(long evictedCount) {
+        this.evictedCount = evictedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "ArtifactStoreStats{size=" + size + ", maximumSize=" + maximumSize + ", hits=" + hitCount
+                + ", misses=" + missCount + ", downloaded=" + downloadCount + ", expired=" + expiredCount
+                + ", evicted=" + evictedCount + "}";
+    }
+}
@@ -0,0 +1,90 @@
+package io.swagger.generator.store;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+public class ArtifactStores {
+    public static final String ARTIFACT_DIR = "GENERATOR_ARTIFACT_DIR";
+    public static final String ARTIFACT_MAX_SIZE = "GENERATOR_ARTIFACT_MAX_SIZE";
+    public static final String ARTIFACT_TTL_MINUTES = "GENERATOR_ARTIFACT_TTL_MINUTES";
+
+    public static final long DEFAULT_MAX_SIZE = 1000L;
+    public static final long DEFAULT_TTL_MINUTES = 60L;
+    public static final long CLEANUP_PERIOD_SECONDS = 60L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactStores.class);
+
+    private static final ScheduledExecutorService CLEANUP = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "artifact-store-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    /**
+     * Create the artifact store configured by the environment: bundles are kept in
+     * {@value #ARTIFACT_DIR} if set, or in memory otherwise, and bounded by
+     * {@value #ARTIFACT_MAX_SIZE} and {@value #ARTIFACT_TTL_MINUTES}. Expired bundles are deleted
+     * every {@value #CLEANUP_PERIOD_SECONDS} seconds.
+     *
+     * @return The artifact store
+     */
+    public static ArtifactStore fromEnvironment() {
+        long maximumSize = getLong(ARTIFACT_MAX_SIZE, DEFAULT_MAX_SIZE);
+        long timeToLive = getLong(ARTIFACT_TTL_MINUTES, DEFAULT_TTL_MINUTES);
+        String directory = System.getenv(ARTIFACT_DIR);
+        ArtifactStore store;
+        if (StringUtils.isNotBlank(directory)) {
+            store = new FileSystemArtifactStore(new File(directory), maximumSize, timeToLive, TimeUnit.MINUTES);
+        } else {
+            store = new InMemoryArtifactStore(maximumSize, timeToLive, TimeUnit.MINUTES);
+        }
+        scheduleCleanUp(store, CLEANUP_PERIOD_SECONDS, TimeUnit.SECONDS);
+        return store;
+    }
+
+    /**
+     * Clean up a store periodically. Stores evict expired bundles when they are accessed, so
+     * without it the bundles of an idle service would stay on disk.
+     *
+     * @param store The store to clean up
+     * @param period Time between two clean ups
+     * @param unit Unit of {@code period}
+     * @return The scheduled clean up, to be cancelled once the store is no longer used
+     */
+    public static ScheduledFuture<?> scheduleCleanUp(final ArtifactStore store, long period, TimeUnit unit) {
+        return CLEANUP.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    store.cleanUp();
+                } catch (RuntimeException e) {
+                    // a failed clean up must not cancel the next ones
+                    LOGGER.warn("unable to clean up the artifact store", e);
+                }
+            }
+        }, period, period, unit);
+    }
+
+    private static long getLong(String name, long defaultValue) {
+        String value = System.getenv(name);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + name + ": " + value, e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package io.swagger.generator.store;
+
+import com.google.common.base.Ticker;
+import io.swagger.generator.model.Generated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Artifact store which moves generated bundles into a single folder, as {@code <code>.zip} next
+ * to a {@code <code>.properties} file describing the bundle.
+ *
+ * Bundles in the folder that have not expired are available again after a restart, and expired
+ * ones, or those missing their properties file, are deleted, so the folder can be shared by
+ * successive instances of the service.
+ */
+public class FileSystemArtifactStore extends InMemoryArtifactStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemArtifactStore.class);
+
+    private static final String FRIENDLY_NAME = "friendlyName";
+    private static final String CREATED = "created";
+
+    private final File directory;
+
+    public FileSystemArtifactStore(File directory, long maximumSize, long timeToLive, TimeUnit unit) {
+        this(directory, maximumSize, timeToLive, unit, Ticker.systemTicker());
+    }
+
+    protected FileSystemArtifactStore(File directory, long maximumSize, long timeToLive, TimeUnit unit, Ticker ticker) {
+        super(maximumSize, timeToLive, unit, ticker);
+        this.directory = directory.getAbsoluteFile();
+        if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+            throw new IllegalArgumentException("Unable to create artifact folder " + this.directory);
+        }
+        load(TimeUnit.MILLISECONDS.convert(timeToLive, unit));
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    @Override
+    protected Generated store(String code, Generated generated) {
+        File source = new File(generated.getFilename());
+        File target = new File(directory, code + ".zip");
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to move " + source + " to " + target, e);
+        }
+        // the generator leaves the bundle alone in its temporary folder
+        File folder = source.getParentFile();
+        String[] children = folder == null ? null : folder.list();
+        if (children != null && children.length == 0) {
+            folder.delete();
+        }
+
+        Generated stored = new Generated();
+        stored.setFilename(target.getAbsolutePath());
+        stored.setFriendlyName(generated.getFriendlyName());
+
+        Properties properties = new Properties();
+        if (generated.getFriendlyName() != null) {
+            properties.setProperty(FRIENDLY_NAME, generated.getFriendlyName());
+        }
+        properties.setProperty(CREATED, String.valueOf(target.lastModified()));
+        try (OutputStream out = new FileOutputStream(new File(directory, code + ".properties"))) {
+            properties.store(out, null);
+        } catch (IOException e) {
+            target.delete();
+            throw new IllegalStateException("Unable to describe " + target, e);
+        }
+        return stored;
+    }
+
+    @Override
+    protected void delete(String code, Generated generated) {
+        for (File file : new File[]{new File(directory, code + ".zip"), new File(directory, code + ".properties")}) {
+            if (file.exists() && !file.delete()) {
+                LOGGER.warn("unable to delete " + file.getAbsolutePath());
+            }
+        }
+    }
+
+    private void load(long timeToLiveMillis) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        for (File file : files) {
+            final String name = file.getName();
+            if (name.endsWith(".zip")) {
+                String code = name.substring(0, name.length() - ".zip".length());
+                if (!new File(directory, code + ".properties").isFile()) {
+                    // without its description the bundle can't be restored
+                    LOGGER.debug("deleting undescribed bundle " + code);
+                    delete(code, null);
+                }
+                continue;
+            }
+            if (!name.endsWith(".properties")) {
+                continue;
+            }
+            final String code = name.substring(0, name.length() - ".properties".length());
+            File zip = new File(directory, code + ".zip");
+
+            Properties properties = new Properties();
+            long created = -1L;
+            try (InputStream in = new FileInputStream(file)) {
+                properties.load(in);
+                created = Long.parseLong(properties.getProperty(CREATED, "-1"));
+            } catch (IOException | NumberFormatException e) {
+                LOGGER.warn("unable to read " + file.getAbsolutePath() + ": " + e.getMessage());
+            }
+            if (created < 0 || now - created >= timeToLiveMillis || !zip.isFile()) {
+                LOGGER.debug("deleting expired bundle " + code);
+                delete(code, null);
+                continue;
+            }
+
+            Generated generated = new Generated();
+            generated.setFilename(zip.getAbsolutePath());
+            generated.setFriendlyName(properties.getProperty(FRIENDLY_NAME));
+            restore(code, generated, created);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package io.swagger.generator.store;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import io.swagger.generator.model.Generated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Artifact store which keeps the index of generated bundles in memory, and the bundles in the
+ * temporary folders they were generated in.
+ *
+ * The index holds at most {@code maximumSize} bundles, each for at most the given time to live.
+ * Bundles evicted for either reason, or removed once downloaded, are deleted from disk together
+ * with their temporary folder.
+ */
+public class InMemoryArtifactStore implements ArtifactStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryArtifactStore.class);
+
+    private final Cache<String, Entry> entries;
+    private final long maximumSize;
+    private final long timeToLiveNanos;
+    private final Ticker ticker;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong downloaded = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+
+    public InMemoryArtifactStore(long maximumSize, long timeToLive, TimeUnit unit) {
+        this(maximumSize, timeToLive, unit, Ticker.systemTicker());
+    }
+
+    protected InMemoryArtifactStore(long maximumSize, long timeToLive, TimeUnit unit, Ticker ticker) {
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = unit.toNanos(timeToLive);
+        this.ticker = ticker;
+        this.entries = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive, unit)
+                .ticker(ticker)
+                .removalListener(new RemovalListener<String, Entry>() {
+                    @Override
+                    public void onRemoval(RemovalNotification<String, Entry> notification) {
+                        onEviction(notification);
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public String put(Generated generated) {
+        String code = UUID.randomUUID().toString();
+        Generated stored = store(code, generated);
+        entries.put(code, new Entry(stored, ticker.read() + timeToLiveNanos));
+        return code;
+    }
+
+    @Override
+    public Generated get(String code) {
+        Entry entry = lookup(code);
+        return entry != null ? entry.generated : null;
+    }
+
+    @Override
+    public Generated take(String code, OutputStream out) throws IOException {
+        Entry entry = lookup(code);
+        if (entry == null || entry.generated.getFilename() == null || !entry.taken.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            Files.copy(new File(entry.generated.getFilename()).toPath(), out);
+        } finally {
+            entries.invalidate(code);
+        }
+        return entry.generated;
+    }
+
+    // live entry of the code, counting the hit or miss
+    private Entry lookup(String code) {
+        Entry entry = code == null ? null : entries.getIfPresent(code);
+        if (entry != null && ticker.read() - entry.expiresAt >= 0) {
+            // entries reloaded from disk may expire before the index would evict them
+            entry.expired = true;
+            entries.invalidate(code);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry;
+    }
+
+    @Override
+    public void remove(String code) {
+        entries.invalidate(code);
+    }
+
+    @Override
+    public void cleanUp() {
+        entries.cleanUp();
+    }
+
+    @Override
+    public ArtifactStoreStats getStats() {
+        ArtifactStoreStats stats = new ArtifactStoreStats();
+        stats.setSize(entries.size());
+        stats.setMaximumSize(maximumSize);
+        stats.setHitCount(hits.get());
+        stats.setMissCount(misses.get());
+        stats.setDownloadCount(downloaded.get());
+        stats.setExpiredCount(expired.get());
+        stats.setEvictedCount(evicted.get());
+        return stats;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + getStats();
+    }
+
+    /**
+     * Add a bundle read back from persistent storage, which expires the given time after it was
+     * generated rather than after it was added.
+     *
+     * @param code The code of the bundle
+     * @param generated The bundle
+     * @param created The time the bundle was generated, in milliseconds since the epoch
+     */
+    protected void restore(String code, Generated generated, long created) {
+        long age = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, System.currentTimeMillis() - created));
+        entries.put(code, new Entry(generated, ticker.read() + timeToLiveNanos - age));
+    }
+
+    /**
+     * Called when a bundle is added, before it is indexed.
+     *
+     * @param code The code of the bundle
+     * @param generated The bundle as produced by the generator
+     * @return The bundle to index
+     */
+    protected Generated store(String code, Generated generated) {
+        return generated;
+    }
+
+    /**
+     * Called when a bundle leaves the store. Deletes the bundle, and its folder once empty.
+     *
+     * @param code The code of the bundle
+     * @param generated The bundle
+     */
+    protected void delete(String code, Generated generated) {
+        if (generated.getFilename() == null) {
+            return;
+        }
+        File file = new File(generated.getFilename());
+        if (file.exists() && !file.delete()) {
+            LOGGER.warn("unable to delete " + file.getAbsolutePath());
+            return;
+        }
+        File folder = file.getParentFile();
+        String[] children = folder == null ? null : folder.list();
+        if (children != null && children.length == 0 && !folder.delete()) {
+            LOGGER.warn("unable to delete folder " + folder.getAbsolutePath());
+        }
+    }
+
+    private void onEviction(RemovalNotification<String, Entry> notification) {
+        Entry entry = notification.getValue();
+        switch (notification.getCause()) {
+            case REPLACED:
+                return;
+            case EXPLICIT:
+                (entry.expired ? expired : downloaded).incrementAndGet();
+                break;
+            case EXPIRED:
+                expired.incrementAndGet();
+                break;
+            default:
+                evicted.incrementAndGet();
+                break;
+        }
+        LOGGER.debug("removing " + notification.getKey() + " (" + notification.getCause() + ")");
+        try {
+            delete(notification.getKey(), entry.generated);
+        } catch (RuntimeException e) {
+            LOGGER.warn("unable to delete bundle " + notification.getKey(), e);
+        }
+    }
+
+    private static class Entry {
+        private final Generated generated;
+        private final long expiresAt;
+        private volatile boolean expired;
+        private final AtomicBoolean taken = new AtomicBoolean();
+
+        Entry(Generated generated, long expiresAt) {
+            this.generated = generated;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package io.swagger.generator.job;
+
+import io.swagger.generator.exception.ApiException;
+import io.swagger.generator.exception.BadRequestException;
+import io.swagger.generator.exception.TooManyRequestsException;
+import io.swagger.generator.model.Generated;
+import io.swagger.generator.store.InMemoryArtifactStore;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.*;
+
+public class GenerationJobsTest {
+
+    private GenerationJobs jobs;
+
+    @AfterMethod
+    public void tearDown() {
+        if (jobs != null) {
+            jobs.shutdown();
+        }
+    }
+
+    @Test(description = "jobs beyond the workers and the queue are rejected")
+    public void backpressureTest() throws Exception {
+        jobs = new GenerationJobs(1, 1, 1, 10, TimeUnit.MINUTES);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        GenerationJob running = jobs.submit(blocking("first", started, release));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        GenerationJob queued = jobs.submit(returning("second"));
+        assertEquals(running.getState(), GenerationJob.State.RUNNING);
+        assertEquals(queued.getState(), GenerationJob.State.QUEUED);
+        try {
+            jobs.submit(returning("third"));
+            fail("the queue is full");
+        } catch (TooManyRequestsException e) {
+            assertEquals(e.getCode(), 429);
+            assertTrue(e.getRetryAfterSeconds() > 0);
+        }
+
+        release.countDown();
+        assertEquals(jobs.await(running), "first");
+        assertEquals(jobs.await(queued), "second");
+        assertSame(jobs.get(queued.getId()), queued);
+        assertNotNull(queued.getStarted());
+        assertNotNull(queued.getFinished());
+        jobs.submit(returning("third"));
+    }
+
+    @Test(description = "the error of a failed job is rethrown to callers waiting for it")
+    public void failureTest() throws Exception {
+        jobs = new GenerationJobs(1, 1, 1, 10, TimeUnit.MINUTES);
+        GenerationJob job = jobs.submit(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                throw new BadRequestException("The swagger specification supplied was not valid");
+            }
+        });
+        try {
+            jobs.await(job);
+            fail("the job failed");
+        } catch (BadRequestException e) {
+            assertEquals(e.getMessage(), "The swagger specification supplied was not valid");
+        }
+        assertEquals(job.getState(), GenerationJob.State.FAILED);
+        assertNull(job.getCode());
+    }
+
+    @Test(description = "cancelled jobs are interrupted or removed from the queue")
+    public void cancelTest() throws Exception {
+        jobs = new GenerationJobs(1, 1, 1, 10, TimeUnit.MINUTES);
+        CountDownLatch started = new CountDownLatch(1);
+        GenerationJob running = jobs.submit(blocking("first", started, new CountDownLatch(1)));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        GenerationJob queued = jobs.submit(returning("second"));
+
+        assertSame(jobs.cancel(queued.getId()), queued);
+        assertEquals(queued.getState(), GenerationJob.State.CANCELLED);
+        assertEquals(jobs.getQueued(), 0);
+        assertNull(queued.getStarted());
+
+        jobs.cancel(running.getId());
+        assertEquals(running.getState(), GenerationJob.State.CANCELLED);
+        try {
+            jobs.await(running);
+            fail("the job was cancelled");
+        } catch (ApiException e) {
+            assertEquals(e.getCode(), 409);
+        }
+
+        // the interrupted worker runs the next job
+        assertEquals(jobs.await(jobs.submit(returning("third"))), "third");
+        assertNull(jobs.cancel("unknown"));
+    }
+
+    @Test(description = "jobs running for longer than the timeout are interrupted")
+    public void timeoutTest() throws Exception {
+        jobs = new GenerationJobs(1, 1, 200, 60000, TimeUnit.MILLISECONDS);
+        GenerationJob job = jobs.submit(blocking("first", new CountDownLatch(1), new CountDownLatch(1)));
+        try {
+            jobs.await(job);
+            fail("the job timed out");
+        } catch (ApiException e) {
+            assertEquals(e.getCode(), 504);
+        }
+        assertEquals(job.getState(), GenerationJob.State.TIMED_OUT);
+        assertEquals(jobs.await(jobs.submit(returning("second"))), "second");
+    }
+
+    @Test(description = "the timeouts of finished jobs are cancelled")
+    public void finishedTimeoutTest() throws Exception {
+        jobs = new GenerationJobs(1, 1, 10, 10, TimeUnit.MINUTES);
+        CountDownLatch started = new CountDownLatch(1);
+        GenerationJob running = jobs.submit(blocking("first", started, new CountDownLatch(1)));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertEquals(jobs.getScheduledTimeouts(), 1);
+
+        jobs.cancel(running.getId());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(jobs.await(jobs.submit(returning("next"))), "next");
+        }
+        assertEquals(jobs.getScheduledTimeouts(), 0);
+    }
+
+    @Test(description = "the bundle of a job finishing after it was cancelled is removed from the store")
+    public void cancelledBundleTest() throws Exception {
+        jobs = new GenerationJobs(1, 1, 1, 10, TimeUnit.MINUTES);
+        final InMemoryArtifactStore store = new InMemoryArtifactStore(10, 10, TimeUnit.MINUTES);
+        final File folder = Files.createTempDirectory("bundle").toFile();
+        final File bundle = new File(folder, "bundle.zip");
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicReference<String> stored = new AtomicReference<>();
+        GenerationJob job = jobs.submit(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                started.countDown();
+                // a generation that does not respond to interruption
+                while (release.getCount() > 0) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        // keep generating
+                    }
+                }
+                FileUtils.writeStringToFile(bundle, "bundle", StandardCharsets.UTF_8);
+                Generated generated = new Generated();
+                generated.setFilename(bundle.getAbsolutePath());
+                generated.setFriendlyName("bundle");
+                stored.set(store.put(generated));
+                return stored.get();
+            }
+        }, store);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        jobs.cancel(job.getId());
+        release.countDown();
+
+        // the worker runs the next job once the cancelled one returned
+        assertEquals(jobs.await(jobs.submit(returning("next"))), "next");
+        assertEquals(job.getState(), GenerationJob.State.CANCELLED);
+        assertNull(job.getCode());
+        assertNotNull(stored.get());
+        assertNull(store.get(stored.get()));
+        assertFalse(bundle.exists());
+        FileUtils.deleteQuietly(folder);
+    }
+
+    private static Callable<String> returning(final String code) {
+        return new Callable<String>() {
+            @Override
+            public String call() {
+                return code;
+            }
+        };
+    }
+
+    private static Callable<String> blocking(final String code, final CountDownLatch started,
+            final CountDownLatch release) {
+        return new Callable<String>() {
+            @Override
+            public String call() throws InterruptedException {
+                started.countDown();
+                release.await();
+                return code;
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package io.swagger.generator.online;
+
+import io.swagger.generator.model.GeneratorInput;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+@SuppressWarnings("static-method")
+public class OnlineGeneratorTest {
+
+    @Test(description = "generated files are streamed into the bundle without leaving the output folder behind")
+    public void generateClientTest() throws Exception {
+        Set<String> entries = generate("java");
+        assertTrue(entries.contains("java-client/pom.xml"));
+        assertTrue(entries.contains("java-client/src/main/java/io/swagger/client/model/Pet.java"));
+        assertTrue(entries.contains("java-client/.swagger-codegen/VERSION"));
+    }
+
+    @Test(description = "files written to the output folder by the generator itself are bundled too")
+    public void generateSwaggerTest() throws Exception {
+        assertTrue(generate("swagger").contains("swagger-client/swagger.json"));
+    }
+
+    private static Set<String> generate(String language) throws Exception {
+        GeneratorInput input = new GeneratorInput();
+        input.setSpec(Json.mapper().readTree(new File("src/test/resources/petstore.json")));
+
+        File bundle = new File(Generator.generateClient(language, input));
+        File tmpFolder = bundle.getParentFile();
+        try {
+            assertEquals(tmpFolder.list(), new String[]{bundle.getName()});
+
+            Set<String> entries = new HashSet<String>();
+            try (ZipFile zip = new ZipFile(bundle)) {
+                Enumeration<? extends ZipEntry> e = zip.entries();
+                while (e.hasMoreElements()) {
+                    entries.add(e.nextElement().getName());
+                }
+            }
+            return entries;
+        } finally {
+            FileUtils.deleteDirectory(tmpFolder);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package io.swagger.generator.store;
+
+import com.google.common.base.Ticker;
+import io.swagger.generator.model.Generated;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.testng.Assert.*;
+
+public class ArtifactStoreTest {
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ManualTicker ticker = new ManualTicker();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test(description = "bundles are deleted when downloaded, expired or evicted")
+    public void inMemoryStoreTest() throws Exception {
+        InMemoryArtifactStore store = new InMemoryArtifactStore(2, 10, TimeUnit.MINUTES, ticker);
+
+        File first = bundle("first");
+        String firstCode = store.put(generated(first));
+        assertEquals(store.get(firstCode).getFilename(), first.getAbsolutePath());
+        store.remove(firstCode);
+        assertNull(store.get(firstCode));
+        assertFalse(first.exists());
+        assertFalse(first.getParentFile().exists());
+
+        File second = bundle("second");
+        String secondCode = store.put(generated(second));
+        ticker.advance(11, TimeUnit.MINUTES);
+        store.cleanUp();
+        assertNull(store.get(secondCode));
+        assertFalse(second.exists());
+
+        File[] bundles = {bundle("a"), bundle("b"), bundle("c")};
+        for (File bundle : bundles) {
+            store.put(generated(bundle));
+        }
+        assertEquals(bundles.length - countExisting(bundles), 1);
+
+        ArtifactStoreStats stats = store.getStats();
+        assertEquals(stats.getSize(), 2);
+        assertEquals(stats.getHitCount(), 1);
+        assertEquals(stats.getMissCount(), 2);
+        assertEquals(stats.getDownloadCount(), 1);
+        assertEquals(stats.getExpiredCount(), 1);
+        assertEquals(stats.getEvictedCount(), 1);
+    }
+
+    @Test(description = "a bundle is handed to a single caller, then deleted")
+    public void takeTest() throws Exception {
+        final InMemoryArtifactStore store = new InMemoryArtifactStore(10, 10, TimeUnit.MINUTES, ticker);
+        final File bundle = bundle("taken");
+        final String code = store.put(generated(bundle));
+
+        final int callers = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Future<String>> takes = new ArrayList<Future<String>>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                takes.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        start.await();
+                        ByteArrayOutputStream out = new ByteArrayOutputStream();
+                        return store.take(code, out) != null ? out.toString("UTF-8") : null;
+                    }
+                }));
+            }
+            start.countDown();
+            int taken = 0;
+            for (Future<String> take : takes) {
+                String contents = take.get();
+                if (contents != null) {
+                    assertEquals(contents, "taken");
+                    taken++;
+                }
+            }
+            assertEquals(taken, 1);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertFalse(bundle.exists());
+        assertNull(store.get(code));
+        assertEquals(store.getStats().getDownloadCount(), 1);
+    }
+
+    @Test(description = "bundles kept on disk are available after a restart until they expire")
+    public void fileSystemStoreTest() throws Exception {
+        File directory = new File(folder.getRoot(), "artifacts");
+        FileSystemArtifactStore store = new FileSystemArtifactStore(directory, 10, 10, TimeUnit.MINUTES, ticker);
+
+        File bundle = bundle("petstore");
+        String code = store.put(generated(bundle));
+        assertFalse(bundle.getParentFile().exists());
+        File stored = new File(directory, code + ".zip");
+        assertEquals(store.get(code).getFilename(), stored.getAbsolutePath());
+        assertEquals(store.get(code).getFriendlyName(), "java-client");
+
+        FileSystemArtifactStore restarted = new FileSystemArtifactStore(directory, 10, 10, TimeUnit.MINUTES, ticker);
+        assertEquals(restarted.get(code).getFilename(), stored.getAbsolutePath());
+        assertEquals(restarted.get(code).getFriendlyName(), "java-client");
+
+        // generated long enough ago to have expired while the service was down
+        String expired = restarted.put(generated(bundle("expired")));
+        FileUtils.writeStringToFile(new File(directory, expired + ".properties"), "created=0\n", "UTF-8");
+
+        // stored without its properties file, e.g. when the service stopped in between
+        String undescribed = restarted.put(generated(bundle("undescribed")));
+        assertTrue(new File(directory, undescribed + ".properties").delete());
+
+        new FileSystemArtifactStore(directory, 10, 10, TimeUnit.MINUTES, ticker);
+        assertFalse(new File(directory, expired + ".zip").exists());
+        assertFalse(new File(directory, expired + ".properties").exists());
+        assertFalse(new File(directory, undescribed + ".zip").exists());
+        assertTrue(stored.exists());
+
+        restarted.remove(code);
+        assertFalse(stored.exists());
+        assertFalse(new File(directory, code + ".properties").exists());
+    }
+
+    @Test(description = "expired bundles are deleted without accessing the store")
+    public void scheduledCleanUpTest() throws Exception {
+        InMemoryArtifactStore store = new InMemoryArtifactStore(10, 10, TimeUnit.MINUTES, ticker);
+        File bundle = bundle("idle");
+        store.put(generated(bundle));
+        ticker.advance(11, TimeUnit.MINUTES);
+
+        ScheduledFuture<?> cleanUp = ArtifactStores.scheduleCleanUp(store, 10, TimeUnit.MILLISECONDS);
+        try {
+            for (int i = 0; i < 500 && bundle.exists(); i++) {
+                Thread.sleep(10);
+            }
+            assertFalse(bundle.exists());
+        } finally {
+            cleanUp.cancel(false);
+        }
+    }
+
+    private File bundle(String name) throws Exception {
+        File tmp = folder.newFolder("codegen-" + name + "-tmp");
+        File bundle = new File(tmp, name + "-bundle.zip");
+        FileUtils.writeStringToFile(bundle, name, "UTF-8");
+        return bundle;
+    }
+
+    private static Generated generated(File bundle) {
+        Generated generated = new Generated();
+        generated.setFilename(bundle.getAbsolutePath());
+        generated.setFriendlyName("java-client");
+        return generated;
+    }
+
+    private static int countExisting(File[] files) {
+        int count = 0;
+        for (File file : files) {
+            if (file.exists()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static class ManualTicker extends Ticker {
+        private final AtomicLong nanos = new AtomicLong();
+
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+
+        void advance(long time, TimeUnit unit) {
+            nanos.addAndGet(unit.toNanos(time));
+        }
+    }
+}